@@ -5,8 +5,11 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import com.epita.airlineapi.repository.*;
 import com.epita.airlineapi.model.*;
+import com.epita.airlineapi.service.ReportService;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
@@ -14,6 +17,7 @@ import java.util.List;
 import java.time.LocalDate; // ✅ Using LocalDate now
 
 @SpringBootApplication
+@EnableScheduling // Partition maintenance (PartitionService)
 public class AirlineApiApplication {
 
     public static void main(String[] args) {
@@ -22,10 +26,12 @@ public class AirlineApiApplication {
 
     @Bean
     @Transactional
+    @Profile("!generate") // The dataset generator loads its own data
     CommandLineRunner initDatabase(PlaneRepository planeRepo,
                                    AirportRepository airportRepo,
                                    FlightRepository flightRepo,
-                                   ClientRepository clientRepo) {
+                                   ClientRepository clientRepo,
+                                   ReportService reportService) {
         return args -> {
             // Stop if data already exists
             if (planeRepo.count() > 0) return;
@@ -35,12 +41,12 @@ public class AirlineApiApplication {
             // ==========================================
             // 1. AIRPORTS
             // ==========================================
-            Airport cdg = new Airport(null, "Charles de Gaulle", "France", "Paris");
-            Airport lhr = new Airport(null, "Heathrow", "UK", "London");
-            Airport jfk = new Airport(null, "JFK International", "USA", "New York");
-            Airport hnd = new Airport(null, "Haneda", "Japan", "Tokyo");
-            Airport dxb = new Airport(null, "Dubai International", "UAE", "Dubai");
-            Airport sin = new Airport(null, "Changi", "Singapore", "Singapore");
+            Airport cdg = new Airport(null, "Charles de Gaulle", "France", "Paris", 49.0097, 2.5479);
+            Airport lhr = new Airport(null, "Heathrow", "UK", "London", 51.4700, -0.4543);
+            Airport jfk = new Airport(null, "JFK International", "USA", "New York", 40.6413, -73.7781);
+            Airport hnd = new Airport(null, "Haneda", "Japan", "Tokyo", 35.5494, 139.7798);
+            Airport dxb = new Airport(null, "Dubai International", "UAE", "Dubai", 25.2532, 55.3657);
+            Airport sin = new Airport(null, "Changi", "Singapore", "Singapore", 1.3644, 103.9915);
 
             airportRepo.saveAll(List.of(cdg, lhr, jfk, hnd, dxb, sin));
 
@@ -84,6 +90,9 @@ public class AirlineApiApplication {
 
             flightRepo.saveAll(flights);
 
+            // Seeded rows bypass FlightService, so backfill the reporting aggregates once
+            reportService.rebuild();
+
             System.out.println("✅ Database Seeded Successfully");
         };
     }
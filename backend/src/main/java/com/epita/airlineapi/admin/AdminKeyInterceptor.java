@@ -0,0 +1,49 @@
+package com.epita.airlineapi.admin;
+
+import com.epita.airlineapi.exception.AdminAccessException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+// Guards @AdminOnly endpoints with one shared key. Without airline.admin.api-key they are closed (403),
+// so a deployment that forgot to set it does not leave them open.
+@Component
+public class AdminKeyInterceptor implements HandlerInterceptor {
+
+    public static final String ADMIN_KEY_HEADER = "X-Admin-Key";
+
+    private final byte[] adminKey;
+
+    public AdminKeyInterceptor(@Value("${airline.admin.api-key:}") String adminKey) {
+        this.adminKey = adminKey.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method) || !isAdminOnly(method)) {
+            return true;
+        }
+        if (adminKey.length == 0) {
+            throw new AdminAccessException(HttpStatus.FORBIDDEN, "Admin endpoints are disabled: set airline.admin.api-key");
+        }
+        String presented = request.getHeader(ADMIN_KEY_HEADER);
+        // Constant-time comparison: the key cannot be guessed byte by byte from response times
+        if (presented == null || !MessageDigest.isEqual(adminKey, presented.getBytes(StandardCharsets.UTF_8))) {
+            throw new AdminAccessException(HttpStatus.UNAUTHORIZED, "Missing or invalid " + ADMIN_KEY_HEADER);
+        }
+        return true;
+    }
+
+    private static boolean isAdminOnly(HandlerMethod method) {
+        return method.hasMethodAnnotation(AdminOnly.class)
+                || AnnotatedElementUtils.hasAnnotation(method.getBeanType(), AdminOnly.class);
+    }
+}
@@ -0,0 +1,13 @@
+package com.epita.airlineapi.admin;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Endpoint (controller method, or every method of a controller class) that changes how the API runs or reveals
+// data about other users: callers must send airline.admin.api-key in X-Admin-Key (AdminKeyInterceptor).
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AdminOnly {
+}
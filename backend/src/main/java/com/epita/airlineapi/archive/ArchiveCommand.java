@@ -0,0 +1,59 @@
+package com.epita.airlineapi.archive;
+
+import com.epita.airlineapi.dto.ArchiveInfo;
+import com.epita.airlineapi.service.ArchiveService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+// Cold archive CLI (ArchiveService), e.g.
+//   java -jar airline-api.jar --spring.profiles.active=archive archive --older-than-days=90
+//   java -jar airline-api.jar --spring.profiles.active=archive restore 2025-01 2025-02
+//   java -jar airline-api.jar --spring.profiles.active=archive list
+// Runs without the web server and exits when done.
+@Component
+@Profile("archive")
+public class ArchiveCommand implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchiveCommand.class);
+
+    private final ArchiveService archiveService;
+
+    public ArchiveCommand(ArchiveService archiveService) {
+        this.archiveService = archiveService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> command = args.getNonOptionArgs();
+        String action = command.isEmpty() ? "list" : command.getFirst();
+        switch (action) {
+            case "archive" -> {
+                int days = args.containsOption("older-than-days")
+                        ? Integer.parseInt(args.getOptionValues("older-than-days").getFirst())
+                        : archiveService.getOlderThanDays();
+                LocalDate cutoff = LocalDate.now().minusDays(days);
+                List<ArchiveInfo> archived = archiveService.archiveDepartedBefore(cutoff);
+                log.info("{} month(s) archived (flights departed before {})", archived.size(), cutoff);
+            }
+            case "restore" -> {
+                if (command.size() < 2) {
+                    throw new IllegalArgumentException("Usage: restore <yyyy-MM> [<yyyy-MM> ...]");
+                }
+                for (String month : command.subList(1, command.size())) {
+                    archiveService.restoreMonth(YearMonth.parse(month));
+                }
+            }
+            case "list" -> archiveService.getArchives().forEach(info -> log.info("{}: {} flights, {} bookings, {} miles rewards, {} bytes ({})",
+                    info.getMonth(), info.getFlights(), info.getBookings(), info.getMilesRewards(), info.getSizeBytes(), info.getFile()));
+            default -> throw new IllegalArgumentException("Unknown command '" + action + "' (archive, restore, list)");
+        }
+    }
+}
@@ -0,0 +1,506 @@
+package com.epita.airlineapi.archive;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// Compressed column store for archived rows: a file holds a few tables, each column is one deflated block.
+// Readers decode only the columns they need (an id lookup never inflates names or prices).
+//
+// Layout: "ALCF" | version | header length | header | column blocks
+// Header: per table its name and row count, per column its name, type, min/max (LONG/DATE) and block position.
+// Encoding before deflate: null bitmap, then LONG/DATE as zigzag varint deltas (sorted ids and dates shrink to
+// a byte or two), STRING/DECIMAL as a dictionary plus varint codes (cities, seat types and prices repeat a lot).
+public final class ColumnarFile {
+
+    public enum Type { LONG, DATE, DECIMAL, STRING }
+
+    private static final byte[] MAGIC = "ALCF".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSION = 1;
+
+    private ColumnarFile() {}
+
+    // ==========================================
+    // COLUMN (write buffer and decoded block)
+    // ==========================================
+
+    public static final class Column {
+        private final Type type;
+        private long[] longs;      // LONG, DATE (epoch day)
+        private String[] strings;  // STRING, DECIMAL (plain string)
+        private final BitSet nulls = new BitSet();
+        private int size;
+        private long min = Long.MAX_VALUE;
+        private long max = Long.MIN_VALUE;
+
+        Column(Type type, int capacity) {
+            this.type = type;
+            if (type == Type.LONG || type == Type.DATE) {
+                longs = new long[Math.max(capacity, 16)];
+            } else {
+                strings = new String[Math.max(capacity, 16)];
+            }
+        }
+
+        public Type type() {
+            return type;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public boolean isNull(int row) {
+            return nulls.get(row);
+        }
+
+        public long getLong(int row) {
+            return longs[row];
+        }
+
+        public Long getLongOrNull(int row) {
+            return isNull(row) ? null : longs[row];
+        }
+
+        public LocalDate getDate(int row) {
+            return isNull(row) ? null : LocalDate.ofEpochDay(longs[row]);
+        }
+
+        public BigDecimal getDecimal(int row) {
+            return isNull(row) ? null : new BigDecimal(strings[row]);
+        }
+
+        public String getString(int row) {
+            return strings[row];
+        }
+
+        // JDBC-ready value (Long, LocalDate, BigDecimal, String or null)
+        public Object get(int row) {
+            if (isNull(row)) {
+                return null;
+            }
+            return switch (type) {
+                case LONG -> longs[row];
+                case DATE -> LocalDate.ofEpochDay(longs[row]);
+                case DECIMAL -> new BigDecimal(strings[row]);
+                case STRING -> strings[row];
+            };
+        }
+
+        // Row of a value in a column sorted ascending (ids are written in order), -1 if absent
+        public int indexOf(long value) {
+            int row = Arrays.binarySearch(longs, 0, size, value);
+            return row >= 0 ? row : -1;
+        }
+
+        void add(Object value) {
+            if (size == (longs != null ? longs.length : strings.length)) {
+                if (longs != null) {
+                    longs = Arrays.copyOf(longs, size * 2);
+                } else {
+                    strings = Arrays.copyOf(strings, size * 2);
+                }
+            }
+            if (value == null) {
+                nulls.set(size++);
+                return;
+            }
+            switch (type) {
+                case LONG -> putLong(((Number) value).longValue());
+                case DATE -> putLong(((LocalDate) value).toEpochDay());
+                case DECIMAL -> strings[size++] = ((BigDecimal) value).toPlainString();
+                case STRING -> strings[size++] = value.toString();
+            }
+        }
+
+        private void putLong(long value) {
+            longs[size++] = value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+    }
+
+    // ==========================================
+    // WRITE
+    // ==========================================
+
+    public static final class Table {
+        private final String name;
+        private final String[] columnNames;
+        private final Type[] types;
+        private final Column[] columns;
+        private int rows;
+
+        public Table(String name, String[] columnNames, Type[] types) {
+            if (columnNames.length != types.length) {
+                throw new IllegalArgumentException("One type per column is required");
+            }
+            this.name = name;
+            this.columnNames = columnNames;
+            this.types = types;
+            this.columns = new Column[types.length];
+            for (int i = 0; i < types.length; i++) {
+                columns[i] = new Column(types[i], 1024);
+            }
+        }
+
+        public int rows() {
+            return rows;
+        }
+
+        public Object[] row(int row) {
+            Object[] values = new Object[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                values[i] = columns[i].get(row);
+            }
+            return values;
+        }
+
+        public void addRow(Object... values) {
+            for (int i = 0; i < columns.length; i++) {
+                columns[i].add(values[i]);
+            }
+            rows++;
+        }
+
+        // Current row of a JDBC result, read by column name
+        public void addRow(ResultSet rs) throws SQLException {
+            Object[] values = new Object[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                values[i] = switch (types[i]) {
+                    case LONG -> {
+                        long value = rs.getLong(columnNames[i]);
+                        yield rs.wasNull() ? null : value;
+                    }
+                    case DATE -> rs.getObject(columnNames[i], LocalDate.class);
+                    case DECIMAL -> rs.getBigDecimal(columnNames[i]);
+                    case STRING -> rs.getString(columnNames[i]);
+                };
+            }
+            addRow(values);
+        }
+    }
+
+    public static void write(Path file, List<Table> tables) throws IOException {
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(headerBytes);
+        List<byte[]> blocks = new ArrayList<>();
+        long offset = 0;
+
+        header.writeInt(tables.size());
+        for (Table table : tables) {
+            header.writeUTF(table.name);
+            header.writeInt(table.rows);
+            header.writeInt(table.columns.length);
+            for (int i = 0; i < table.columns.length; i++) {
+                Column column = table.columns[i];
+                byte[] raw = encode(column);
+                byte[] block = deflate(raw);
+                header.writeUTF(table.columnNames[i]);
+                header.writeByte(column.type.ordinal());
+                header.writeLong(column.min);
+                header.writeLong(column.max);
+                header.writeLong(offset);
+                header.writeInt(block.length);
+                header.writeInt(raw.length);
+                blocks.add(block);
+                offset += block.length;
+            }
+        }
+        header.flush();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer preamble = ByteBuffer.allocate(MAGIC.length + 8);
+            preamble.put(MAGIC).putInt(VERSION).putInt(headerBytes.size()).flip();
+            writeFully(channel, preamble);
+            writeFully(channel, ByteBuffer.wrap(headerBytes.toByteArray()));
+            for (byte[] block : blocks) {
+                writeFully(channel, ByteBuffer.wrap(block));
+            }
+            // Rows are deleted from the database right after: the file must be on disk first
+            channel.force(true);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static byte[] encode(Column column) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        byte[] nullBits = column.nulls.toByteArray();
+        out.writeInt(column.size);
+        out.writeInt(nullBits.length);
+        out.write(nullBits);
+
+        if (column.longs != null) {
+            long previous = 0;
+            for (int row = 0; row < column.size; row++) {
+                if (!column.nulls.get(row)) {
+                    writeVarLong(out, zigzag(column.longs[row] - previous));
+                    previous = column.longs[row];
+                }
+            }
+        } else {
+            Map<String, Integer> dictionary = new LinkedHashMap<>();
+            for (int row = 0; row < column.size; row++) {
+                if (!column.nulls.get(row)) {
+                    dictionary.putIfAbsent(column.strings[row], dictionary.size());
+                }
+            }
+            out.writeInt(dictionary.size());
+            for (String value : dictionary.keySet()) {
+                out.writeUTF(value);
+            }
+            for (int row = 0; row < column.size; row++) {
+                if (!column.nulls.get(row)) {
+                    writeVarLong(out, dictionary.get(column.strings[row]));
+                }
+            }
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+            byte[] chunk = new byte[64 * 1024];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    // ==========================================
+    // READ
+    // ==========================================
+
+    private record BlockRef(Type type, long min, long max, long offset, int length, int rawLength) {}
+
+    private record TableRef(int rows, Map<String, BlockRef> columns) {}
+
+    // Header only; column blocks are read and decoded on demand
+    public static final class Reader {
+        private final Path file;
+        private final long dataStart;
+        private final Map<String, TableRef> tables;
+
+        private Reader(Path file, long dataStart, Map<String, TableRef> tables) {
+            this.file = file;
+            this.dataStart = dataStart;
+            this.tables = tables;
+        }
+
+        public Path file() {
+            return file;
+        }
+
+        public boolean hasTable(String table) {
+            return tables.containsKey(table);
+        }
+
+        public boolean hasColumn(String table, String column) {
+            TableRef ref = tables.get(table);
+            return ref != null && ref.columns().containsKey(column);
+        }
+
+        public int rows(String table) {
+            TableRef ref = tables.get(table);
+            return ref != null ? ref.rows() : 0;
+        }
+
+        // Smallest/largest non-null value of a LONG or DATE column (no block read)
+        public long min(String table, String column) {
+            return block(table, column).min();
+        }
+
+        public long max(String table, String column) {
+            return block(table, column).max();
+        }
+
+        public Column column(String table, String column) throws IOException {
+            BlockRef ref = block(table, column);
+            byte[] block = new byte[ref.length()];
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                ByteBuffer buffer = ByteBuffer.wrap(block);
+                long position = dataStart + ref.offset();
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, position + buffer.position()) < 0) {
+                        throw new EOFException("Truncated archive " + file);
+                    }
+                }
+            }
+            return decode(ref.type(), inflate(block, ref.rawLength()));
+        }
+
+        private BlockRef block(String table, String column) {
+            TableRef ref = tables.get(table);
+            BlockRef block = ref != null ? ref.columns().get(column) : null;
+            if (block == null) {
+                throw new IllegalArgumentException("No column " + table + "." + column + " in " + file);
+            }
+            return block;
+        }
+    }
+
+    public static Reader open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer preamble = ByteBuffer.allocate(MAGIC.length + 8);
+            readFully(channel, preamble, 0, file);
+            preamble.flip();
+            byte[] magic = new byte[MAGIC.length];
+            preamble.get(magic);
+            if (!Arrays.equals(magic, MAGIC) || preamble.getInt() != VERSION) {
+                throw new IOException(file + " is not a version " + VERSION + " archive");
+            }
+            int headerLength = preamble.getInt();
+            ByteBuffer headerBuffer = ByteBuffer.allocate(headerLength);
+            readFully(channel, headerBuffer, preamble.capacity(), file);
+
+            DataInputStream header = new DataInputStream(new ByteArrayInputStream(headerBuffer.array()));
+            Map<String, TableRef> tables = new HashMap<>();
+            int tableCount = header.readInt();
+            for (int t = 0; t < tableCount; t++) {
+                String name = header.readUTF();
+                int rows = header.readInt();
+                int columnCount = header.readInt();
+                Map<String, BlockRef> columns = new HashMap<>();
+                for (int c = 0; c < columnCount; c++) {
+                    String column = header.readUTF();
+                    Type type = Type.values()[header.readByte()];
+                    columns.put(column, new BlockRef(type, header.readLong(), header.readLong(),
+                            header.readLong(), header.readInt(), header.readInt()));
+                }
+                tables.put(name, new TableRef(rows, columns));
+            }
+            return new Reader(file, (long) preamble.capacity() + headerLength, tables);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position, Path file) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Truncated archive " + file);
+            }
+        }
+    }
+
+    private static byte[] inflate(byte[] block, int rawLength) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(block);
+            byte[] raw = new byte[rawLength];
+            int length = 0;
+            while (length < rawLength && !inflater.finished()) {
+                int read = inflater.inflate(raw, length, rawLength - length);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += read;
+            }
+            if (length != rawLength) {
+                throw new IOException("Corrupt column block");
+            }
+            return raw;
+        } catch (DataFormatException ex) {
+            throw new IOException("Corrupt column block", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static Column decode(Type type, byte[] raw) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+        int size = in.readInt();
+        byte[] nullBits = new byte[in.readInt()];
+        in.readFully(nullBits);
+        BitSet nulls = BitSet.valueOf(nullBits);
+
+        Column column = new Column(type, size);
+        column.size = size;
+        column.nulls.or(nulls);
+        if (column.longs != null) {
+            long previous = 0;
+            for (int row = 0; row < size; row++) {
+                if (!nulls.get(row)) {
+                    previous += unzigzag(readVarLong(in));
+                    column.longs[row] = previous;
+                    column.min = Math.min(column.min, previous);
+                    column.max = Math.max(column.max, previous);
+                }
+            }
+        } else {
+            String[] dictionary = new String[in.readInt()];
+            for (int i = 0; i < dictionary.length; i++) {
+                dictionary[i] = in.readUTF();
+            }
+            for (int row = 0; row < size; row++) {
+                if (!nulls.get(row)) {
+                    column.strings[row] = dictionary[(int) readVarLong(in)];
+                }
+            }
+        }
+        return column;
+    }
+}
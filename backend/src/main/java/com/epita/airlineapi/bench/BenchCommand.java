@@ -0,0 +1,258 @@
+package com.epita.airlineapi.bench;
+
+import com.epita.airlineapi.config.WorkloadContext;
+import com.epita.airlineapi.config.WorkloadRoutingDataSource;
+import com.epita.airlineapi.model.Flight;
+import com.epita.airlineapi.repository.FlightRepository;
+import com.epita.airlineapi.service.EndpointGroup;
+import com.epita.airlineapi.service.FlightScheduleService;
+import com.epita.airlineapi.service.FlightSearchCache;
+import com.epita.airlineapi.service.JsonFragmentCache;
+import com.epita.airlineapi.service.ReactiveFlightReader;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+// Micro-benchmarks against the data of the configured database, e.g.
+//   java -jar airline-api.jar --spring.profiles.active=bench json --flights=1000 --page=20 --requests=200000
+//   java -jar airline-api.jar --spring.profiles.active=bench search --concurrency=20000 --routes=500
+// json: encodes search-sized pages of real flights with plain Jackson, then through JsonFragmentCache (warm),
+// and reports CPU time and bytes allocated per response on the benchmark thread (both write the same document,
+// see JsonFragmentCacheTests).
+// search: starts that many uncached flight searches at once, first thread-per-request on JDBC (one platform
+// thread each, search sub-pool), then on the R2DBC path; reports peak threads, connections in use and waiting,
+// and heap, sampled while they run. Thread stacks are native memory, not heap: run with
+// -XX:NativeMemoryTracking=summary and jcmd <pid> VM.native_memory to see them.
+// Runs without the web server and exits when done.
+@Component
+@Profile("bench")
+public class BenchCommand implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BenchCommand.class);
+
+    private final FlightRepository flightRepository;
+    private final JsonMapper jsonMapper;
+    private final JsonFragmentCache jsonFragmentCache;
+    private final FlightScheduleService flightScheduleService;
+    private final ReactiveFlightReader reactiveFlightReader;
+    private final WorkloadRoutingDataSource dataSource;
+    private final ConnectionPool reactiveConnectionPool;
+
+    public BenchCommand(FlightRepository flightRepository, JsonMapper jsonMapper, JsonFragmentCache jsonFragmentCache,
+                        FlightScheduleService flightScheduleService, ReactiveFlightReader reactiveFlightReader,
+                        WorkloadRoutingDataSource dataSource, ConnectionPool reactiveConnectionPool) {
+        this.flightRepository = flightRepository;
+        this.jsonMapper = jsonMapper;
+        this.jsonFragmentCache = jsonFragmentCache;
+        this.flightScheduleService = flightScheduleService;
+        this.reactiveFlightReader = reactiveFlightReader;
+        this.dataSource = dataSource;
+        this.reactiveConnectionPool = reactiveConnectionPool;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        List<String> command = args.getNonOptionArgs();
+        String action = command.isEmpty() ? "json" : command.getFirst();
+        switch (action) {
+            case "json" -> json((int) option(args, "flights", 1000), (int) option(args, "page", 20),
+                    option(args, "requests", 200_000));
+            case "search" -> search((int) option(args, "concurrency", 20_000), (int) option(args, "routes", 500));
+            default -> throw new IllegalArgumentException("Unknown command '" + action + "' (json, search)");
+        }
+    }
+
+    private void json(int flightCount, int pageSize, long requests) {
+        List<Flight> flights = flightRepository.findAll(PageRequest.of(0, flightCount)).getContent();
+        if (flights.isEmpty()) {
+            throw new IllegalStateException("No flights to encode, load a dataset first (generate profile)");
+        }
+        List<List<Flight>> pages = new ArrayList<>();
+        for (int from = 0; from < flights.size(); from += pageSize) {
+            pages.add(flights.subList(from, Math.min(flights.size(), from + pageSize)));
+        }
+
+        measure("jackson", pages, requests, jsonMapper::writeValueAsBytes);
+        measure("fragments", pages, requests, page -> jsonFragmentCache.flights(() -> page));
+    }
+
+    private void measure(String name, List<List<Flight>> pages, long requests, Function<List<Flight>, byte[]> encoder) {
+        long checksum = 0;
+        // Warm-up: JIT compilation (and a full fragment cache)
+        for (long i = 0; i < Math.min(requests, 50_000); i++) {
+            checksum += encoder.apply(pages.get((int) (i % pages.size()))).length;
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long cpuBefore = threads.getCurrentThreadCpuTime();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        long bytes = 0;
+        for (long i = 0; i < requests; i++) {
+            bytes += encoder.apply(pages.get((int) (i % pages.size()))).length;
+        }
+        long nanos = Math.max(1, System.nanoTime() - start);
+        long cpu = threads.getCurrentThreadCpuTime() - cpuBefore;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        log.info("{}: {} responses in {} ms ({} responses/s), {} bytes per response; per response {} ns CPU and {} bytes "
+                        + "allocated ({} MB/s allocation rate) [checksum {}]",
+                name, requests, nanos / 1_000_000, requests * 1_000_000_000L / nanos, bytes / requests,
+                cpu / requests, allocated / requests, allocated * 1_000L / nanos, checksum + bytes);
+    }
+
+    private void search(int concurrency, int routeCount) throws InterruptedException {
+        List<FlightSearchCache.SearchKey> routes = new JdbcTemplate(dataSource).query("""
+                SELECT DISTINCT departure_city, arrival_city, departure_date
+                FROM flights
+                WHERE departure_date >= current_date
+                LIMIT ?
+                """, (rs, rowNum) -> new FlightSearchCache.SearchKey(rs.getString("departure_city"),
+                rs.getString("arrival_city"), rs.getObject("departure_date", LocalDate.class)), routeCount);
+        if (routes.isEmpty()) {
+            throw new IllegalStateException("No upcoming flights to search, load a dataset first (generate profile)");
+        }
+
+        // Thread per request: every search holds its thread while it waits for a connection and for the database
+        Peaks blocking = Peaks.start(() -> searchPool() == null ? 0 : searchPool().getActiveConnections(),
+                () -> searchPool() == null ? 0 : searchPool().getThreadsAwaitingConnection());
+        Map<String, LongAdder> blockingFailures = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>(concurrency);
+        try {
+            for (int i = 0; i < concurrency; i++) {
+                FlightSearchCache.SearchKey route = routes.get(i % routes.size());
+                threads.add(Thread.ofPlatform().start(() -> {
+                    WorkloadContext.set(EndpointGroup.SEARCH);
+                    try {
+                        start.await();
+                        List<Flight> flights = flightRepository.findByDepartureCityIgnoreCaseAndArrivalCityIgnoreCaseAndDepartureDate(
+                                route.from(), route.to(), route.date());
+                        flightScheduleService.virtualInstances(route.from(), route.to(), route.date(), flights);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    } catch (RuntimeException ex) {
+                        blockingFailures.computeIfAbsent(ex.getClass().getSimpleName(), key -> new LongAdder()).increment();
+                    } finally {
+                        WorkloadContext.clear();
+                    }
+                }));
+            }
+        } catch (OutOfMemoryError ex) {
+            // unable to create native thread: the OS limit is part of the answer
+            log.warn("Blocking search: only {} of {} threads could be started ({})", threads.size(), concurrency,
+                    ex.getMessage());
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        blocking.stop("blocking (JDBC, thread per search)", threads.size(), blockingFailures);
+
+        // Non-blocking: every search is subscribed at once from this thread, waiting ones only hold a pool slot
+        Peaks reactive = Peaks.start(() -> reactiveConnectionPool.getMetrics().map(PoolMetrics::acquiredSize).orElse(0),
+                () -> reactiveConnectionPool.getMetrics().map(PoolMetrics::pendingAcquireSize).orElse(0));
+        Map<String, LongAdder> reactiveFailures = new ConcurrentHashMap<>();
+        Flux.range(0, concurrency)
+                .flatMap(i -> {
+                    FlightSearchCache.SearchKey route = routes.get(i % routes.size());
+                    return reactiveFlightReader.loadSearch(route.from(), route.to(), route.date())
+                            .onErrorResume(ex -> {
+                                reactiveFailures.computeIfAbsent(ex.getClass().getSimpleName(), key -> new LongAdder())
+                                        .increment();
+                                return Mono.empty();
+                            });
+                }, concurrency)
+                .then()
+                .block();
+        reactive.stop("reactive (R2DBC)", concurrency, reactiveFailures);
+    }
+
+    private HikariPoolMXBean searchPool() {
+        return dataSource.getPool(EndpointGroup.SEARCH).getHikariPoolMXBean(); // null until the pool has started
+    }
+
+    // Peak threads, connections and heap while a run is in flight, sampled every few milliseconds
+    private static final class Peaks {
+        private final LongSupplier connections;
+        private final LongSupplier waiting;
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        private final long heapBefore;
+        private final long threadsBefore;
+        private final long start;
+        private final Thread sampler;
+        private volatile boolean running = true;
+        private volatile long peakConnections;
+        private volatile long peakWaiting;
+        private volatile long peakHeap;
+        private volatile long peakThreads;
+
+        private Peaks(LongSupplier connections, LongSupplier waiting) {
+            this.connections = connections;
+            this.waiting = waiting;
+            System.gc();
+            this.heapBefore = memory.getHeapMemoryUsage().getUsed();
+            this.threadsBefore = threads.getThreadCount();
+            this.start = System.nanoTime();
+            this.sampler = Thread.ofPlatform().daemon().name("bench-sampler").start(this::sample);
+        }
+
+        static Peaks start(LongSupplier connections, LongSupplier waiting) {
+            return new Peaks(connections, waiting);
+        }
+
+        private void sample() {
+            while (running) {
+                peakConnections = Math.max(peakConnections, connections.getAsLong());
+                peakWaiting = Math.max(peakWaiting, waiting.getAsLong());
+                peakHeap = Math.max(peakHeap, memory.getHeapMemoryUsage().getUsed());
+                peakThreads = Math.max(peakThreads, threads.getThreadCount());
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException ex) {
+                    return;
+                }
+            }
+        }
+
+        void stop(String name, int searches, Map<String, LongAdder> failures) throws InterruptedException {
+            long nanos = Math.max(1, System.nanoTime() - start);
+            running = false;
+            sampler.join();
+            log.info("{}: {} concurrent searches in {} ms ({} searches/s), failed {}; peak {} connections in use, "
+                            + "{} waiting for one, {} live threads (+{}), heap +{} MB",
+                    name, searches, nanos / 1_000_000, searches * 1_000_000_000L / nanos, failures,
+                    peakConnections, peakWaiting, peakThreads, peakThreads - threadsBefore,
+                    Math.max(0, peakHeap - heapBefore) / (1024 * 1024));
+        }
+    }
+
+    private static long option(ApplicationArguments args, String name, long fallback) {
+        return args.containsOption(name) ? Long.parseLong(args.getOptionValues(name).getFirst()) : fallback;
+    }
+}
@@ -0,0 +1,58 @@
+package com.epita.airlineapi.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+// Training run of the JDK AOT cache (README "Startup-Optimized Packaging"). With airline.aot-training.paths set,
+// the application sends one GET to each path on itself once it is ready, then exits normally so the JVM writes
+// the cache with the classes of request handling (MVC, Jackson, Hibernate queries) loaded, not only those of
+// context startup. Read at runtime on purpose: Spring AOT fixes @Profile and @Conditional choices at build time.
+@Component
+public class AotTrainingRun {
+
+    private static final Logger log = LoggerFactory.getLogger(AotTrainingRun.class);
+
+    private final List<String> paths;
+
+    public AotTrainingRun(@Value("${airline.aot-training.paths:}") List<String> paths) {
+        this.paths = paths;
+    }
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) throws InterruptedException {
+        if (paths.isEmpty()) {
+            return;
+        }
+        String port = event.getApplicationContext().getEnvironment().getProperty("local.server.port", "8080");
+        try (HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build()) {
+            for (String path : paths) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                        .timeout(Duration.ofSeconds(30))
+                        .GET()
+                        .build();
+                try {
+                    // Any status trains the same code paths (a 404 still goes through the handler and the error mapping)
+                    int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    log.info("AOT training: GET {} -> {}", path, status);
+                } catch (IOException ex) {
+                    log.warn("AOT training: GET {} failed: {}", path, ex.getMessage());
+                }
+            }
+        }
+        log.info("AOT training: {} requests sent, exiting", paths.size());
+        System.exit(SpringApplication.exit(event.getApplicationContext(), () -> 0));
+    }
+}
@@ -0,0 +1,42 @@
+package com.epita.airlineapi.config;
+
+import com.epita.airlineapi.service.EndpointGroup;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+// One connection sub-pool per workload (see WorkloadRoutingDataSource).
+// Replaces the auto-configured single pool; sizes come from airline.bulkhead.<group>.pool-size.
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    public WorkloadRoutingDataSource dataSource(@Value("${spring.datasource.url}") String url,
+                                                @Value("${spring.datasource.username}") String username,
+                                                @Value("${spring.datasource.password}") String password,
+                                                @Value("${spring.datasource.driver-class-name}") String driverClassName,
+                                                Environment environment) {
+        Map<EndpointGroup, HikariDataSource> pools = new EnumMap<>(EndpointGroup.class);
+        for (EndpointGroup group : EndpointGroup.values()) {
+            String name = group.name().toLowerCase(Locale.ROOT);
+
+            HikariDataSource pool = new HikariDataSource();
+            pool.setJdbcUrl(url);
+            pool.setUsername(username);
+            pool.setPassword(password);
+            pool.setDriverClassName(driverClassName);
+            pool.setPoolName("airline-" + name);
+            pool.setMaximumPoolSize(environment.getProperty("airline.bulkhead." + name + ".pool-size", Integer.class, 5));
+            // Fail fast instead of queueing for the default 30s when the sub-pool is exhausted
+            pool.setConnectionTimeout(environment.getProperty("airline.bulkhead." + name + ".connection-timeout-ms", Long.class, 2000L));
+            pools.put(group, pool);
+        }
+        return new WorkloadRoutingDataSource(pools);
+    }
+}
@@ -0,0 +1,50 @@
+package com.epita.airlineapi.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// R2DBC pool of the non-blocking read path (ReactiveFlightReader), separate from the JDBC sub-pools.
+// A waiting request holds no thread and no connection, only its place in the pending-acquire queue,
+// so a few connections serve thousands of concurrent searches; beyond max-pending requests get 503.
+// Same database and credentials as spring.datasource.*: the URL is the JDBC one with the scheme rewritten
+// (jdbc:postgresql: -> r2dbc:postgresql:, query parameters kept) unless airline.reactive.url overrides it.
+// Connections are opened on first use.
+@Configuration
+public class ReactiveDataSourceConfig {
+
+    @Bean
+    public ConnectionPool reactiveConnectionPool(@Value("${airline.reactive.url:}") String url,
+                                                 @Value("${spring.datasource.url}") String jdbcUrl,
+                                                 @Value("${spring.datasource.username}") String username,
+                                                 @Value("${spring.datasource.password}") String password,
+                                                 @Value("${airline.reactive.pool-size:10}") int poolSize,
+                                                 @Value("${airline.reactive.max-pending:20000}") int maxPending,
+                                                 @Value("${airline.reactive.max-acquire-time:5s}") Duration maxAcquireTime) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url.isBlank() ? r2dbcUrl(jdbcUrl) : url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("airline-reactive")
+                .initialSize(0)
+                .maxSize(poolSize)
+                .maxAcquireTime(maxAcquireTime)
+                .customizer(pool -> pool.maxPendingAcquire(maxPending))
+                .build());
+    }
+
+    static String r2dbcUrl(String jdbcUrl) {
+        if (!jdbcUrl.startsWith("jdbc:postgresql:")) {
+            throw new IllegalStateException("Cannot derive airline.reactive.url from " + jdbcUrl
+                    + ": set it explicitly");
+        }
+        return "r2dbc:" + jdbcUrl.substring("jdbc:".length());
+    }
+}
@@ -0,0 +1,106 @@
+package com.epita.airlineapi.config;
+
+import com.epita.airlineapi.service.PartitionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Schema objects ddl-auto=update does not manage: extensions, expression indexes, dropped constraints.
+// Every statement is idempotent and runs after Hibernate has updated the tables.
+@Component
+@Profile("!generate") // Built on the next start instead, so COPY does not maintain GIN indexes row by row
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SchemaInitializer implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaInitializer.class);
+
+    private record Step(String purpose, List<String> statements) {}
+
+    private static final List<Step> STEPS = List.of(
+            // Trigram indexes behind /clients/search and /employees/search; the expressions must stay
+            // identical to the ones in ClientRepository/EmployeeRepository.searchRanked
+            new Step("client/employee search indexes", List.of(
+                    "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+                    "CREATE INDEX IF NOT EXISTS idx_users_search_trgm ON users "
+                            + "USING gin (lower(first_name || ' ' || last_name || ' ' || email) gin_trgm_ops)",
+                    "CREATE INDEX IF NOT EXISTS idx_clients_passport_trgm ON clients "
+                            + "USING gin (lower(passport_number) gin_trgm_ops)")),
+            // Flight numbers repeat across departure dates (schedules); uk_flights_number_date replaces it
+            new Step("flight number per date uniqueness", List.of(
+                    "ALTER TABLE flights DROP CONSTRAINT IF EXISTS uk_flights_flight_number")),
+            // Databases created while these columns were @Column(unique = true) carry Hibernate's hashed
+            // constraint names (uk + hash), and the update adds the named one beside them; the violated name
+            // then picks no message in GlobalExceptionHandler. Rename the old one, or drop it once the named one exists.
+            new Step("unique constraint names", List.of(
+                    """
+                    DO $$
+                    DECLARE
+                        target record;
+                        legacy record;
+                    BEGIN
+                        FOR target IN SELECT * FROM (VALUES
+                                ('users', 'email', 'uk_users_email'),
+                                ('clients', 'passport_number', 'uk_clients_passport_number'),
+                                ('employees', 'employee_number', 'uk_employees_employee_number')) AS t(tbl, col, name)
+                        LOOP
+                            FOR legacy IN
+                                SELECT c.conname FROM pg_constraint c
+                                JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = c.conkey[1]
+                                WHERE c.conrelid = to_regclass(target.tbl) AND c.contype = 'u'
+                                  AND cardinality(c.conkey) = 1 AND a.attname = target.col AND c.conname <> target.name
+                            LOOP
+                                IF EXISTS (SELECT 1 FROM pg_constraint
+                                           WHERE conrelid = to_regclass(target.tbl) AND conname = target.name) THEN
+                                    EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I', target.tbl, legacy.conname);
+                                ELSE
+                                    EXECUTE format('ALTER TABLE %I RENAME CONSTRAINT %I TO %I',
+                                            target.tbl, legacy.conname, target.name);
+                                END IF;
+                            END LOOP;
+                        END LOOP;
+                    END $$
+                    """)),
+            // Head of a flight's waitlist without a sort (WaitlistService promotes in entry_id order)
+            new Step("waitlist queue index", List.of(
+                    "CREATE INDEX IF NOT EXISTS idx_waitlist_flight_entry ON waitlist_entries (flight_id, entry_id)")),
+            // Bookings made before Book.pricePaid existed (or restored from older archives) get the fare of
+            // their cabin once; the partial index keeps the check cheap on every later start
+            new Step("booking price backfill", List.of(
+                    "CREATE INDEX IF NOT EXISTS idx_books_price_missing ON books (reservation_id) WHERE price_paid IS NULL",
+                    "UPDATE books b SET price_paid = CASE WHEN UPPER(b.type_of_seat) = 'BUSINESS' "
+                            + "THEN f.business_price ELSE f.economy_price END "
+                            + "FROM flights f WHERE f.flight_id = b.flight_id AND b.price_paid IS NULL"))
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PartitionService partitionService;
+
+    public SchemaInitializer(JdbcTemplate jdbcTemplate, PartitionService partitionService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitionService = partitionService;
+    }
+
+    @Override
+    public void run(String... args) {
+        for (Step step : STEPS) {
+            try {
+                for (String statement : step.statements()) {
+                    jdbcTemplate.execute(statement);
+                }
+            } catch (DataAccessException ex) {
+                // e.g. the database role may not create extensions: the app still runs, only that feature is affected
+                log.warn("Schema step '{}' failed: {}", step.purpose(), ex.getMessage());
+            }
+        }
+        // Monthly partitions of flights/books: converts the plain tables once, then tops up the months ahead
+        partitionService.initialize();
+    }
+}
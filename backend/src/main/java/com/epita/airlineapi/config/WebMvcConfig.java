@@ -0,0 +1,21 @@
+package com.epita.airlineapi.config;
+
+import com.epita.airlineapi.admin.AdminKeyInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final AdminKeyInterceptor adminKeyInterceptor;
+
+    public WebMvcConfig(AdminKeyInterceptor adminKeyInterceptor) {
+        this.adminKeyInterceptor = adminKeyInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(adminKeyInterceptor).addPathPatterns("/api/**");
+    }
+}
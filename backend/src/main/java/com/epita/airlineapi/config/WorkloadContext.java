@@ -0,0 +1,24 @@
+package com.epita.airlineapi.config;
+
+import com.epita.airlineapi.service.EndpointGroup;
+
+// Workload of the current request thread, set by BulkheadFilter and read by WorkloadRoutingDataSource
+public final class WorkloadContext {
+
+    private static final ThreadLocal<EndpointGroup> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    public static EndpointGroup get() {
+        return CURRENT.get();
+    }
+
+    public static void set(EndpointGroup group) {
+        CURRENT.set(group);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,50 @@
+package com.epita.airlineapi.config;
+
+import com.epita.airlineapi.service.EndpointGroup;
+import com.epita.airlineapi.sql.SqlStats;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+// Hands each workload its own Hikari pool, so slow back-office queries cannot exhaust
+// the connections bookings need. Threads outside a request (startup, schedulers) use the admin pool.
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private final Map<EndpointGroup, HikariDataSource> pools;
+
+    public WorkloadRoutingDataSource(Map<EndpointGroup, HikariDataSource> pools) {
+        this.pools = pools;
+        setTargetDataSources(new HashMap<>(pools));
+        setDefaultTargetDataSource(pools.get(EndpointGroup.ADMIN));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return WorkloadContext.get();
+    }
+
+    // Statement/row counting for SqlBudgetFilter (no-op outside a tracked request)
+    @Override
+    public Connection getConnection() throws SQLException {
+        return SqlStats.track(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return SqlStats.track(super.getConnection(username, password));
+    }
+
+    public HikariDataSource getPool(EndpointGroup group) {
+        return pools.get(group);
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
@@ -1,7 +1,11 @@
 package com.epita.airlineapi.controller;
 
+import com.epita.airlineapi.dto.AirportDistance;
+import com.epita.airlineapi.dto.AirportSuggestion;
 import com.epita.airlineapi.model.Airport;
 import com.epita.airlineapi.service.AirportService;
+import com.epita.airlineapi.service.AirportSuggestIndex;
+import com.epita.airlineapi.sql.SqlBudget;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -13,9 +17,11 @@ import java.util.List;
 public class AirportController {
 
     private final AirportService airportService;
+    private final AirportSuggestIndex airportSuggestIndex;
 
-    public AirportController(AirportService airportService) {
+    public AirportController(AirportService airportService, AirportSuggestIndex airportSuggestIndex) {
         this.airportService = airportService;
+        this.airportSuggestIndex = airportSuggestIndex;
     }
 
     // GET ALL
@@ -28,8 +34,24 @@ public class AirportController {
         return ResponseEntity.ok(airports);
     }
 
+    // AUTOCOMPLETE (city, airport name or country prefix; served from memory)
+    @GetMapping("/suggest")
+    public ResponseEntity<List<AirportSuggestion>> suggestAirports(@RequestParam String prefix,
+                                                                   @RequestParam(defaultValue = "10") int limit) {
+        // Blank prefix / bad limit -> IllegalArgumentException -> GlobalHandler returns 400
+        return ResponseEntity.ok(airportSuggestIndex.suggest(prefix, limit));
+    }
+
+    // DISTANCE between two airports (great circle, precomputed)
+    @GetMapping("/distance")
+    public ResponseEntity<AirportDistance> getDistance(@RequestParam Long from, @RequestParam Long to) {
+        // Unknown airport -> 404, airport without coordinates -> 400
+        return ResponseEntity.ok(airportService.getDistance(from, to));
+    }
+
     // GET ONE
     @GetMapping(path = "/{airportId}")
+    @SqlBudget(statements = 2)
     public ResponseEntity<Airport> getAirportById(@PathVariable Long airportId) {
         // Service throws NoSuchElementException if missing -> Caught by GlobalHandler (404)
         return ResponseEntity.ok(airportService.getAirportById(airportId));
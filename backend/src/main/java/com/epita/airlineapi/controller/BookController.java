@@ -1,11 +1,16 @@
 package com.epita.airlineapi.controller;
 
 import com.epita.airlineapi.model.Book;
+import com.epita.airlineapi.service.ApiClients;
 import com.epita.airlineapi.service.BookService;
+import com.epita.airlineapi.service.IdempotencyService;
+import com.epita.airlineapi.sql.SqlBudget;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Arrays;
 import java.util.List;
 
 @RestController
@@ -13,14 +18,20 @@ import java.util.List;
 public class BookController {
 
     private final BookService bookService;
+    private final IdempotencyService idempotencyService;
+    private final ApiClients apiClients;
 
-    public BookController(BookService bookService) {
+    public BookController(BookService bookService, IdempotencyService idempotencyService, ApiClients apiClients) {
         this.bookService = bookService;
+        this.apiClients = apiClients;
+        this.idempotencyService = idempotencyService;
     }
 
     @GetMapping
-    public ResponseEntity<List<Book>> getBooks() {
-        List<Book> books = bookService.getBooks();
+    @SqlBudget(statements = 6)
+    public ResponseEntity<List<Book>> getBooks(@RequestParam(required = false) Long clientId) {
+        // ?clientId= : full history of one client, archived months included
+        List<Book> books = clientId != null ? bookService.getBookingHistory(clientId) : bookService.getBooks();
         if (books.isEmpty()) {
             return ResponseEntity.noContent().build();
         }
@@ -28,16 +39,24 @@ public class BookController {
     }
 
     @GetMapping("/{id}")
+    @SqlBudget(statements = 3)
     public ResponseEntity<Book> getBookById(@PathVariable Long id) {
         // If not found, Service throws NoSuchElementException -> Caught by GlobalHandler (404)
         return ResponseEntity.ok(bookService.getBookById(id));
     }
 
     @PostMapping
-    public ResponseEntity<Book> createBook(@RequestBody Book book) {
-        // If Client/Flight invalid, Service throws Exception -> Caught by GlobalHandler (400 or 404)
-        Book createdBook = bookService.createBook(book);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdBook);
+    public ResponseEntity<Book> createBook(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            HttpServletRequest httpRequest,
+            @RequestBody Book book) {
+        // Retries with the same Idempotency-Key are answered from memory
+        String client = apiClients.identify(httpRequest);
+        return idempotencyService.execute("books", client, idempotencyKey, fingerprint(book), () -> {
+            // If Client/Flight invalid, Service throws Exception -> Caught by GlobalHandler (400 or 404)
+            Book createdBook = bookService.createBook(book);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdBook);
+        });
     }
 
     @PutMapping("/{id}")
@@ -52,4 +71,18 @@ public class BookController {
         bookService.deleteBook(id);
         return ResponseEntity.noContent().build();
     }
+
+    private Object fingerprint(Book book) {
+        if (book == null) {
+            return List.of();
+        }
+        return Arrays.asList(
+                book.getClient() != null ? book.getClient().getUserId() : null,
+                book.getFlight() != null ? book.getFlight().getFlightId() : null,
+                // Recurring flights are booked by schedule and day before they have a flightId
+                book.getFlight() != null ? book.getFlight().getScheduleId() : null,
+                book.getFlight() != null ? book.getFlight().getDepartureDate() : null,
+                book.getTypeOfSeat()
+        );
+    }
 }
@@ -0,0 +1,27 @@
+package com.epita.airlineapi.controller;
+
+import com.epita.airlineapi.dto.BulkheadStats;
+import com.epita.airlineapi.service.BulkheadService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/bulkheads")
+public class BulkheadController {
+
+    private final BulkheadService bulkheadService;
+
+    public BulkheadController(BulkheadService bulkheadService) {
+        this.bulkheadService = bulkheadService;
+    }
+
+    // GET METRICS (per workload: concurrency, queue, rejections, connection sub-pool)
+    @GetMapping
+    public ResponseEntity<List<BulkheadStats>> getStats() {
+        return ResponseEntity.ok(bulkheadService.getStats());
+    }
+}
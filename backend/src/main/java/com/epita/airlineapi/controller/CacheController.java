@@ -0,0 +1,40 @@
+package com.epita.airlineapi.controller;
+
+import com.epita.airlineapi.admin.AdminOnly;
+import com.epita.airlineapi.dto.CacheStats;
+import com.epita.airlineapi.service.CacheService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/cache")
+public class CacheController {
+
+    private final CacheService cacheService;
+
+    public CacheController(CacheService cacheService) {
+        this.cacheService = cacheService;
+    }
+
+    // GET STATISTICS (per region + statements executed)
+    @GetMapping("/stats")
+    public ResponseEntity<CacheStats> getStats() {
+        return ResponseEntity.ok(cacheService.getStats());
+    }
+
+    // RESET STATISTICS (start of a measurement; counters are shared by the whole instance)
+    @AdminOnly
+    @DeleteMapping("/stats")
+    public ResponseEntity<Void> resetStats() {
+        cacheService.resetStats();
+        return ResponseEntity.noContent().build();
+    }
+
+    // EVICT ALL REGIONS
+    @AdminOnly
+    @DeleteMapping
+    public ResponseEntity<Void> evictAll() {
+        cacheService.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+}
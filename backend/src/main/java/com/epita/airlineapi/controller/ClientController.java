@@ -1,5 +1,6 @@
 package com.epita.airlineapi.controller;
 
+import com.epita.airlineapi.dto.ClientMatch;
 import com.epita.airlineapi.model.Client;
 import com.epita.airlineapi.service.ClientService;
 import org.springframework.http.HttpStatus;
@@ -28,6 +29,14 @@ public class ClientController {
         return ResponseEntity.ok(clients);
     }
 
+    // SEARCH (partial name, email or passport)
+    @GetMapping("/search")
+    public ResponseEntity<List<ClientMatch>> searchClients(@RequestParam String q,
+                                                           @RequestParam(defaultValue = "10") int limit) {
+        // Too short query / bad limit -> IllegalArgumentException -> GlobalHandler returns 400
+        return ResponseEntity.ok(clientService.searchClients(q, limit));
+    }
+
     // GET ONE (Using Passport Number)
     @GetMapping("/{passportNumber}")
     public ResponseEntity<Client> getClient(@PathVariable String passportNumber) {
@@ -1,5 +1,6 @@
 package com.epita.airlineapi.controller;
 
+import com.epita.airlineapi.dto.EmployeeMatch;
 import com.epita.airlineapi.model.Employee;
 import com.epita.airlineapi.service.EmployeeService;
 import org.springframework.http.HttpStatus;
@@ -28,6 +29,14 @@ public class EmployeeController {
         return ResponseEntity.ok(employees);
     }
 
+    // SEARCH (partial name or email, or exact employee number)
+    @GetMapping("/search")
+    public ResponseEntity<List<EmployeeMatch>> searchEmployees(@RequestParam String q,
+                                                               @RequestParam(defaultValue = "10") int limit) {
+        // Too short query / bad limit -> IllegalArgumentException -> GlobalHandler returns 400
+        return ResponseEntity.ok(employeeService.searchEmployees(q, limit));
+    }
+
     // GET ONE (Using Employee Number)
     @GetMapping("/{employeeNumber}")
     public ResponseEntity<Employee> getEmployee(@PathVariable Long employeeNumber) {
@@ -0,0 +1,87 @@
+package com.epita.airlineapi.controller;
+
+import com.epita.airlineapi.service.ExportService;
+import com.epita.airlineapi.service.ExportService.Format;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+// Streaming exports for finance/ops. Replaces pulling GET /api/v1/books into memory.
+@RestController
+@RequestMapping("/api/v1/exports")
+public class ExportController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    // ALL BOOKINGS for flights departing in [start, end]
+    @GetMapping("/bookings")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        Format exportFormat = parseFormat(format);
+        exportService.checkRange(start, end);
+        return streaming("bookings-" + start + "_" + end, exportFormat, gzip,
+                out -> exportService.exportBookings(start, end, exportFormat, out));
+    }
+
+    // PASSENGER MANIFEST of one flight
+    @GetMapping("/flights/{flightId}/manifest")
+    public ResponseEntity<StreamingResponseBody> exportManifest(
+            @PathVariable Long flightId,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        Format exportFormat = parseFormat(format);
+        exportService.checkFlightExists(flightId);
+        return streaming("manifest-" + flightId, exportFormat, gzip,
+                out -> exportService.exportManifest(flightId, exportFormat, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> streaming(String fileName, Format format, boolean gzip,
+                                                            Consumer<OutputStream> writer) {
+        String extension = format == Format.CSV ? ".csv" : ".ndjson";
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                try (GZIPOutputStream gzipOut = new GZIPOutputStream(out, 64 * 1024)) {
+                    writer.accept(gzipOut);
+                }
+            } else {
+                writer.accept(out);
+            }
+        };
+
+        // gzip=true sends a .gz file (application/gzip), not a compressed transfer of the CSV/NDJSON:
+        // with Content-Encoding clients would decompress it and still save it under the .gz name
+        MediaType contentType = gzip ? GZIP
+                : format == Format.CSV ? MediaType.parseMediaType("text/csv;charset=UTF-8") : NDJSON;
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + fileName + extension + (gzip ? ".gz" : "") + "\"")
+                .body(body);
+    }
+
+    private Format parseFormat(String format) {
+        return switch (format.toLowerCase()) {
+            case "csv" -> Format.CSV;
+            case "ndjson", "jsonl" -> Format.NDJSON;
+            default -> throw new IllegalArgumentException("format must be csv or ndjson");
+        };
+    }
+}
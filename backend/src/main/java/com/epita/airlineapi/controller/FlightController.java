@@ -2,8 +2,11 @@ package com.epita.airlineapi.controller;
 
 import com.epita.airlineapi.model.Flight;
 import com.epita.airlineapi.service.FlightService;
+import com.epita.airlineapi.service.JsonFragmentCache;
+import com.epita.airlineapi.sql.SqlBudget;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -15,9 +18,11 @@ import java.util.List;
 public class FlightController {
 
     private final FlightService flightService;
+    private final JsonFragmentCache jsonFragmentCache;
 
-    public FlightController(FlightService flightService) {
+    public FlightController(FlightService flightService, JsonFragmentCache jsonFragmentCache) {
         this.flightService = flightService;
+        this.jsonFragmentCache = jsonFragmentCache;
     }
 
     // GET ALL
@@ -32,9 +37,13 @@ public class FlightController {
 
     // GET ONE (By ID)
     @GetMapping(path = "/{flightId}")
-    public ResponseEntity<Flight> getFlightById(@PathVariable Long flightId) {
+    @SqlBudget(statements = 3)
+    public ResponseEntity<byte[]> getFlightById(@PathVariable Long flightId) {
         // GlobalExceptionHandler catches NoSuchElementException -> 404
-        return ResponseEntity.ok(flightService.getFlightById(flightId));
+        // Pre-encoded JSON (JsonFragmentCache), same content as serializing the Flight
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(jsonFragmentCache.flight(() -> flightService.getFlightById(flightId)));
     }
 
     // CREATE
@@ -47,6 +56,7 @@ public class FlightController {
 
     // UPDATE
     @PutMapping(path = "/{flightId}")
+    @SqlBudget(statements = 12)
     public ResponseEntity<Flight> updateFlight(
             @PathVariable Long flightId,
             @RequestBody Flight flightUpdate) {
@@ -64,11 +74,14 @@ public class FlightController {
     }
 
     @GetMapping("/search")
-    public List<Flight> searchFlights(
+    @SqlBudget(statements = 6)
+    public ResponseEntity<byte[]> searchFlights(
             @RequestParam String from,
             @RequestParam String to,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
     ) {
-        return flightService.searchFlights(from, to, date);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(jsonFragmentCache.flights(() -> flightService.searchFlights(from, to, date)));
     }
 }
@@ -0,0 +1,70 @@
+package com.epita.airlineapi.controller;
+
+import com.epita.airlineapi.model.Flight;
+import com.epita.airlineapi.model.FlightSchedule;
+import com.epita.airlineapi.service.FlightScheduleService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping(path = "/api/v1/schedules")
+public class FlightScheduleController {
+
+    private final FlightScheduleService flightScheduleService;
+
+    public FlightScheduleController(FlightScheduleService flightScheduleService) {
+        this.flightScheduleService = flightScheduleService;
+    }
+
+    // GET ALL
+    @GetMapping
+    public ResponseEntity<List<FlightSchedule>> getSchedules() {
+        List<FlightSchedule> schedules = flightScheduleService.getSchedules();
+        if (schedules.isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(schedules);
+    }
+
+    // GET ONE
+    @GetMapping(path = "/{scheduleId}")
+    public ResponseEntity<FlightSchedule> getScheduleById(@PathVariable Long scheduleId) {
+        // GlobalExceptionHandler catches NoSuchElementException -> 404
+        return ResponseEntity.ok(flightScheduleService.getScheduleById(scheduleId));
+    }
+
+    // CREATE
+    @PostMapping
+    public ResponseEntity<FlightSchedule> createSchedule(@RequestBody FlightSchedule schedule) {
+        // GlobalExceptionHandler catches IllegalArgumentException (invalid window/days/prices) -> 400
+        FlightSchedule createdSchedule = flightScheduleService.saveSchedule(schedule);
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdSchedule);
+    }
+
+    // UPDATE
+    @PutMapping(path = "/{scheduleId}")
+    public ResponseEntity<FlightSchedule> updateSchedule(@PathVariable Long scheduleId,
+                                                         @RequestBody FlightSchedule scheduleUpdate) {
+        return ResponseEntity.ok(flightScheduleService.updateSchedule(scheduleId, scheduleUpdate));
+    }
+
+    // DELETE (materialized flights are kept, only unlinked)
+    @DeleteMapping(path = "/{scheduleId}")
+    public ResponseEntity<Void> deleteSchedule(@PathVariable Long scheduleId) {
+        flightScheduleService.deleteSchedule(scheduleId);
+        return ResponseEntity.noContent().build();
+    }
+
+    // MATERIALIZE one departure date, e.g. before editing that instance through /api/v1/flights/{flightId}
+    // Idempotent: returns the existing flight if it is already materialized
+    @PostMapping(path = "/{scheduleId}/instances/{date}")
+    public ResponseEntity<Flight> materialize(@PathVariable Long scheduleId,
+                                              @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(flightScheduleService.materialize(scheduleId, date));
+    }
+}
@@ -0,0 +1,23 @@
+package com.epita.airlineapi.controller;
+
+import com.epita.airlineapi.dto.JournalStats;
+import com.epita.airlineapi.journal.BookingJournal;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/journal")
+public class JournalController {
+
+    private final BookingJournal bookingJournal;
+
+    public JournalController(BookingJournal bookingJournal) {
+        this.bookingJournal = bookingJournal;
+    }
+
+    // GET WRITER STATS (sequence, group commits, queue depth)
+    @GetMapping
+    public ResponseEntity<JournalStats> getStats() {
+        return ResponseEntity.ok(bookingJournal.getStats());
+    }
+}
@@ -2,7 +2,10 @@ package com.epita.airlineapi.controller;
 
 import com.epita.airlineapi.dto.MilesRewardCreateDto;
 import com.epita.airlineapi.model.MilesReward;
+import com.epita.airlineapi.service.ApiClients;
+import com.epita.airlineapi.service.IdempotencyService;
 import com.epita.airlineapi.service.MilesRewardService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -17,12 +20,21 @@ import java.util.List;
 public class MilesRewardController {
 
     private final MilesRewardService milesRewardService;
+    private final IdempotencyService idempotencyService;
+    private final ApiClients apiClients;
 
     @PostMapping
-    public ResponseEntity<MilesReward> createReward(@Valid @RequestBody MilesRewardCreateDto createDto) {
-        // We pass the DTO to the service, which handles the ID -> Entity lookup
-        MilesReward createdReward = milesRewardService.createReward(createDto);
-        return new ResponseEntity<>(createdReward, HttpStatus.CREATED);
+    public ResponseEntity<MilesReward> createReward(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            HttpServletRequest httpRequest,
+            @Valid @RequestBody MilesRewardCreateDto createDto) {
+        // The DTO is a value object (@Data equals), so it doubles as the request fingerprint
+        String client = apiClients.identify(httpRequest);
+        return idempotencyService.execute("miles-rewards", client, idempotencyKey, createDto, () -> {
+            // We pass the DTO to the service, which handles the ID -> Entity lookup
+            MilesReward createdReward = milesRewardService.createReward(createDto);
+            return new ResponseEntity<>(createdReward, HttpStatus.CREATED);
+        });
     }
 
     @GetMapping
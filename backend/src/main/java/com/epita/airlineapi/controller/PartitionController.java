@@ -0,0 +1,33 @@
+package com.epita.airlineapi.controller;
+
+import com.epita.airlineapi.admin.AdminOnly;
+import com.epita.airlineapi.dto.PartitionInfo;
+import com.epita.airlineapi.service.PartitionService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/partitions")
+public class PartitionController {
+
+    private final PartitionService partitionService;
+
+    public PartitionController(PartitionService partitionService) {
+        this.partitionService = partitionService;
+    }
+
+    // GET ALL (attached and detached monthly partitions of flights and books)
+    @GetMapping
+    public ResponseEntity<List<PartitionInfo>> getPartitions() {
+        return ResponseEntity.ok(partitionService.getPartitions());
+    }
+
+    // RUN MAINTENANCE NOW (same job as the nightly schedule: DDL and exclusive locks on flights/books)
+    @AdminOnly
+    @PostMapping("/maintenance")
+    public ResponseEntity<List<PartitionInfo>> maintain() {
+        return ResponseEntity.ok(partitionService.maintain());
+    }
+}
@@ -0,0 +1,54 @@
+package com.epita.airlineapi.controller;
+
+import com.epita.airlineapi.admin.AdminOnly;
+import com.epita.airlineapi.dto.RateLimitConfig;
+import com.epita.airlineapi.service.EndpointGroup;
+import com.epita.airlineapi.service.RateLimitService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+// Runtime tuning of the rate limiter (no restart needed); changes need the admin key
+@RestController
+@RequestMapping("/api/v1/rate-limits")
+public class RateLimitController {
+
+    private final RateLimitService rateLimitService;
+
+    public RateLimitController(RateLimitService rateLimitService) {
+        this.rateLimitService = rateLimitService;
+    }
+
+    // GET ALL GROUP LIMITS
+    @GetMapping
+    public ResponseEntity<Map<EndpointGroup, RateLimitConfig>> getLimits() {
+        return ResponseEntity.ok(rateLimitService.getLimits());
+    }
+
+    // UPDATE ONE GROUP (search | booking | admin)
+    @AdminOnly
+    @PutMapping("/{group}")
+    public ResponseEntity<RateLimitConfig> updateLimit(@PathVariable String group,
+                                                       @Valid @RequestBody RateLimitConfig config) {
+        rateLimitService.updateLimit(parseGroup(group), config);
+        return ResponseEntity.ok(config);
+    }
+
+    // ENABLE / DISABLE
+    @AdminOnly
+    @PutMapping("/enabled")
+    public ResponseEntity<Void> setEnabled(@RequestParam boolean value) {
+        rateLimitService.setEnabled(value);
+        return ResponseEntity.noContent().build();
+    }
+
+    private EndpointGroup parseGroup(String group) {
+        try {
+            return EndpointGroup.valueOf(group.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown endpoint group " + group + ", expected search, booking or admin");
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.epita.airlineapi.controller;
+
+import com.epita.airlineapi.model.Airport;
+import com.epita.airlineapi.service.JsonFragmentCache;
+import com.epita.airlineapi.service.ReactiveFlightReader;
+import com.epita.airlineapi.sql.SqlBudget;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Non-blocking twins of GET /flights/{id}, /flights/search and /airports: the handlers return a Mono,
+// the servlet thread is released (async request) and the rows come through R2DBC (ReactiveFlightReader).
+// Same JSON as the blocking endpoints. No JDBC at all: a statement here means a fallback to JPA crept in.
+// contextCapture() hands the request's SqlStats to the pipeline (SqlStatsPropagation), so such a statement is
+// counted (SqlBudgetTests) even when it runs on another thread.
+@RestController
+@RequestMapping("/api/v1/reactive")
+@SqlBudget(statements = 0, rows = 0)
+public class ReactiveReadController {
+
+    private final ReactiveFlightReader reactiveFlightReader;
+    private final JsonFragmentCache jsonFragmentCache;
+
+    public ReactiveReadController(ReactiveFlightReader reactiveFlightReader, JsonFragmentCache jsonFragmentCache) {
+        this.reactiveFlightReader = reactiveFlightReader;
+        this.jsonFragmentCache = jsonFragmentCache;
+    }
+
+    // GET ONE FLIGHT (By ID)
+    @GetMapping("/flights/{flightId}")
+    public Mono<ResponseEntity<byte[]>> getFlightById(@PathVariable Long flightId) {
+        // NoSuchElementException -> 404 (GlobalExceptionHandler)
+        return Mono.defer(() -> {
+            long seen = jsonFragmentCache.epoch();
+            return reactiveFlightReader.getFlightById(flightId)
+                    .map(flight -> json(jsonFragmentCache.flight(flight, seen)));
+        }).contextCapture();
+    }
+
+    @GetMapping("/flights/search")
+    public Mono<ResponseEntity<byte[]>> searchFlights(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        return Mono.defer(() -> {
+            long seen = jsonFragmentCache.epoch();
+            return reactiveFlightReader.searchFlights(from, to, date)
+                    .map(flights -> json(jsonFragmentCache.flights(flights, seen)));
+        }).contextCapture();
+    }
+
+    // GET ALL AIRPORTS
+    @GetMapping("/airports")
+    public Mono<ResponseEntity<List<Airport>>> getAirports() {
+        return reactiveFlightReader.getAirports()
+                .map(airports -> airports.isEmpty()
+                        ? ResponseEntity.<List<Airport>>noContent().build()
+                        : ResponseEntity.ok(airports))
+                .contextCapture();
+    }
+
+    private static ResponseEntity<byte[]> json(byte[] body) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+}
@@ -0,0 +1,70 @@
+package com.epita.airlineapi.controller;
+
+import com.epita.airlineapi.admin.AdminOnly;
+import com.epita.airlineapi.dto.PlaneModelRevenue;
+import com.epita.airlineapi.dto.RouteSummary;
+import com.epita.airlineapi.model.FlightCabinStats;
+import com.epita.airlineapi.model.RouteDailyStats;
+import com.epita.airlineapi.service.ReportService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Reporting API. Every read endpoint reads the aggregate tables, never books.
+@RestController
+@RequestMapping("/api/v1/reports")
+public class ReportController {
+
+    private final ReportService reportService;
+
+    public ReportController(ReportService reportService) {
+        this.reportService = reportService;
+    }
+
+    // Bookings and revenue per cabin for one flight
+    @GetMapping("/flights/{flightId}")
+    public ResponseEntity<List<FlightCabinStats>> getFlightStats(@PathVariable Long flightId) {
+        List<FlightCabinStats> stats = reportService.getFlightStats(flightId);
+        if (stats.isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(stats);
+    }
+
+    // Daily rollup of a single route
+    @GetMapping("/routes/daily")
+    public ResponseEntity<List<RouteDailyStats>> getRouteDailyStats(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
+        return ResponseEntity.ok(reportService.getRouteDailyStats(from, to, start, end));
+    }
+
+    // Load factor and revenue per route over a period
+    @GetMapping("/routes")
+    public ResponseEntity<List<RouteSummary>> getRouteSummaries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
+        return ResponseEntity.ok(reportService.getRouteSummaries(start, end));
+    }
+
+    // Revenue per plane brand/model over a period
+    @GetMapping("/revenue/plane-models")
+    public ResponseEntity<List<PlaneModelRevenue>> getRevenueByPlaneModel(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
+        return ResponseEntity.ok(reportService.getRevenueByPlaneModel(start, end));
+    }
+
+    // Recompute aggregates from scratch (backfill of pre-existing bookings): rewrites both tables
+    @AdminOnly
+    @PostMapping("/rebuild")
+    public ResponseEntity<Void> rebuild() {
+        reportService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
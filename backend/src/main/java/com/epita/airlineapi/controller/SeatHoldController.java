@@ -0,0 +1,83 @@
+package com.epita.airlineapi.controller;
+
+import com.epita.airlineapi.dto.SeatAvailability;
+import com.epita.airlineapi.dto.SeatHold;
+import com.epita.airlineapi.dto.SeatHoldRequest;
+import com.epita.airlineapi.model.Book;
+import com.epita.airlineapi.service.ApiClients;
+import com.epita.airlineapi.service.BookService;
+import com.epita.airlineapi.service.IdempotencyService;
+import com.epita.airlineapi.service.SeatHoldService;
+import com.epita.airlineapi.sql.SqlBudget;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/flights/{flightId}")
+public class SeatHoldController {
+
+    private final SeatHoldService seatHoldService;
+    private final BookService bookService;
+    private final IdempotencyService idempotencyService;
+    private final ApiClients apiClients;
+
+    public SeatHoldController(SeatHoldService seatHoldService, BookService bookService,
+                              IdempotencyService idempotencyService, ApiClients apiClients) {
+        this.seatHoldService = seatHoldService;
+        this.bookService = bookService;
+        this.idempotencyService = idempotencyService;
+        this.apiClients = apiClients;
+    }
+
+    // GET AVAILABILITY (capacity, bookings, active holds)
+    @GetMapping("/availability")
+    @SqlBudget(statements = 3)
+    public ResponseEntity<SeatAvailability> getAvailability(@PathVariable Long flightId) {
+        return ResponseEntity.ok(seatHoldService.getAvailability(flightId));
+    }
+
+    // CREATE (takes a seat until confirmed, released or expired)
+    @PostMapping("/holds")
+    public ResponseEntity<SeatHold> createHold(
+            @PathVariable Long flightId,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            HttpServletRequest httpRequest,
+            @Valid @RequestBody SeatHoldRequest request) {
+        Object fingerprint = Arrays.asList(flightId, request.getClientId(), request.getTypeOfSeat(), request.getTtlSeconds());
+        String client = apiClients.identify(httpRequest);
+        return idempotencyService.execute("holds", client, idempotencyKey, fingerprint, () ->
+                ResponseEntity.status(HttpStatus.CREATED).body(seatHoldService.createHold(flightId, request)));
+    }
+
+    // GET ONE
+    @GetMapping("/holds/{holdId}")
+    public ResponseEntity<SeatHold> getHold(@PathVariable Long flightId, @PathVariable String holdId) {
+        // Expired or released holds -> NoSuchElementException -> 404
+        return ResponseEntity.ok(seatHoldService.getHold(flightId, holdId));
+    }
+
+    // CONFIRM (the hold becomes a booking)
+    @PostMapping("/holds/{holdId}/confirm")
+    public ResponseEntity<Book> confirmHold(
+            @PathVariable Long flightId,
+            @PathVariable String holdId,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            HttpServletRequest httpRequest) {
+        String client = apiClients.identify(httpRequest);
+        return idempotencyService.execute("hold-confirmations", client, idempotencyKey, List.of(flightId, holdId), () ->
+                ResponseEntity.status(HttpStatus.CREATED).body(bookService.confirmHold(flightId, holdId)));
+    }
+
+    // DELETE (release)
+    @DeleteMapping("/holds/{holdId}")
+    public ResponseEntity<Void> releaseHold(@PathVariable Long flightId, @PathVariable String holdId) {
+        seatHoldService.releaseHold(flightId, holdId);
+        return ResponseEntity.noContent().build();
+    }
+}
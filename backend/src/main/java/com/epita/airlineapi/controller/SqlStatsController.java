@@ -0,0 +1,34 @@
+package com.epita.airlineapi.controller;
+
+import com.epita.airlineapi.admin.AdminOnly;
+import com.epita.airlineapi.dto.EndpointSqlStats;
+import com.epita.airlineapi.service.SqlStatsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/sql-stats")
+public class SqlStatsController {
+
+    private final SqlStatsService sqlStatsService;
+
+    public SqlStatsController(SqlStatsService sqlStatsService) {
+        this.sqlStatsService = sqlStatsService;
+    }
+
+    // GET STATISTICS (statements and rows per endpoint, against its budget)
+    @GetMapping
+    public ResponseEntity<List<EndpointSqlStats>> getStats() {
+        return ResponseEntity.ok(sqlStatsService.getStats());
+    }
+
+    // RESET STATISTICS (start of a measurement; also clears the over-budget counts)
+    @AdminOnly
+    @DeleteMapping
+    public ResponseEntity<Void> resetStats() {
+        sqlStatsService.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
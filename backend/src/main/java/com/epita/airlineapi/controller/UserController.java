@@ -1,6 +1,9 @@
 package com.epita.airlineapi.controller;
 
+import com.epita.airlineapi.admin.AdminOnly;
+import com.epita.airlineapi.dto.UserTypeCounts;
 import com.epita.airlineapi.model.User;
+import com.epita.airlineapi.model.UserType;
 import com.epita.airlineapi.service.UserService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -18,10 +21,13 @@ public class UserController {
         this.userService = userService;
     }
 
-    // GET ALL
+    // GET ALL (optionally of one type: client, employee or admin, paged by id: pass the last userId as `after`)
     @GetMapping
-    public ResponseEntity<List<User>> getUsers() {
-        List<User> users = userService.getUsers();
+    public ResponseEntity<List<User>> getUsers(@RequestParam(required = false) String type,
+                                               @RequestParam(defaultValue = "0") long after,
+                                               @RequestParam(defaultValue = "100") int size) {
+        // Unknown type or bad size -> IllegalArgumentException -> GlobalHandler returns 400
+        List<User> users = type == null ? userService.getUsers() : userService.getUsers(UserType.from(type), after, size);
 
         if (users.isEmpty()) {
             return ResponseEntity.noContent().build();
@@ -30,6 +36,19 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    // COUNT PER TYPE
+    @GetMapping("/counts")
+    public ResponseEntity<UserTypeCounts> countUsersByType() {
+        return ResponseEntity.ok(userService.countUsersByType());
+    }
+
+    // EMAIL LOOKUP (admin only: open to anyone it would tell which addresses have an account)
+    @AdminOnly
+    @GetMapping("/email-exists")
+    public ResponseEntity<Boolean> emailExists(@RequestParam String email) {
+        return ResponseEntity.ok(userService.emailExists(email));
+    }
+
     // GET ONE
     @GetMapping("/{userId}")
     public ResponseEntity<User> getUserById(@PathVariable Long userId) {
@@ -0,0 +1,62 @@
+package com.epita.airlineapi.controller;
+
+import com.epita.airlineapi.admin.AdminOnly;
+import com.epita.airlineapi.dto.WaitlistPosition;
+import com.epita.airlineapi.dto.WaitlistRequest;
+import com.epita.airlineapi.service.WaitlistService;
+import com.epita.airlineapi.sql.SqlBudget;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/flights/{flightId}/waitlist")
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    public WaitlistController(WaitlistService waitlistService) {
+        this.waitlistService = waitlistService;
+    }
+
+    // GET ALL (queue order)
+    @GetMapping
+    @SqlBudget(statements = 2)
+    public ResponseEntity<List<WaitlistPosition>> getWaitlist(@PathVariable Long flightId) {
+        List<WaitlistPosition> waitlist = waitlistService.getWaitlist(flightId);
+        if (waitlist.isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(waitlist);
+    }
+
+    // GET ONE (404 once promoted: the client then has a booking)
+    @GetMapping("/{entryId}")
+    public ResponseEntity<WaitlistPosition> getEntry(@PathVariable Long flightId, @PathVariable Long entryId) {
+        return ResponseEntity.ok(waitlistService.getEntry(flightId, entryId));
+    }
+
+    // JOIN (400 while the flight still has free seats)
+    @PostMapping
+    public ResponseEntity<WaitlistPosition> join(@PathVariable Long flightId, @Valid @RequestBody WaitlistRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(waitlistService.join(flightId, request));
+    }
+
+    // LEAVE
+    @DeleteMapping("/{entryId}")
+    public ResponseEntity<Void> leave(@PathVariable Long flightId, @PathVariable Long entryId) {
+        waitlistService.leave(flightId, entryId);
+        return ResponseEntity.noContent().build();
+    }
+
+    // PROMOTE NOW (runs in the background, like the automatic promotions); operational trigger
+    @AdminOnly
+    @PostMapping("/promote")
+    public ResponseEntity<Void> promote(@PathVariable Long flightId) {
+        waitlistService.requestPromotion(flightId);
+        return ResponseEntity.accepted().build();
+    }
+}
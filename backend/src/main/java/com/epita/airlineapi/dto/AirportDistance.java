@@ -0,0 +1,13 @@
+package com.epita.airlineapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class AirportDistance {
+    private Long fromAirportId;
+    private Long toAirportId;
+    private double kilometers;
+    private long miles; // statute miles, rounded
+}
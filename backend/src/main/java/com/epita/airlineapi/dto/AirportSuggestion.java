@@ -0,0 +1,15 @@
+package com.epita.airlineapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class AirportSuggestion {
+    private Long airportId;
+    private String airportName;
+    private String airportCity;
+    private String airportCountry;
+    // CITY, NAME or COUNTRY: which field the prefix matched
+    private String matchedField;
+}
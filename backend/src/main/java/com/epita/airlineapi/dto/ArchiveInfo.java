@@ -0,0 +1,15 @@
+package com.epita.airlineapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ArchiveInfo {
+    private String month;       // yyyy-MM of the departure dates
+    private String file;
+    private int flights;
+    private int bookings;
+    private int milesRewards;
+    private long sizeBytes;
+}
@@ -0,0 +1,21 @@
+package com.epita.airlineapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BulkheadStats {
+    private String group;
+    private int maxConcurrent;
+    private int maxQueue;
+    private int active;
+    private int queued;
+    private long completed;
+    private long rejected;
+    // Connection sub-pool of the same workload
+    private int poolSize;
+    private int activeConnections;
+    private int idleConnections;
+    private int threadsAwaitingConnection;
+}
@@ -0,0 +1,26 @@
+package com.epita.airlineapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class CacheStats {
+    // JDBC statements prepared since startup (or last reset); diff two snapshots to get statements per request
+    private long prepareStatementCount;
+    private long queryCacheHitCount;
+    private long queryCacheMissCount;
+    private long secondLevelCacheHitCount;
+    private long secondLevelCacheMissCount;
+    private List<CacheRegionStats> regions;
+    // In-process flight search result cache
+    private long searchCacheHitCount;
+    private long searchCacheMissCount;
+    private long searchCacheSize;
+    // Pre-encoded flight JSON (GET /flights/{id}, /flights/search)
+    private long jsonCacheHitCount;
+    private long jsonCacheMissCount;
+    private long jsonCacheSize;
+}
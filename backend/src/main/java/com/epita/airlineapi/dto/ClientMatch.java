@@ -0,0 +1,11 @@
+package com.epita.airlineapi.dto;
+
+// Projection: one ranked hit of the client search (score = trigram word similarity, 0..1)
+public interface ClientMatch {
+    Long getUserId();
+    String getFirstName();
+    String getLastName();
+    String getEmail();
+    String getPassportNumber();
+    Double getScore();
+}
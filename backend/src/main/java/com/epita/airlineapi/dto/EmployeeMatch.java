@@ -0,0 +1,12 @@
+package com.epita.airlineapi.dto;
+
+// Projection: one ranked hit of the employee search (score = trigram word similarity, 0..1)
+public interface EmployeeMatch {
+    Long getUserId();
+    String getFirstName();
+    String getLastName();
+    String getEmail();
+    Long getEmployeeNumber();
+    String getProfession();
+    Double getScore();
+}
@@ -0,0 +1,18 @@
+package com.epita.airlineapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class EndpointSqlStats {
+    private String endpoint;          // "GET /api/v1/flights/{flightId}"
+    private long requests;
+    private double averageStatements;
+    private int maxStatements;
+    private double averageRows;
+    private long maxRows;
+    private int statementBudget;
+    private long rowBudget;
+    private long overBudget;          // requests that exceeded either budget
+}
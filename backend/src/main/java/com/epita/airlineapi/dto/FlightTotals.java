@@ -0,0 +1,9 @@
+package com.epita.airlineapi.dto;
+
+import java.math.BigDecimal;
+
+// Projection: summed cabin stats of a single flight
+public interface FlightTotals {
+    Long getBookings();
+    BigDecimal getRevenue();
+}
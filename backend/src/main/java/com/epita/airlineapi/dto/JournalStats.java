@@ -0,0 +1,17 @@
+package com.epita.airlineapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class JournalStats {
+    private String directory;
+    private String currentSegment;  // null until the first event since startup
+    private long lastSequence;
+    private long appended;          // events written since startup
+    private long batches;           // group commits since startup
+    private int largestBatch;
+    private int queueDepth;         // events waiting for the writer thread
+    private boolean started;
+}
@@ -0,0 +1,17 @@
+package com.epita.airlineapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+public class PartitionInfo {
+    private String parentTable;
+    private String partition;
+    private LocalDate fromDate;   // inclusive
+    private LocalDate toDate;     // exclusive
+    private long estimatedRows;   // planner estimate (pg_class.reltuples), -1 if never analyzed
+    private boolean attached;     // false once detached by retention (table kept for archiving)
+}
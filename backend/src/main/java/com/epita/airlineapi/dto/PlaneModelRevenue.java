@@ -0,0 +1,11 @@
+package com.epita.airlineapi.dto;
+
+import java.math.BigDecimal;
+
+// Projection: flight_cabin_stats grouped by the plane operating the flight
+public interface PlaneModelRevenue {
+    String getPlaneBrand();
+    String getPlaneModel();
+    Long getBookings();
+    BigDecimal getRevenue();
+}
@@ -0,0 +1,14 @@
+package com.epita.airlineapi.dto;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+// PlaneModelRevenue computed in Java (archived months), merged with the database projection
+@Value
+public class PlaneModelRevenueRow implements PlaneModelRevenue {
+    String planeBrand;
+    String planeModel;
+    Long bookings;
+    BigDecimal revenue;
+}
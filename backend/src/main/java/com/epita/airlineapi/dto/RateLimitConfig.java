@@ -0,0 +1,22 @@
+package com.epita.airlineapi.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitConfig {
+    @NotNull(message = "requestsPerSecond is required")
+    @Min(value = 1, message = "requestsPerSecond must be at least 1")
+    @Max(value = 1_000_000, message = "requestsPerSecond must be at most 1000000")
+    private Integer requestsPerSecond;
+
+    @NotNull(message = "burst is required")
+    @Min(value = 1, message = "burst must be at least 1")
+    private Integer burst;
+}
@@ -0,0 +1,14 @@
+package com.epita.airlineapi.dto;
+
+import java.math.BigDecimal;
+
+// Projection: route_daily_stats rolled up over a date range
+public interface RouteSummary {
+    String getDepartureCity();
+    String getArrivalCity();
+    Long getFlights();
+    Long getSeatCapacity();
+    Long getBookings();
+    BigDecimal getRevenue();
+    Double getLoadFactor();
+}
@@ -0,0 +1,14 @@
+package com.epita.airlineapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SeatAvailability {
+    private Long flightId;
+    private int capacity;
+    private long booked;
+    private int held;       // active seat holds, not yet confirmed or expired
+    private long available; // capacity - booked - held
+}
@@ -0,0 +1,16 @@
+package com.epita.airlineapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+public class SeatHold {
+    private String holdId;
+    private Long flightId;
+    private Long clientId;
+    private String typeOfSeat;
+    private Instant expiresAt;
+}
@@ -0,0 +1,16 @@
+package com.epita.airlineapi.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class SeatHoldRequest {
+    @NotNull(message = "clientId is required")
+    private Long clientId;
+
+    @NotBlank(message = "typeOfSeat is required")
+    private String typeOfSeat;
+
+    private Integer ttlSeconds; // optional, airline.holds.default-ttl when absent, capped at airline.holds.max-ttl
+}
@@ -0,0 +1,9 @@
+package com.epita.airlineapi.dto;
+
+// Projection: number of users per concrete type
+public interface UserTypeCounts {
+    Long getTotal();
+    Long getClients();
+    Long getEmployees();
+    Long getAdmins();
+}
@@ -0,0 +1,17 @@
+package com.epita.airlineapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+public class WaitlistPosition {
+    private Long entryId;
+    private Long flightId;
+    private Long clientId;
+    private String typeOfSeat;
+    private Instant createdAt;
+    private long position; // 1 = next to be promoted
+}
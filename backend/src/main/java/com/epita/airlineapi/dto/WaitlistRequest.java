@@ -0,0 +1,14 @@
+package com.epita.airlineapi.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class WaitlistRequest {
+    @NotNull(message = "clientId is required")
+    private Long clientId;
+
+    @NotBlank(message = "typeOfSeat is required")
+    private String typeOfSeat;
+}
@@ -0,0 +1,18 @@
+package com.epita.airlineapi.exception;
+
+import org.springframework.http.HttpStatus;
+
+// Rejected call to an @AdminOnly endpoint: 401 for a missing or wrong key, 403 when admin access is disabled
+public class AdminAccessException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    public AdminAccessException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
@@ -1,19 +1,37 @@
 package com.epita.airlineapi.exception;
 
+import io.r2dbc.spi.R2dbcTimeoutException;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolationException;
+import org.postgresql.util.PSQLException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import reactor.pool.PoolAcquirePendingLimitException;
 
+import java.util.Locale;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 // "Safety Net." It listens for the specific exceptions our services will throw.
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    // Unique constraints the services rely on instead of exists... pre-checks
+    private static final Map<String, String> CONSTRAINT_MESSAGES = Map.of(
+            "uk_users_email", "Email is already in use",
+            "uk_clients_passport_number", "Passport number already exists",
+            "uk_employees_employee_number", "Employee number already exists",
+            "uk_flights_number_date", "Flight number already exists on that date"
+    );
+    // PostgreSQL's detail of a unique violation: "Key (email)=(jane@example.com) already exists."
+    private static final Pattern DUPLICATE_KEY = Pattern.compile("Key \\((.+)\\)=\\((.*)\\) already exists");
+
     // HANDLE 404 (Not Found)
     // Catches "NoSuchElementException" thrown by service
     @ExceptionHandler({NoSuchElementException.class, EntityNotFoundException.class})
@@ -36,6 +54,36 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    // HANDLE 400 for constraint violations raised by the database (duplicates)
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        String message = "Request conflicts with existing data";
+
+        // Walk the cause chain to Hibernate's exception, which carries the violated constraint name,
+        // then to the driver's, whose detail carries the duplicate value
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof org.hibernate.exception.ConstraintViolationException violation
+                    && violation.getConstraintName() != null) {
+                message = CONSTRAINT_MESSAGES.getOrDefault(
+                        violation.getConstraintName().toLowerCase(Locale.ROOT), message);
+            }
+            if (cause instanceof PSQLException psql && psql.getServerErrorMessage() != null
+                    && psql.getServerErrorMessage().getDetail() != null) {
+                Matcher key = DUPLICATE_KEY.matcher(psql.getServerErrorMessage().getDetail());
+                if (key.find()) {
+                    message = message + ": " + key.group(2);
+                }
+                break;
+            }
+        }
+
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                message
+        );
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationError(MethodArgumentNotValidException ex) {
         String message = ex.getBindingResult().getFieldError() != null
@@ -48,4 +96,22 @@ public class GlobalExceptionHandler {
         );
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
+
+    // HANDLE 401/403 from @AdminOnly endpoints (AdminKeyInterceptor)
+    @ExceptionHandler(AdminAccessException.class)
+    public ResponseEntity<ErrorResponse> handleAdminAccess(AdminAccessException ex) {
+        ErrorResponse error = new ErrorResponse(ex.getStatus().value(), ex.getMessage());
+        return new ResponseEntity<>(error, ex.getStatus());
+    }
+
+    // HANDLE 503 when the reactive read path is saturated: R2DBC pool waiting room full
+    // (airline.reactive.max-pending) or no connection within airline.reactive.max-acquire-time
+    @ExceptionHandler({PoolAcquirePendingLimitException.class, R2dbcTimeoutException.class})
+    public ResponseEntity<ErrorResponse> handleReactivePoolExhausted(RuntimeException ex) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "search capacity exhausted, retry shortly"
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(error);
+    }
 }
@@ -0,0 +1,61 @@
+package com.epita.airlineapi.filter;
+
+import com.epita.airlineapi.config.WorkloadContext;
+import com.epita.airlineapi.service.BulkheadService;
+import com.epita.airlineapi.service.EndpointGroup;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+// Runs after RateLimitFilter: admits the request into its workload's bulkhead and
+// tags the thread so the routing DataSource hands out a connection from the matching sub-pool.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private final BulkheadService bulkheadService;
+
+    public BulkheadFilter(BulkheadService bulkheadService) {
+        this.bulkheadService = bulkheadService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // The reactive read path is async: a permit would be released as soon as the handler returns its Mono.
+        // Its concurrency is bounded by the R2DBC pool's waiting room instead (ReactiveDataSourceConfig).
+        return !request.getRequestURI().startsWith("/api/") || request.getRequestURI().startsWith("/api/v1/reactive/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EndpointGroup group = EndpointGroup.classify(request.getMethod(), request.getRequestURI());
+
+        if (!bulkheadService.tryEnter(group)) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"status\":503,\"message\":\"" + group.name().toLowerCase()
+                    + " capacity exhausted, retry shortly\",\"timestamp\":\"" + LocalDateTime.now() + "\"}");
+            return;
+        }
+
+        WorkloadContext.set(group);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            WorkloadContext.clear();
+            bulkheadService.release(group);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.epita.airlineapi.filter;
+
+import com.epita.airlineapi.service.ApiClients;
+import com.epita.airlineapi.service.EndpointGroup;
+import com.epita.airlineapi.service.RateLimitService;
+import com.epita.airlineapi.service.RateLimitService.Decision;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Admission control in front of every /api controller: rejects with 429 before
+// the request can take a Tomcat worker into the service layer or a Hikari connection.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitService rateLimitService;
+    private final ApiClients apiClients;
+
+    public RateLimitFilter(RateLimitService rateLimitService, ApiClients apiClients) {
+        this.rateLimitService = rateLimitService;
+        this.apiClients = apiClients;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !rateLimitService.isEnabled() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EndpointGroup group = EndpointGroup.classify(request.getMethod(), request.getRequestURI());
+        Decision decision = rateLimitService.tryAcquire(group, apiClients.identify(request));
+
+        response.setHeader("X-RateLimit-Limit", String.valueOf(decision.limit()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(decision.remaining()));
+
+        if (decision.allowed()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfterSeconds = Math.max(1, (long) Math.ceil(decision.retryAfterNanos() / (double) TimeUnit.SECONDS.toNanos(1)));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        // Same shape as ErrorResponse; written by hand since we are outside the MVC pipeline
+        response.getWriter().write("{\"status\":429,\"message\":\"Rate limit exceeded, retry after "
+                + retryAfterSeconds + "s\",\"timestamp\":\"" + LocalDateTime.now() + "\"}");
+    }
+}
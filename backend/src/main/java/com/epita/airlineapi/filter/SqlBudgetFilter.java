@@ -0,0 +1,222 @@
+package com.epita.airlineapi.filter;
+
+import com.epita.airlineapi.service.SqlStatsService;
+import com.epita.airlineapi.sql.SqlBudget;
+import com.epita.airlineapi.sql.SqlStats;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+
+// Counts the SQL statements and rows of every /api request (SqlStats), outermost so the open-in-view
+// lazy loads during JSON serialization are included.
+// - X-SQL-Statements / X-SQL-Rows response headers, written just before the response is committed
+//   (for bodies larger than the response buffer, the counts at that point);
+// - async requests (reactive handlers) are recorded when they complete, with the statements their pipeline ran on
+//   other threads (SqlStatsPropagation);
+// - per-endpoint totals in SqlStatsService (/api/v1/sql-stats);
+// - a warning when the endpoint's @SqlBudget (or the default budget) is exceeded.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String ROWS_HEADER = "X-SQL-Rows";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlBudgetFilter.class);
+
+    private final SqlStatsService sqlStatsService;
+    private final boolean enabled;
+    private final int defaultStatements;
+    private final long defaultRows;
+
+    public SqlBudgetFilter(SqlStatsService sqlStatsService,
+                           @Value("${airline.sql-budget.enabled:true}") boolean enabled,
+                           @Value("${airline.sql-budget.default-statements:10}") int defaultStatements,
+                           @Value("${airline.sql-budget.default-rows:10000}") long defaultRows) {
+        this.sqlStatsService = sqlStatsService;
+        this.enabled = enabled;
+        this.defaultStatements = defaultStatements;
+        this.defaultRows = defaultRows;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStats stats = SqlStats.start();
+        CountingResponse countingResponse = new CountingResponse(response, stats);
+        try {
+            chain.doFilter(request, countingResponse);
+        } finally {
+            SqlStats.stop();
+            if (request.isAsyncStarted()) {
+                // Reactive handlers (and streamed bodies) finish on other threads: recorded when the request completes,
+                // headers written at the first flush as usual
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        countingResponse.writeHeaders();
+                        record(request, stats);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                countingResponse.writeHeaders();
+                record(request, stats);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : "(unmapped)");
+        SqlBudget budget = budgetOf(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE));
+        int statementBudget = budget != null ? budget.statements() : defaultStatements;
+        long rowBudget = budget != null ? budget.rows() : defaultRows;
+
+        sqlStatsService.record(endpoint, stats.getStatements(), stats.getRows(), statementBudget, rowBudget);
+        if (stats.getStatements() > statementBudget || stats.getRows() > rowBudget) {
+            Map.Entry<String, Integer> repeated = stats.getMostRepeated();
+            log.warn("SQL budget exceeded by {} {}: {} statements / {} rows (budget {} / {}); most repeated ({}x): {}",
+                    endpoint, request.getQueryString() != null ? "?" + request.getQueryString() : "",
+                    stats.getStatements(), stats.getRows(), statementBudget, rowBudget,
+                    repeated != null ? repeated.getValue() : 0, repeated != null ? repeated.getKey() : "-");
+        }
+    }
+
+    static SqlBudget budgetOf(Object handler) {
+        if (!(handler instanceof HandlerMethod method)) {
+            return null;
+        }
+        SqlBudget budget = method.getMethodAnnotation(SqlBudget.class);
+        return budget != null ? budget : method.getBeanType().getAnnotation(SqlBudget.class);
+    }
+
+    // Adds the headers at the first flush (the message converters flush once the body is written) or at the end
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+
+        private final SqlStats stats;
+        private boolean headersWritten;
+
+        private CountingResponse(HttpServletResponse response, SqlStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        private void writeHeaders() {
+            if (headersWritten || isCommitted()) {
+                return;
+            }
+            headersWritten = true;
+            setHeader(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+            setHeader(ROWS_HEADER, String.valueOf(stats.getRows()));
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int status, String message) throws IOException {
+            writeHeaders();
+            super.sendError(status, message);
+        }
+
+        @Override
+        public void sendError(int status) throws IOException {
+            writeHeaders();
+            super.sendError(status);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            ServletOutputStream out = super.getOutputStream();
+            return new ServletOutputStream() {
+                @Override
+                public boolean isReady() {
+                    return out.isReady();
+                }
+
+                @Override
+                public void setWriteListener(WriteListener listener) {
+                    out.setWriteListener(listener);
+                }
+
+                @Override
+                public void write(int b) throws IOException {
+                    out.write(b);
+                }
+
+                @Override
+                public void write(byte[] bytes, int offset, int length) throws IOException {
+                    out.write(bytes, offset, length);
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    writeHeaders();
+                    out.flush();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    writeHeaders();
+                    out.close();
+                }
+            };
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            return new PrintWriter(super.getWriter()) {
+                @Override
+                public void flush() {
+                    writeHeaders();
+                    super.flush();
+                }
+
+                @Override
+                public void close() {
+                    writeHeaders();
+                    super.close();
+                }
+            };
+        }
+    }
+}
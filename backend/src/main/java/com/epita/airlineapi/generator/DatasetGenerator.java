@@ -0,0 +1,355 @@
+package com.epita.airlineapi.generator;
+
+import com.epita.airlineapi.service.CacheService;
+import com.epita.airlineapi.service.PartitionService;
+import com.epita.airlineapi.service.ReportService;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.SplittableRandom;
+
+// Synthetic dataset for scale testing, bulk loaded with COPY.
+// Run: java -jar airline-api.jar --spring.profiles.active=generate --airline.generator.clients=1000000
+// Volumes are configured in application-generate.properties; rows are appended after existing ids.
+@Component
+@Profile("generate")
+public class DatasetGenerator implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    private static final String[][] CITIES = {
+            {"Paris", "France"}, {"London", "UK"}, {"New York", "USA"}, {"Tokyo", "Japan"}, {"Dubai", "UAE"},
+            {"Singapore", "Singapore"}, {"Frankfurt", "Germany"}, {"Amsterdam", "Netherlands"}, {"Madrid", "Spain"},
+            {"Rome", "Italy"}, {"Istanbul", "Turkey"}, {"Los Angeles", "USA"}, {"Chicago", "USA"}, {"Atlanta", "USA"},
+            {"Hong Kong", "China"}, {"Shanghai", "China"}, {"Beijing", "China"}, {"Seoul", "South Korea"},
+            {"Bangkok", "Thailand"}, {"Sydney", "Australia"}, {"Toronto", "Canada"}, {"Sao Paulo", "Brazil"},
+            {"Mexico City", "Mexico"}, {"Johannesburg", "South Africa"}, {"Cairo", "Egypt"}, {"Mumbai", "India"},
+            {"Delhi", "India"}, {"Doha", "Qatar"}, {"Zurich", "Switzerland"}, {"Vienna", "Austria"},
+            {"Lisbon", "Portugal"}, {"Dublin", "Ireland"}, {"Copenhagen", "Denmark"}, {"Stockholm", "Sweden"},
+            {"Oslo", "Norway"}, {"Helsinki", "Finland"}, {"Warsaw", "Poland"}, {"Prague", "Czechia"},
+            {"Athens", "Greece"}, {"Nice", "France"}, {"Lyon", "France"}, {"Barcelona", "Spain"}
+    };
+    // Airport latitude/longitude of each CITIES entry, same order
+    private static final double[][] CITY_COORDINATES = {
+            {49.0097, 2.5479}, {51.4700, -0.4543}, {40.6413, -73.7781}, {35.5494, 139.7798}, {25.2532, 55.3657},
+            {1.3644, 103.9915}, {50.0379, 8.5622}, {52.3105, 4.7683}, {40.4983, -3.5676},
+            {41.8003, 12.2389}, {41.2753, 28.7519}, {33.9416, -118.4085}, {41.9742, -87.9073}, {33.6407, -84.4277},
+            {22.3080, 113.9185}, {31.1443, 121.8083}, {40.0799, 116.6031}, {37.4602, 126.4407},
+            {13.6900, 100.7501}, {-33.9399, 151.1753}, {43.6777, -79.6248}, {-23.4356, -46.4731},
+            {19.4361, -99.0719}, {-26.1367, 28.2411}, {30.1219, 31.4056}, {19.0896, 72.8656},
+            {28.5562, 77.1000}, {25.2731, 51.6081}, {47.4582, 8.5555}, {48.1103, 16.5697},
+            {38.7742, -9.1342}, {53.4264, -6.2499}, {55.6180, 12.6508}, {59.6498, 17.9238},
+            {60.1976, 11.1004}, {60.3172, 24.9633}, {52.1657, 20.9671}, {50.1008, 14.2600},
+            {37.9364, 23.9445}, {43.6584, 7.2159}, {45.7256, 5.0811}, {41.2974, 2.0833}
+    };
+    private static final String[] FIRST_NAMES = {"Emma", "Liam", "Olivia", "Noah", "Ava", "Lucas", "Mia", "Hugo",
+            "Chloe", "Leo", "Sofia", "Adam", "Lea", "Yuki", "Min-jun", "Aisha", "Omar", "Ines", "Mateo", "Nina"};
+    private static final String[] LAST_NAMES = {"Martin", "Smith", "Kim", "Garcia", "Muller", "Rossi", "Tanaka",
+            "Dubois", "Silva", "Nguyen", "Khan", "Lopez", "Bernard", "Park", "Novak", "Jensen", "Cohen", "Ali"};
+    private static final String[] PROFESSIONS = {"Pilot", "Flight Attendant", "Ground Agent", "Engineer", "Dispatcher"};
+    // brand, model, seats
+    private static final Object[][] FLEET = {
+            {"Airbus", "A320", 180}, {"Boeing", "737", 180}, {"Boeing", "787", 250},
+            {"Boeing", "777", 300}, {"Airbus", "A350", 320}, {"Airbus", "A380", 500}
+    };
+
+    private final DataSource dataSource;
+    private final ReportService reportService;
+    private final CacheService cacheService;
+    private final PartitionService partitionService;
+
+    @Value("${airline.generator.seed:42}") private long seed;
+    @Value("${airline.generator.airports:2000}") private int airportCount;
+    @Value("${airline.generator.planes:200}") private int planeCount;
+    @Value("${airline.generator.routes:10000}") private int routeCount;
+    @Value("${airline.generator.start-date:2025-01-01}") private LocalDate startDate;
+    @Value("${airline.generator.days:365}") private int days;
+    @Value("${airline.generator.flights-per-day:500}") private int flightsPerDay;
+    @Value("${airline.generator.clients:100000}") private int clientCount;
+    @Value("${airline.generator.employees:1000}") private int employeeCount;
+    @Value("${airline.generator.admins:50}") private int adminCount;
+    @Value("${airline.generator.bookings:5000000}") private long bookingTarget;
+    @Value("${airline.generator.rewards-ratio:0.3}") private double rewardsRatio;
+    @Value("${airline.generator.business-ratio:0.15}") private double businessRatio;
+    @Value("${airline.generator.skew:1.1}") private double skew;
+
+    public DatasetGenerator(DataSource dataSource, ReportService reportService, CacheService cacheService,
+                            PartitionService partitionService) {
+        this.dataSource = dataSource;
+        this.reportService = reportService;
+        this.cacheService = cacheService;
+        this.partitionService = partitionService;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        SplittableRandom random = new SplittableRandom(seed);
+        long started = System.nanoTime();
+
+        // COPY into a partitioned table fails on a month without partition: create them all up front
+        partitionService.initialize();
+        partitionService.ensureRange(YearMonth.from(startDate), YearMonth.from(startDate.plusDays(Math.max(days - 1, 0))));
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+            try {
+                long airportBase = maxId(connection, "airports", "airport_id");
+                long planeBase = maxId(connection, "planes", "plane_id");
+                long flightBase = maxId(connection, "flights", "flight_id");
+                long userBase = maxId(connection, "users", "user_id");
+
+                int[] planeSeats = generatePlanes(copy, planeBase, random);
+                generateAirports(copy, airportBase);
+                FlightPlan plan = generateFlights(copy, airportBase, planeBase, flightBase, planeSeats, random);
+                generateClients(copy, userBase, random);
+                generateStaff(copy, userBase + clientCount, random);
+                generateBookingsAndRewards(connection, copy, plan, flightBase, userBase, random);
+
+                for (String[] table : new String[][]{{"airports", "airport_id"}, {"planes", "plane_id"},
+                        {"flights", "flight_id"}, {"users", "user_id"}, {"books", "reservation_id"},
+                        {"miles_reward", "id_reward"}}) {
+                    resetIdentity(connection, table[0], table[1]);
+                }
+                connection.commit();
+            } catch (Exception ex) {
+                connection.rollback();
+                throw ex;
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                connection.setAutoCommit(true);
+                statement.execute("ANALYZE");
+            }
+        }
+
+        // Derived state: aggregates are rebuilt in one set-based pass (archived months keep theirs), caches dropped
+        reportService.rebuild();
+        cacheService.evictAll();
+        log.info("Dataset generated in {} s", (System.nanoTime() - started) / 1_000_000_000L);
+    }
+
+    private int[] generatePlanes(CopyManager copy, long base, SplittableRandom random) throws SQLException {
+        int[] seats = new int[planeCount];
+        try (CopyWriter planes = new CopyWriter(copy, "planes", "plane_id, plane_brand, plane_model, manufacturing_year")) {
+            for (int i = 0; i < planeCount; i++) {
+                Object[] type = FLEET[random.nextInt(FLEET.length)];
+                seats[i] = (Integer) type[2];
+                planes.row(base + i + 1, type[0], type[1], 2000 + random.nextInt(26));
+            }
+        }
+        log.info("planes: {}", planeCount);
+        return seats;
+    }
+
+    private void generateAirports(CopyManager copy, long base) throws SQLException {
+        try (CopyWriter airports = new CopyWriter(copy, "airports",
+                "airport_id, airport_name, airport_country, airport_city, latitude, longitude")) {
+            for (int i = 0; i < airportCount; i++) {
+                String cityName = cityOf(i);
+                double[] origin = CITY_COORDINATES[i % CITIES.length];
+                // "Paris 3" lies within about a degree of Paris: nearby, distinct, deterministic
+                int generation = i / CITIES.length;
+                double offset = generation == 0 ? 0 : ((generation * 37) % 21 - 10) * 0.1;
+                airports.row(base + i + 1, cityName + " International", CITIES[i % CITIES.length][1], cityName,
+                        Math.max(-90, Math.min(90, origin[0] + offset)), origin[1] + offset);
+            }
+        }
+        log.info("airports: {}", airportCount);
+    }
+
+    // Flight attributes kept in primitive arrays for the booking pass (millions of flights fit easily)
+    private record FlightPlan(int count, int[] seats, int[] routeRank, int[] epochDay,
+                              BigDecimal[] businessPrice, BigDecimal[] economyPrice) {}
+
+    private FlightPlan generateFlights(CopyManager copy, long airportBase, long planeBase, long flightBase,
+                                       int[] planeSeats, SplittableRandom random) throws SQLException {
+        // Routes between Zipf-distributed hubs; route index doubles as popularity rank
+        ZipfSampler hubs = new ZipfSampler(airportCount, skew);
+        int[] routeFrom = new int[routeCount];
+        int[] routeTo = new int[routeCount];
+        for (int r = 0; r < routeCount; r++) {
+            routeFrom[r] = hubs.sample(random);
+            do {
+                routeTo[r] = hubs.sample(random);
+            } while (routeTo[r] == routeFrom[r]);
+        }
+
+        ZipfSampler routes = new ZipfSampler(routeCount, skew);
+        int count = days * flightsPerDay;
+        int[] seats = new int[count];
+        int[] routeRank = new int[count];
+        int[] epochDay = new int[count];
+        BigDecimal[] businessPrice = new BigDecimal[count];
+        BigDecimal[] economyPrice = new BigDecimal[count];
+
+        try (CopyWriter flights = new CopyWriter(copy, "flights",
+                "flight_id, flight_number, departure_city, arrival_city, departure_date, arrival_date, "
+                        + "departure_airport_id, arrival_airport_id, plane_id, number_of_seats, business_price, economy_price")) {
+            int f = 0;
+            for (int day = 0; day < days; day++) {
+                LocalDate date = startDate.plusDays(day);
+                for (int j = 0; j < flightsPerDay; j++, f++) {
+                    int route = routes.sample(random);
+                    int plane = random.nextInt(planeCount);
+                    int from = routeFrom[route];
+                    int to = routeTo[route];
+                    boolean overnight = random.nextDouble() < 0.3;
+                    BigDecimal economy = BigDecimal.valueOf(80 + random.nextInt(1200));
+                    BigDecimal business = economy.multiply(BigDecimal.valueOf(2.5 + random.nextDouble()))
+                            .setScale(2, RoundingMode.HALF_UP);
+
+                    seats[f] = planeSeats[plane];
+                    routeRank[f] = route;
+                    epochDay[f] = (int) date.toEpochDay();
+                    businessPrice[f] = business;
+                    economyPrice[f] = economy;
+
+                    flights.row(flightBase + f + 1, "GN-" + (flightBase + f + 1),
+                            cityOf(from), cityOf(to), date, overnight ? date.plusDays(1) : date,
+                            airportBase + from + 1, airportBase + to + 1, planeBase + plane + 1,
+                            seats[f], business, economy);
+                }
+            }
+        }
+        log.info("flights: {}", count);
+        return new FlightPlan(count, seats, routeRank, epochDay, businessPrice, economyPrice);
+    }
+
+    private void generateClients(CopyManager copy, long userBase, SplittableRandom random) throws SQLException {
+        // JOINED inheritance: users rows first, then clients rows with the same id
+        try (CopyWriter users = new CopyWriter(copy, "users",
+                "user_id, first_name, last_name, address, email, phone_number, birth_date")) {
+            for (int i = 0; i < clientCount; i++) {
+                long id = userBase + i + 1;
+                users.row(id, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)], LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                        (1 + random.nextInt(200)) + " Generated Street", "client" + id + "@example.test",
+                        "+33" + (600000000 + random.nextInt(99999999)),
+                        LocalDate.of(1940 + random.nextInt(65), 1 + random.nextInt(12), 1 + random.nextInt(28)));
+            }
+        }
+        try (CopyWriter clients = new CopyWriter(copy, "clients", "user_id, passport_number, discount_code")) {
+            for (int i = 0; i < clientCount; i++) {
+                long id = userBase + i + 1;
+                clients.row(id, "GP" + id, null);
+            }
+        }
+        log.info("clients: {}", clientCount);
+    }
+
+    // Employees, then admins (users rows without a child row), so every UserType is represented
+    private void generateStaff(CopyManager copy, long base, SplittableRandom random) throws SQLException {
+        try (CopyWriter users = new CopyWriter(copy, "users",
+                "user_id, first_name, last_name, address, email, phone_number, birth_date")) {
+            for (int i = 0; i < employeeCount + adminCount; i++) {
+                long id = base + i + 1;
+                users.row(id, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)], LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                        (1 + random.nextInt(200)) + " Generated Street",
+                        (i < employeeCount ? "employee" : "admin") + id + "@example.test",
+                        "+33" + (600000000 + random.nextInt(99999999)),
+                        LocalDate.of(1950 + random.nextInt(55), 1 + random.nextInt(12), 1 + random.nextInt(28)));
+            }
+        }
+        try (CopyWriter employees = new CopyWriter(copy, "employees", "user_id, employee_number, profession, title")) {
+            for (int i = 0; i < employeeCount; i++) {
+                long id = base + i + 1;
+                employees.row(id, id, PROFESSIONS[random.nextInt(PROFESSIONS.length)], "Generated");
+            }
+        }
+        log.info("employees: {}, admins: {}", employeeCount, adminCount);
+    }
+
+    private void generateBookingsAndRewards(Connection connection, CopyManager copy, FlightPlan plan,
+                                            long flightBase, long userBase, SplittableRandom random) throws SQLException {
+        // Raw demand: popular routes fill up, the long tail stays mostly empty
+        ZipfSampler routes = new ZipfSampler(routeCount, skew);
+        double[] demand = new double[plan.count()];
+        double total = 0;
+        for (int f = 0; f < plan.count(); f++) {
+            double popularity = Math.min(1.0, routes.weight(plan.routeRank()[f]) * routeCount * 0.5);
+            demand[f] = plan.seats()[f] * popularity * (0.5 + random.nextDouble());
+            total += demand[f];
+        }
+        double scale = total == 0 ? 0 : bookingTarget / total;
+
+        long bookingBase = maxId(connection, "books", "reservation_id");
+        long rewardBase = maxId(connection, "miles_reward", "id_reward");
+        long bookingId = bookingBase;
+        long rewardId = rewardBase;
+        long stride = coprimeStride(clientCount, random);
+
+        try (CopyWriter books = new CopyWriter(copy, "books", "reservation_id, flight_id, departure_date, client_id, type_of_seat, price_paid");
+             CopyWriter rewards = new CopyWriter(copy, "miles_reward", "id_reward, client_id, flight_id, reward_date")) {
+            for (int f = 0; f < plan.count(); f++) {
+                int booked = (int) Math.min(Math.min(plan.seats()[f], clientCount), Math.round(demand[f] * scale));
+                long flightId = flightBase + f + 1;
+                LocalDate date = LocalDate.ofEpochDay(plan.epochDay()[f]);
+                // start + k*stride (mod n) with gcd(stride, n) = 1 never repeats a client on a flight
+                long start = random.nextInt(clientCount);
+                for (int k = 0; k < booked; k++) {
+                    long clientId = userBase + 1 + (start + k * stride) % clientCount;
+                    boolean business = random.nextDouble() < businessRatio;
+                    books.row(++bookingId, flightId, date, clientId, business ? "BUSINESS" : "ECONOMY",
+                            business ? plan.businessPrice()[f] : plan.economyPrice()[f]);
+                    if (random.nextDouble() < rewardsRatio) {
+                        rewards.row(++rewardId, clientId, flightId, date);
+                    }
+                }
+            }
+            log.info("bookings: {}, miles rewards: {}", books.rows(), rewards.rows());
+        }
+    }
+
+    // First pass uses the real city, later passes become numbered regional airports of the same country
+    private String cityOf(int airportIndex) {
+        String city = CITIES[airportIndex % CITIES.length][0];
+        int generation = airportIndex / CITIES.length;
+        return generation == 0 ? city : city + " " + generation;
+    }
+
+    private static long coprimeStride(int n, SplittableRandom random) {
+        if (n <= 1) {
+            return 1;
+        }
+        long stride;
+        do {
+            stride = 1 + random.nextInt(n - 1);
+        } while (gcd(stride, n) != 1);
+        return stride;
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    private static long maxId(Connection connection, String table, String column) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(" + column + "), 0) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    // Rows were copied with explicit ids, move the identity sequence past them
+    private static void resetIdentity(Connection connection, String table, String column) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SELECT setval(pg_get_serial_sequence('" + table + "', '" + column + "'), "
+                    + "GREATEST((SELECT MAX(" + column + ") FROM " + table + "), 1))");
+        }
+    }
+}
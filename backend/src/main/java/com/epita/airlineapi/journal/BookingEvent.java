@@ -0,0 +1,95 @@
+package com.epita.airlineapi.journal;
+
+import com.epita.airlineapi.model.Book;
+import com.epita.airlineapi.model.Flight;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Locale;
+
+// One booking change, published by the services and appended to the journal once the transaction commits.
+// Bulk removals (flight or client deleted) are one event each instead of one per booking.
+public record BookingEvent(Type type, long timestamp, long reservationId, long flightId, LocalDate departureDate,
+                           long clientId, String typeOfSeat, long previousFlightId, String previousTypeOfSeat) {
+
+    public enum Type { CREATED, CHANGED, CANCELLED, FLIGHT_REMOVED, CLIENT_REMOVED }
+
+    // Fixed-size payload: sequence, type, timestamp, reservation, flight, departure day, client, seat, previous flight, previous seat
+    static final int PAYLOAD_SIZE = 8 + 1 + 8 + 8 + 8 + 4 + 8 + 1 + 8 + 1;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    public static BookingEvent created(Book book) {
+        return new BookingEvent(Type.CREATED, System.currentTimeMillis(), book.getReservationId(),
+                book.getFlight().getFlightId(), book.getDepartureDate(), book.getClient().getUserId(),
+                book.getTypeOfSeat(), 0, null);
+    }
+
+    public static BookingEvent changed(Book book, Flight previousFlight, String previousTypeOfSeat) {
+        return new BookingEvent(Type.CHANGED, System.currentTimeMillis(), book.getReservationId(),
+                book.getFlight().getFlightId(), book.getDepartureDate(), book.getClient().getUserId(),
+                book.getTypeOfSeat(), previousFlight.getFlightId(), previousTypeOfSeat);
+    }
+
+    public static BookingEvent cancelled(Book book) {
+        return new BookingEvent(Type.CANCELLED, System.currentTimeMillis(), book.getReservationId(),
+                book.getFlight().getFlightId(), book.getDepartureDate(), book.getClient().getUserId(),
+                book.getTypeOfSeat(), 0, null);
+    }
+
+    public static BookingEvent flightRemoved(Flight flight) {
+        return new BookingEvent(Type.FLIGHT_REMOVED, System.currentTimeMillis(), 0, flight.getFlightId(),
+                flight.getDepartureDate(), 0, null, 0, null);
+    }
+
+    public static BookingEvent clientRemoved(Long clientId) {
+        return new BookingEvent(Type.CLIENT_REMOVED, System.currentTimeMillis(), 0, 0, null, clientId, null, 0, null);
+    }
+
+    void writeTo(ByteBuffer buffer, long sequence) {
+        buffer.putLong(sequence)
+                .put((byte) type.ordinal())
+                .putLong(timestamp)
+                .putLong(reservationId)
+                .putLong(flightId)
+                .putInt(departureDate != null ? (int) departureDate.toEpochDay() : NO_DATE)
+                .putLong(clientId)
+                .put(seatCode(typeOfSeat))
+                .putLong(previousFlightId)
+                .put(seatCode(previousTypeOfSeat));
+    }
+
+    // Reads one payload; the sequence has already been consumed by the caller
+    static BookingEvent readFrom(ByteBuffer buffer) {
+        Type type = Type.values()[buffer.get()];
+        long timestamp = buffer.getLong();
+        long reservationId = buffer.getLong();
+        long flightId = buffer.getLong();
+        int day = buffer.getInt();
+        long clientId = buffer.getLong();
+        String seat = seatOf(buffer.get());
+        long previousFlightId = buffer.getLong();
+        String previousSeat = seatOf(buffer.get());
+        return new BookingEvent(type, timestamp, reservationId, flightId, day == NO_DATE ? null : LocalDate.ofEpochDay(day),
+                clientId, seat, previousFlightId, previousSeat);
+    }
+
+    // BookService only accepts these two cabins (case-insensitive)
+    private static byte seatCode(String seat) {
+        if (seat == null) {
+            return 0;
+        }
+        return switch (seat.toUpperCase(Locale.ROOT)) {
+            case "ECONOMY" -> 1;
+            case "BUSINESS" -> 2;
+            default -> throw new IllegalArgumentException("Unknown seat type " + seat);
+        };
+    }
+
+    private static String seatOf(byte code) {
+        return switch (code) {
+            case 1 -> "ECONOMY";
+            case 2 -> "BUSINESS";
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,222 @@
+package com.epita.airlineapi.journal;
+
+import com.epita.airlineapi.dto.JournalStats;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
+
+// Append-only audit trail of booking changes (BookingEvent), in memory-mapped segment files.
+// - Request threads only enqueue, after their transaction committed (nothing rolled back is journaled).
+// - One writer thread drains the queue in batches, writes the records into the mapped segment and forces
+//   the batch to disk once (group commit). A full queue blocks the caller: events are never dropped.
+// - Segments have a fixed size and rotate when full; see JournalSegment for the record format.
+// Started lazily on the first event, so CLI profiles that only read the journal never open a segment.
+@Component
+public class BookingJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingJournal.class);
+
+    private static final int MAX_BATCH = 4096;
+
+    private final Path directory;
+    private final long segmentSize;
+    private final boolean fsync;
+    private final BlockingQueue<BookingEvent> queue;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong handled = new AtomicLong();
+    private final AtomicLong appended = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private volatile int largestBatch;
+    private volatile long nextSequence = 1;
+    private volatile Path currentSegment;
+
+    private volatile Thread writer;
+    private volatile boolean closing;
+
+    // Writer thread state
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private final CRC32C crc = new CRC32C();
+
+    public BookingJournal(@Value("${airline.journal.directory:journal}") Path directory,
+                          @Value("${airline.journal.segment-size:67108864}") long segmentSize,
+                          @Value("${airline.journal.queue-capacity:65536}") int queueCapacity,
+                          @Value("${airline.journal.fsync:true}") boolean fsync) {
+        if (segmentSize < JournalSegment.MAGIC.length + JournalSegment.RECORD_SIZE || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("airline.journal.segment-size must hold at least one record and fit in 2 GB");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingEvent(BookingEvent event) {
+        append(event);
+    }
+
+    public void append(BookingEvent event) {
+        if (writer == null) {
+            start();
+        }
+        try {
+            queue.put(event);
+            enqueued.incrementAndGet();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while journaling a booking event", ex);
+        }
+    }
+
+    public JournalStats getStats() {
+        return new JournalStats(directory.toString(), currentSegment != null ? currentSegment.getFileName().toString() : null,
+                nextSequence - 1, appended.get(), batches.get(), largestBatch, queue.size(), writer != null);
+    }
+
+    // Waits until everything enqueued so far has been written (benchmark, tests)
+    public void flush() throws InterruptedException {
+        long target = enqueued.get();
+        while (handled.get() < target) {
+            Thread.sleep(1);
+        }
+    }
+
+    private synchronized void start() {
+        if (writer != null) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot open booking journal in " + directory, ex);
+        }
+        Thread thread = new Thread(this::writeLoop, "booking-journal");
+        thread.setDaemon(true);
+        thread.start();
+        writer = thread;
+    }
+
+    // Continues the last segment after its last valid record, wiping a torn tail left by a crash
+    private void recover() throws IOException {
+        List<Path> segments = JournalSegment.list(directory);
+        if (segments.isEmpty()) {
+            openSegment(1);
+            return;
+        }
+        Path last = segments.getLast();
+        long first = JournalSegment.firstSequence(last);
+        map(last);
+        if (!JournalSegment.hasHeader(buffer)) {
+            throw new IOException(last + " is not a journal segment");
+        }
+        nextSequence = JournalSegment.scan(buffer, first, entry -> {});
+        int end = buffer.position();
+        for (int position = end; position + 4 <= buffer.limit() && buffer.getInt(position) != 0;
+             position += JournalSegment.RECORD_SIZE) {
+            buffer.put(position, new byte[Math.min(JournalSegment.RECORD_SIZE, buffer.limit() - position)]);
+        }
+        buffer.position(end);
+        log.info("Booking journal resumed at sequence {} in {}", nextSequence, last.getFileName());
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        Path file = JournalSegment.fileOf(directory, firstSequence);
+        map(file);
+        JournalSegment.writeHeader(buffer);
+        buffer.position(JournalSegment.MAGIC.length);
+    }
+
+    private void map(Path file) throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = Math.max(channel.size(), segmentSize);
+        // Sparse preallocation: unwritten pages read as zeros, i.e. "end of data"
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        currentSegment = file;
+    }
+
+    private void writeLoop() {
+        List<BookingEvent> batch = new ArrayList<>(MAX_BATCH);
+        while (!closing || !queue.isEmpty()) {
+            try {
+                BookingEvent first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                write(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException ex) {
+                // Keep the thread alive; the batch is lost from the journal but bookings are unaffected
+                log.error("Booking journal write failed, {} events not journaled", batch.size(), ex);
+            } finally {
+                handled.addAndGet(batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<BookingEvent> batch) throws IOException {
+        int batchStart = buffer.position();
+        for (BookingEvent event : batch) {
+            if (buffer.remaining() < JournalSegment.RECORD_SIZE) {
+                force(batchStart);
+                openSegment(nextSequence);
+                batchStart = buffer.position();
+            }
+            JournalSegment.write(buffer, event, nextSequence, crc);
+            nextSequence++;
+        }
+        force(batchStart);
+        appended.addAndGet(batch.size());
+        batches.incrementAndGet();
+        if (batch.size() > largestBatch) {
+            largestBatch = batch.size();
+        }
+    }
+
+    // One msync for the whole batch instead of one per event
+    private void force(int from) {
+        if (fsync && buffer.position() > from) {
+            buffer.force(from, buffer.position() - from);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException, IOException {
+        closing = true;
+        Thread thread = writer;
+        if (thread != null) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.epita.airlineapi.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Booking journal CLI (BookingJournal, JournalReplay), e.g.
+//   java -jar airline-api.jar --spring.profiles.active=journal replay --output=bookings.csv
+//   java -jar airline-api.jar --spring.profiles.active=journal inventory --output=inventory.csv
+//   java -jar airline-api.jar --spring.profiles.active=journal bench --events=1000000 --threads=4
+// replay/inventory read airline.journal.directory; bench writes to a temporary directory and deletes it.
+// Runs without the web server and exits when done.
+@Component
+@Profile("journal")
+public class JournalCommand implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalCommand.class);
+
+    private final Path directory;
+    private final long segmentSize;
+    private final int queueCapacity;
+    private final boolean fsync;
+
+    public JournalCommand(@Value("${airline.journal.directory:journal}") Path directory,
+                          @Value("${airline.journal.segment-size:67108864}") long segmentSize,
+                          @Value("${airline.journal.queue-capacity:65536}") int queueCapacity,
+                          @Value("${airline.journal.fsync:true}") boolean fsync) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.queueCapacity = queueCapacity;
+        this.fsync = fsync;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        List<String> command = args.getNonOptionArgs();
+        String action = command.isEmpty() ? "replay" : command.getFirst();
+        switch (action) {
+            case "replay" -> replay(output(args, "bookings.csv"));
+            case "inventory" -> inventory(output(args, "inventory.csv"));
+            case "bench" -> bench(option(args, "events", 1_000_000), (int) option(args, "threads", 4));
+            default -> throw new IllegalArgumentException("Unknown command '" + action + "' (replay, inventory, bench)");
+        }
+    }
+
+    private void replay(Path output) throws IOException {
+        JournalReplay replay = timedReplay(directory);
+        try (BufferedWriter writer = Files.newBufferedWriter(output)) {
+            writer.write("reservation_id,flight_id,departure_date,client_id,type_of_seat\n");
+            List<JournalReplay.Booking> bookings = new ArrayList<>(replay.getBookings());
+            bookings.sort(Comparator.comparingLong(JournalReplay.Booking::reservationId));
+            for (JournalReplay.Booking booking : bookings) {
+                writer.write(booking.reservationId() + "," + booking.flightId() + "," + booking.departureDate() + ","
+                        + booking.clientId() + "," + booking.typeOfSeat() + "\n");
+            }
+        }
+        log.info("{} live bookings written to {}", replay.getBookings().size(), output);
+    }
+
+    private void inventory(Path output) throws IOException {
+        JournalReplay replay = timedReplay(directory);
+        List<JournalReplay.SeatCount> inventory = replay.getInventory();
+        try (BufferedWriter writer = Files.newBufferedWriter(output)) {
+            writer.write("flight_id,departure_date,type_of_seat,booked\n");
+            for (JournalReplay.SeatCount count : inventory) {
+                writer.write(count.flightId() + "," + count.departureDate() + "," + count.typeOfSeat() + ","
+                        + count.booked() + "\n");
+            }
+        }
+        log.info("{} flight/cabin counts written to {}", inventory.size(), output);
+    }
+
+    private JournalReplay timedReplay(Path journal) throws IOException {
+        long start = System.nanoTime();
+        JournalReplay replay = JournalReplay.of(journal);
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        log.info("Replayed {} events (last sequence {}) from {} in {} ms ({} events/s)", replay.getEvents(),
+                replay.getLastSequence(), journal, millis, replay.getEvents() * 1000 / millis);
+        return replay;
+    }
+
+    // Appends synthetic bookings from several threads the way request threads do (enqueue only), then
+    // reports the enqueue latency seen by the callers and the throughput until everything is on disk.
+    private void bench(long events, int threads) throws Exception {
+        Path scratch = Files.createTempDirectory("journal-bench");
+        try {
+            BookingJournal journal = new BookingJournal(scratch, segmentSize, queueCapacity, fsync);
+            long perThread = events / threads;
+            long[][] latencies = new long[threads][(int) perThread];
+            List<Thread> producers = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int t = 0; t < threads; t++) {
+                int producer = t;
+                producers.add(Thread.ofPlatform().name("journal-bench-" + t).start(() -> {
+                    LocalDate departure = LocalDate.now();
+                    for (int i = 0; i < perThread; i++) {
+                        long id = producer * perThread + i + 1;
+                        BookingEvent event = new BookingEvent(BookingEvent.Type.CREATED, System.currentTimeMillis(),
+                                id, id % 5_000 + 1, departure, id % 100_000 + 1, i % 10 == 0 ? "BUSINESS" : "ECONOMY", 0, null);
+                        long before = System.nanoTime();
+                        journal.append(event);
+                        latencies[producer][i] = System.nanoTime() - before;
+                    }
+                }));
+            }
+            for (Thread producer : producers) {
+                producer.join();
+            }
+            journal.flush();
+            long nanos = System.nanoTime() - start;
+            journal.close();
+
+            long total = perThread * threads;
+            long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+            log.info("{} events from {} threads in {} ms: {} events/s (fsync={}, {} group commits, largest batch {})",
+                    total, threads, nanos / 1_000_000, total * 1_000_000_000L / Math.max(1, nanos), fsync,
+                    journal.getStats().getBatches(), journal.getStats().getLargestBatch());
+            log.info("Enqueue latency: p50 {} us, p99 {} us, p99.9 {} us, max {} us", percentile(all, 0.50),
+                    percentile(all, 0.99), percentile(all, 0.999), all.length > 0 ? all[all.length - 1] / 1000 : 0);
+            timedReplay(scratch);
+        } finally {
+            try (Stream<Path> files = Files.list(scratch)) {
+                for (Path file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(scratch);
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted.length == 0 ? 0 : sorted[(int) Math.min(sorted.length - 1, (long) (sorted.length * p))] / 1000;
+    }
+
+    private static Path output(ApplicationArguments args, String fallback) {
+        return Path.of(args.containsOption("output") ? args.getOptionValues("output").getFirst() : fallback);
+    }
+
+    private static long option(ApplicationArguments args, String name, long fallback) {
+        return args.containsOption(name) ? Long.parseLong(args.getOptionValues(name).getFirst()) : fallback;
+    }
+}
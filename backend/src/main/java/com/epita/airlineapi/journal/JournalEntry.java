@@ -0,0 +1,4 @@
+package com.epita.airlineapi.journal;
+
+// A journal record: its position in the journal (1, 2, 3, ... across segments) and the event
+public record JournalEntry(long sequence, BookingEvent event) {}
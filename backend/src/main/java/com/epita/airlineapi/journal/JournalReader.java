@@ -0,0 +1,45 @@
+package com.epita.airlineapi.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Sequential replay of a journal directory, segment by segment through read-only mappings
+public final class JournalReader {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalReader.class);
+
+    private JournalReader() {}
+
+    // Every valid record in write order; returns how many were read
+    public static long read(Path directory, Consumer<JournalEntry> consumer) throws IOException {
+        long count = 0;
+        List<Path> segments = JournalSegment.list(directory);
+        for (int i = 0; i < segments.size(); i++) {
+            Path segment = segments.get(i);
+            long first = JournalSegment.firstSequence(segment);
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (!JournalSegment.hasHeader(buffer)) {
+                    log.warn("Skipping {}: not a journal segment", segment);
+                    continue;
+                }
+                long next = JournalSegment.scan(buffer, first, consumer);
+                count += next - first;
+                // Only the last segment may end early (crash); elsewhere it means lost records
+                if (i < segments.size() - 1 && next != JournalSegment.firstSequence(segments.get(i + 1))) {
+                    log.warn("{} ends before sequence {} but the next segment starts at {}", segment, next,
+                            JournalSegment.firstSequence(segments.get(i + 1)));
+                }
+            }
+        }
+        return count;
+    }
+}
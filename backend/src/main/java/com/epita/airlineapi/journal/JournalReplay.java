@@ -0,0 +1,71 @@
+package com.epita.airlineapi.journal;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Booking state rebuilt from the journal: the live bookings after the last applied event.
+// Only knows what was journaled, so bookings made before the journal existed (or loaded by the
+// generator's COPY) are missing, and their cancellations are ignored.
+public class JournalReplay {
+
+    public record Booking(long reservationId, long flightId, LocalDate departureDate, long clientId, String typeOfSeat) {}
+
+    public record SeatCount(long flightId, LocalDate departureDate, String typeOfSeat, int booked) {}
+
+    private final Map<Long, Booking> bookings = new HashMap<>();
+    private long lastSequence;
+    private long events;
+
+    public static JournalReplay of(Path directory) throws IOException {
+        JournalReplay replay = new JournalReplay();
+        JournalReader.read(directory, replay::apply);
+        return replay;
+    }
+
+    public void apply(JournalEntry entry) {
+        BookingEvent event = entry.event();
+        switch (event.type()) {
+            case CREATED, CHANGED -> bookings.put(event.reservationId(), new Booking(event.reservationId(),
+                    event.flightId(), event.departureDate(), event.clientId(), event.typeOfSeat()));
+            case CANCELLED -> bookings.remove(event.reservationId());
+            case FLIGHT_REMOVED -> bookings.values().removeIf(booking -> booking.flightId() == event.flightId());
+            case CLIENT_REMOVED -> bookings.values().removeIf(booking -> booking.clientId() == event.clientId());
+        }
+        lastSequence = entry.sequence();
+        events++;
+    }
+
+    public Collection<Booking> getBookings() {
+        return bookings.values();
+    }
+
+    // Booked seats per flight and cabin, ordered by flight then cabin
+    public List<SeatCount> getInventory() {
+        Map<Long, Map<String, int[]>> counts = new TreeMap<>();
+        Map<Long, LocalDate> departures = new HashMap<>();
+        for (Booking booking : bookings.values()) {
+            counts.computeIfAbsent(booking.flightId(), id -> new TreeMap<>())
+                    .computeIfAbsent(booking.typeOfSeat(), seat -> new int[1])[0]++;
+            departures.put(booking.flightId(), booking.departureDate());
+        }
+        List<SeatCount> inventory = new ArrayList<>();
+        counts.forEach((flightId, cabins) -> cabins.forEach((seat, count) ->
+                inventory.add(new SeatCount(flightId, departures.get(flightId), seat, count[0]))));
+        return inventory;
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    public long getEvents() {
+        return events;
+    }
+}
@@ -0,0 +1,122 @@
+package com.epita.airlineapi.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32C;
+
+// Segment file layout: 8-byte magic, then fixed-size records until the (preallocated, zero-filled) end.
+// Record: payload length | CRC32C of the payload | payload (BookingEvent.PAYLOAD_SIZE bytes).
+// A zero length marks the end of the written part; a bad length, checksum or sequence marks a torn tail.
+final class JournalSegment {
+
+    static final byte[] MAGIC = "BKJRNL01".getBytes(StandardCharsets.US_ASCII);
+    static final int RECORD_SIZE = 4 + 4 + BookingEvent.PAYLOAD_SIZE;
+
+    private static final Pattern FILE_NAME = Pattern.compile("^bookings-(\\d{20})\\.journal$");
+
+    private JournalSegment() {}
+
+    // Named after the sequence of its first record, so names sort in write order
+    static Path fileOf(Path directory, long firstSequence) {
+        return directory.resolve(String.format("bookings-%020d.journal", firstSequence));
+    }
+
+    static long firstSequence(Path segment) {
+        Matcher matcher = FILE_NAME.matcher(segment.getFileName().toString());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException(segment + " is not a journal segment");
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    static List<Path> list(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return segments;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "bookings-*.journal")) {
+            for (Path file : files) {
+                Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    segments.add(file);
+                }
+            }
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    static void writeHeader(ByteBuffer buffer) {
+        buffer.put(0, MAGIC);
+    }
+
+    static boolean hasHeader(ByteBuffer buffer) {
+        if (buffer.limit() < MAGIC.length) {
+            return false;
+        }
+        byte[] magic = new byte[MAGIC.length];
+        buffer.get(0, magic);
+        return Arrays.equals(magic, MAGIC);
+    }
+
+    // Writes one record at the buffer's position (absolute payload checksum, then advances)
+    static void write(ByteBuffer buffer, BookingEvent event, long sequence, CRC32C crc) {
+        int start = buffer.position();
+        buffer.position(start + 8);
+        event.writeTo(buffer, sequence);
+        crc.reset();
+        crc.update(buffer.slice(start + 8, BookingEvent.PAYLOAD_SIZE));
+        buffer.putInt(start, BookingEvent.PAYLOAD_SIZE);
+        buffer.putInt(start + 4, (int) crc.getValue());
+    }
+
+    // Reads records from just after the header up to the end of valid data, leaving the buffer positioned there.
+    // Returns the sequence the next record must have.
+    static long scan(ByteBuffer buffer, long firstSequence, Consumer<JournalEntry> consumer) {
+        CRC32C crc = new CRC32C();
+        long expected = firstSequence;
+        buffer.position(MAGIC.length);
+        JournalEntry entry;
+        while ((entry = read(buffer, expected, crc)) != null) {
+            consumer.accept(entry);
+            expected++;
+        }
+        return expected;
+    }
+
+    // Valid record at the position, or null (end of data or torn tail); advances past it when valid
+    static JournalEntry read(ByteBuffer buffer, long expectedSequence, CRC32C crc) {
+        int start = buffer.position();
+        if (buffer.limit() - start < RECORD_SIZE) {
+            return null;
+        }
+        int length = buffer.getInt(start);
+        if (length != BookingEvent.PAYLOAD_SIZE) {
+            return null;
+        }
+        crc.reset();
+        crc.update(buffer.slice(start + 8, length));
+        if ((int) crc.getValue() != buffer.getInt(start + 4)) {
+            return null;
+        }
+        ByteBuffer payload = buffer.slice(start + 8, length);
+        long sequence = payload.getLong();
+        if (sequence != expectedSequence) {
+            // Left over from before a crash, past the point the writer resumed from
+            return null;
+        }
+        BookingEvent event = BookingEvent.readFrom(payload);
+        buffer.position(start + RECORD_SIZE);
+        return new JournalEntry(sequence, event);
+    }
+}
@@ -2,12 +2,16 @@ package com.epita.airlineapi.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.proxy.HibernateProxy;
 
 import java.util.Objects;
 
 @Entity
 @Table(name = "airports")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "airports")
 @Getter
 @Setter
 @ToString
@@ -29,6 +33,13 @@ public class Airport {
     @Column(name = "airport_city")
     private String airportCity;
 
+    // WGS84 degrees, optional: airports without coordinates have no distances
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
     @Override
     public final boolean equals(Object o) {
         if (this == o) return true;
@@ -3,6 +3,8 @@ package com.epita.airlineapi.model;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Objects;
 
 @Entity
@@ -18,10 +20,16 @@ public class Book {
     @Column(name = "reservation_id")
     private Long reservationId;
 
+    // No single-column FK: flights is partitioned, the FK is (flight_id, departure_date), see PartitionService
     @ManyToOne
-    @JoinColumn(name = "flight_id")
+    @JoinColumn(name = "flight_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Flight flight;
 
+    // Copy of the flight's departure date: partition key of books, kept in sync by BookService
+    // (and by ON UPDATE CASCADE when a flight is moved to another day)
+    @Column(name = "departure_date")
+    private LocalDate departureDate;
+
     @ManyToOne
     @JoinColumn(name = "client_id")
     private Client client;
@@ -29,6 +37,11 @@ public class Book {
     @Column(name = "type_of_seat")
     private String typeOfSeat;
 
+    // Fare of the cabin when the booking was made (or moved), set by BookService; later fare changes of the
+    // flight do not touch it, so cancellations take back exactly what was added to the revenue aggregates
+    @Column(name = "price_paid", precision = 10, scale = 2)
+    private BigDecimal pricePaid;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true; // Check memory address
@@ -9,7 +9,8 @@ import java.util.List;
 import java.util.Objects;
 
 @Entity
-@Table(name = "clients")
+@Table(name = "clients",
+        uniqueConstraints = @UniqueConstraint(name = "uk_clients_passport_number", columnNames = "passport_number"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,7 +19,7 @@ import java.util.Objects;
 @SuperBuilder  // Allows building Client + User fields together
 @PrimaryKeyJoinColumn(name = "user_id") // Ensures the DB foreign key is named "user_id"
 public class Client extends User {
-    @Column(name = "passport_number", nullable = false, unique = true)
+    @Column(name = "passport_number", nullable = false)
     private String passportNumber;
 
     // Foreign key mapping
@@ -5,7 +5,8 @@ import lombok.*;
 import lombok.experimental.SuperBuilder;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees",
+        uniqueConstraints = @UniqueConstraint(name = "uk_employees_employee_number", columnNames = "employee_number"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -14,7 +15,7 @@ import lombok.experimental.SuperBuilder;
 @SuperBuilder  // Allows building Client + User fields together
 @PrimaryKeyJoinColumn(name = "user_id") // Explicitly link to User table
 public class Employee extends User {
-    @Column(name = "employee_number", nullable = false, unique = true)
+    @Column(name = "employee_number", nullable = false)
     private Long employeeNumber;
 
     @Column(name = "profession")
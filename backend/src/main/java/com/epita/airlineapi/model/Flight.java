@@ -3,6 +3,8 @@ package com.epita.airlineapi.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.proxy.HibernateProxy;
 
 import java.math.BigDecimal;
@@ -11,7 +13,11 @@ import java.util.List;
 import java.util.Objects;
 
 @Entity
-@Table(name = "flights")
+@Table(name = "flights",
+        // A flight number repeats across days (recurring schedules), once per departure date
+        uniqueConstraints = @UniqueConstraint(name = "uk_flights_number_date", columnNames = {"flight_number", "departure_date"}))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "flights") // Region size/TTL in application.conf
 @Getter
 @Setter
 @ToString
@@ -63,6 +69,10 @@ public class Flight {
     @Column(name = "economy_price", nullable = false)
     private BigDecimal economyPrice;
 
+    // FlightSchedule this instance was materialized from, null for one-off flights
+    @Column(name = "schedule_id")
+    private Long scheduleId;
+
     // Foreign Key mapping
     // orphanRemoval : The reward still exists in the MilesReward table. It is just "unlinked"
     @OneToMany(mappedBy = "flight", cascade = CascadeType.ALL, orphanRemoval = true)
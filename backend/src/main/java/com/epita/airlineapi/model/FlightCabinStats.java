@@ -0,0 +1,37 @@
+package com.epita.airlineapi.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+// Incrementally maintained aggregate: one row per (flight, cabin).
+// Written by ReportService from the booking write path, read by /api/v1/reports.
+@Entity
+@Table(name = "flight_cabin_stats",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"flight_id", "cabin"}))
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightCabinStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "stats_id")
+    private Long statsId;
+
+    // Plain column instead of @ManyToOne: reports must never load the Flight graph
+    @Column(name = "flight_id", nullable = false)
+    private Long flightId;
+
+    @Column(name = "cabin", nullable = false)
+    private String cabin;
+
+    @Column(name = "bookings", nullable = false)
+    private Long bookings;
+
+    @Column(name = "revenue", nullable = false)
+    private BigDecimal revenue;
+}
@@ -0,0 +1,117 @@
+package com.epita.airlineapi.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.proxy.HibernateProxy;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.Set;
+
+// Template of a recurring flight: one row instead of one Flight per departure date.
+// Instances are virtual (answered from here by /flights/search) until first booked or
+// materialized explicitly; only then a Flight row with scheduleId is inserted.
+@Entity
+@Table(name = "flight_schedules")
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightSchedule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "schedule_id")
+    private Long scheduleId;
+
+    @Column(name = "flight_number", nullable = false)
+    private String flightNumber;
+
+    @Column(name = "departure_city", nullable = false)
+    private String departureCity;
+
+    @Column(name = "arrival_city", nullable = false)
+    private String arrivalCity;
+
+    @ManyToOne
+    @JoinColumn(name = "departure_airport_id", nullable = false)
+    @ToString.Exclude
+    private Airport departureAirport;
+
+    @ManyToOne
+    @JoinColumn(name = "arrival_airport_id", nullable = false)
+    @ToString.Exclude
+    private Airport arrivalAirport;
+
+    @ManyToOne
+    @JoinColumn(name = "plane_id", nullable = false)
+    @ToString.Exclude
+    private Plane plane;
+
+    // e.g. ["MONDAY", "WEDNESDAY", "FRIDAY"]; stored as a bit mask
+    @Convert(converter = DaysOfWeekConverter.class)
+    @Column(name = "days_of_week", nullable = false)
+    private Set<DayOfWeek> daysOfWeek;
+
+    // Validity window, both ends inclusive
+    @Column(name = "valid_from", nullable = false)
+    private LocalDate validFrom;
+
+    @Column(name = "valid_to", nullable = false)
+    private LocalDate validTo;
+
+    // 0 = arrives the day it departs, 1 = next day (overnight), ...
+    @Column(name = "arrival_day_offset", nullable = false)
+    private Integer arrivalDayOffset;
+
+    @Column(name = "number_of_seats", nullable = false)
+    private Integer numberOfSeats;
+
+    @Column(name = "business_price", nullable = false)
+    private BigDecimal businessPrice;
+
+    @Column(name = "economy_price", nullable = false)
+    private BigDecimal economyPrice;
+
+    public boolean operatesOn(LocalDate date) {
+        return !date.isBefore(validFrom) && !date.isAfter(validTo) && daysOfWeek.contains(date.getDayOfWeek());
+    }
+
+    // Unsaved Flight for one departure date (flightId stays null until materialized)
+    public Flight instanceOn(LocalDate date) {
+        Flight flight = new Flight();
+        flight.setFlightNumber(flightNumber);
+        flight.setDepartureCity(departureCity);
+        flight.setArrivalCity(arrivalCity);
+        flight.setDepartureDate(date);
+        flight.setArrivalDate(date.plusDays(arrivalDayOffset));
+        flight.setDepartureAirport(departureAirport);
+        flight.setArrivalAirport(arrivalAirport);
+        flight.setPlane(plane);
+        flight.setNumberOfSeats(numberOfSeats);
+        flight.setBusinessPrice(businessPrice);
+        flight.setEconomyPrice(economyPrice);
+        flight.setScheduleId(scheduleId);
+        return flight;
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof FlightSchedule other)) return false;
+
+        Class<?> oEffectiveClass = o instanceof HibernateProxy ? ((HibernateProxy) o).getHibernateLazyInitializer().getPersistentClass() : o.getClass();
+        Class<?> thisEffectiveClass = this instanceof HibernateProxy ? ((HibernateProxy) this).getHibernateLazyInitializer().getPersistentClass() : this.getClass();
+        if (thisEffectiveClass != oEffectiveClass) return false;
+
+        return getScheduleId() != null && Objects.equals(getScheduleId(), other.getScheduleId());
+    }
+
+    @Override
+    public final int hashCode() {
+        return this instanceof HibernateProxy ? ((HibernateProxy) this).getHibernateLazyInitializer().getPersistentClass().hashCode() : getClass().hashCode();
+    }
+}
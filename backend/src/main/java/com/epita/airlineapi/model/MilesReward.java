@@ -3,6 +3,8 @@ package com.epita.airlineapi.model;
 // JPA annotations for JPA usage
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.NotFound;
+import org.hibernate.annotations.NotFoundAction;
 
 import java.time.LocalDate;
 
@@ -27,13 +29,19 @@ public class MilesReward {
     private Client client;  // Using object is easier to access the id of the client because you just use its getter
 
     // Foreign key mapping
+    // No DB constraint (flights is partitioned by date), and null once the flight's month has been detached
     @ManyToOne
-    @JoinColumn(name = "flight_id")
+    @NotFound(action = NotFoundAction.IGNORE)
+    @JoinColumn(name = "flight_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Flight flight;
 
     @Column(name = "reward_date")
     private LocalDate date;
 
+    // Great-circle length of the flight's route (statute miles), null if an airport has no coordinates
+    @Column(name = "miles")
+    private Integer miles;
+
 
     @Override
     public final boolean equals(Object o) {
@@ -0,0 +1,46 @@
+package com.epita.airlineapi.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Incrementally maintained aggregate: one row per (route, departure day).
+// Cities are stored lower-cased so they match the case-insensitive flight search.
+@Entity
+@Table(name = "route_daily_stats",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"departure_city", "arrival_city", "departure_date"}))
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteDailyStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "stats_id")
+    private Long statsId;
+
+    @Column(name = "departure_city", nullable = false)
+    private String departureCity;
+
+    @Column(name = "arrival_city", nullable = false)
+    private String arrivalCity;
+
+    @Column(name = "departure_date", nullable = false)
+    private LocalDate departureDate;
+
+    @Column(name = "flights", nullable = false)
+    private Long flights;
+
+    @Column(name = "seat_capacity", nullable = false)
+    private Long seatCapacity;
+
+    @Column(name = "bookings", nullable = false)
+    private Long bookings;
+
+    @Column(name = "revenue", nullable = false)
+    private BigDecimal revenue;
+}
@@ -0,0 +1,17 @@
+package com.epita.airlineapi.model;
+
+// Concrete type of a User row: JOINED inheritance stores it as "which child table has the id"
+public enum UserType {
+    CLIENT,
+    EMPLOYEE,
+    ADMIN; // plain User, no clients/employees row
+
+    public static UserType from(String value) {
+        return switch (value.toLowerCase()) {
+            case "client" -> CLIENT;
+            case "employee" -> EMPLOYEE;
+            case "admin" -> ADMIN;
+            default -> throw new IllegalArgumentException("type must be client, employee or admin");
+        };
+    }
+}
@@ -0,0 +1,37 @@
+package com.epita.airlineapi.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+// A client waiting for a seat on a full flight. FIFO order is entry_id order (idx_waitlist_flight_entry);
+// the entry is deleted when WaitlistService promotes it into a Book, or when the client leaves the list.
+@Entity
+@Table(name = "waitlist_entries",
+        uniqueConstraints = @UniqueConstraint(name = "uk_waitlist_flight_client", columnNames = {"flight_id", "client_id"}))
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "entry_id")
+    private Long entryId;
+
+    // Plain columns: flights is partitioned (no single-column FK) and promotion is set-based SQL anyway
+    @Column(name = "flight_id", nullable = false)
+    private Long flightId;
+
+    @Column(name = "client_id", nullable = false)
+    private Long clientId;
+
+    @Column(name = "type_of_seat", nullable = false)
+    private String typeOfSeat;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -3,17 +3,37 @@ package com.epita.airlineapi.repository;
 import com.epita.airlineapi.model.Book;
 import com.epita.airlineapi.model.Client;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.List;
+
 public interface BookRepository extends JpaRepository<Book, Long> {
 
     // Counts how many bookings a specific client has in a specific year
-    // Assumes your Book entity has a 'flight' which has a 'departureDate'
-    @Query("SELECT COUNT(b) FROM Book b WHERE b.client = :client AND YEAR(b.flight.departureDate) = :year")
-    long countFlightsByClientAndYear(@Param("client") Client client, @Param("year") int year);
+    // A range on books.departure_date (partition key) only touches that year's partitions
+    default long countFlightsByClientAndYear(Client client, int year) {
+        return countByClientAndDepartureDateBetween(client, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+    }
+
+    long countByClientAndDepartureDateBetween(Client client, LocalDate from, LocalDate to);
+
+    // The departure date prunes the scan to one partition
+    long countByFlight_FlightIdAndDepartureDate(Long flightId, LocalDate departureDate);
+
+    boolean existsByFlight_FlightIdAndDepartureDateAndClient_UserId(Long flightId, LocalDate departureDate, Long clientId);
+
+    // Live part of a client's booking history (idx_books_client)
+    List<Book> findByClient_UserIdOrderByDepartureDate(Long clientId);
 
-    long countByFlight_FlightId(Long flightId);
+    // Set-based deletes: one statement instead of loading and removing each booking via cascade
+    @Modifying
+    @Query("DELETE FROM Book b WHERE b.flight.flightId = :flightId AND b.departureDate = :departureDate")
+    int deleteAllByFlightId(@Param("flightId") Long flightId, @Param("departureDate") LocalDate departureDate);
 
-    boolean existsByFlight_FlightIdAndClient_UserId(Long flightId, Long clientId);
+    @Modifying
+    @Query("DELETE FROM Book b WHERE b.client.userId = :clientId")
+    int deleteAllByClientId(@Param("clientId") Long clientId);
 }
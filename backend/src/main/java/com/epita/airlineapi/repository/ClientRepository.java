@@ -1,11 +1,15 @@
 package com.epita.airlineapi.repository;
 
+import com.epita.airlineapi.dto.ClientMatch;
 import com.epita.airlineapi.model.Client;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -20,5 +24,34 @@ public interface ClientRepository extends JpaRepository<Client, Long> {
     boolean existsByPassportNumber(String passportNumber);
     void deleteByPassportNumber(String passportNumber);
 
-    boolean existsByEmail(String email);
+    // One page of GET /users?type=client, keyset on the primary key
+    List<Client> findByUserIdGreaterThanOrderByUserId(Long after, Limit limit);
+
+    // Ranked fuzzy search on name/email (users) and passport (clients), :q lower-cased.
+    // "<%" (word similarity) is answered by the trigram GIN indexes from SchemaInitializer.
+    @Query(value = """
+            WITH hits AS (
+                SELECT u.user_id, word_similarity(:q, lower(u.first_name || ' ' || u.last_name || ' ' || u.email)) AS score
+                FROM users u
+                WHERE :q <% lower(u.first_name || ' ' || u.last_name || ' ' || u.email)
+                UNION ALL
+                SELECT c.user_id, word_similarity(:q, lower(c.passport_number))
+                FROM clients c
+                WHERE :q <% lower(c.passport_number)
+            )
+            SELECT c.user_id AS userId, u.first_name AS firstName, u.last_name AS lastName, u.email AS email,
+                   c.passport_number AS passportNumber, MAX(h.score) AS score
+            FROM hits h
+            JOIN clients c ON c.user_id = h.user_id
+            JOIN users u ON u.user_id = c.user_id
+            GROUP BY c.user_id, u.first_name, u.last_name, u.email, c.passport_number
+            ORDER BY score DESC, c.user_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<ClientMatch> searchRanked(@Param("q") String q, @Param("limit") int limit);
+
+    // Bulk delete of the clients + users rows (JOINED), children must be deleted first
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Client c WHERE c.userId = :clientId")
+    int deleteClientById(@Param("clientId") Long clientId);
 }
@@ -1,8 +1,13 @@
 package com.epita.airlineapi.repository;
 
+import com.epita.airlineapi.dto.EmployeeMatch;
 import com.epita.airlineapi.model.Employee;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
@@ -12,8 +17,31 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     // Check existence by business key
     boolean existsByEmployeeNumber(Long employeeNumber);
 
-    // Check email uniqueness (Inherited from User)
-    boolean existsByEmail(String email);
+    // One page of GET /users?type=employee, keyset on the primary key
+    List<Employee> findByUserIdGreaterThanOrderByUserId(Long after, Limit limit);
+
+    // Ranked fuzzy search on name/email (trigram index on users, see SchemaInitializer), :q lower-cased.
+    // An exact employee number ranks first; that branch scans employees, which is staff-sized.
+    @Query(value = """
+            WITH hits AS (
+                SELECT u.user_id, word_similarity(:q, lower(u.first_name || ' ' || u.last_name || ' ' || u.email)) AS score
+                FROM users u
+                WHERE :q <% lower(u.first_name || ' ' || u.last_name || ' ' || u.email)
+                UNION ALL
+                SELECT e.user_id, 1.0
+                FROM employees e
+                WHERE CAST(e.employee_number AS text) = :q
+            )
+            SELECT e.user_id AS userId, u.first_name AS firstName, u.last_name AS lastName, u.email AS email,
+                   e.employee_number AS employeeNumber, e.profession AS profession, MAX(h.score) AS score
+            FROM hits h
+            JOIN employees e ON e.user_id = h.user_id
+            JOIN users u ON u.user_id = e.user_id
+            GROUP BY e.user_id, u.first_name, u.last_name, u.email, e.employee_number, e.profession
+            ORDER BY score DESC, e.user_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<EmployeeMatch> searchRanked(@Param("q") String q, @Param("limit") int limit);
 
     // Delete by Business Key
     void deleteByEmployeeNumber(Long employeeNumber);
@@ -0,0 +1,101 @@
+package com.epita.airlineapi.repository;
+
+import com.epita.airlineapi.dto.FlightTotals;
+import com.epita.airlineapi.dto.PlaneModelRevenue;
+import com.epita.airlineapi.model.FlightCabinStats;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+// Native writes declare their table as query space so they do not flush the whole second-level cache
+public interface FlightCabinStatsRepository extends JpaRepository<FlightCabinStats, Long> {
+
+    List<FlightCabinStats> findByFlightIdOrderByCabin(Long flightId);
+
+    // Single-statement upsert: concurrent bookings on the same flight/cabin never lose an increment
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "flight_cabin_stats"))
+    @Query(value = """
+            INSERT INTO flight_cabin_stats (flight_id, cabin, bookings, revenue)
+            VALUES (:flightId, :cabin, :bookings, :revenue)
+            ON CONFLICT (flight_id, cabin) DO UPDATE
+            SET bookings = flight_cabin_stats.bookings + EXCLUDED.bookings,
+                revenue = flight_cabin_stats.revenue + EXCLUDED.revenue
+            """, nativeQuery = true)
+    void increment(@Param("flightId") Long flightId,
+                   @Param("cabin") String cabin,
+                   @Param("bookings") long bookings,
+                   @Param("revenue") BigDecimal revenue);
+
+    @Query(value = """
+            SELECT COALESCE(SUM(bookings), 0) AS bookings, COALESCE(SUM(revenue), 0) AS revenue
+            FROM flight_cabin_stats WHERE flight_id = :flightId
+            """, nativeQuery = true)
+    FlightTotals sumByFlightId(@Param("flightId") Long flightId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "flight_cabin_stats"))
+    @Query(value = "DELETE FROM flight_cabin_stats WHERE flight_id = :flightId", nativeQuery = true)
+    void deleteByFlightId(@Param("flightId") Long flightId);
+
+    // Set-based removal of every booking held by one client (client deletion cascades to books)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "flight_cabin_stats"))
+    @Query(value = """
+            UPDATE flight_cabin_stats s
+            SET bookings = s.bookings - x.cnt, revenue = s.revenue - x.amount
+            FROM (SELECT b.flight_id, UPPER(b.type_of_seat) AS cabin, COUNT(*) AS cnt,
+                         SUM(COALESCE(b.price_paid, CASE WHEN UPPER(b.type_of_seat) = 'BUSINESS' THEN f.business_price ELSE f.economy_price END)) AS amount
+                  FROM books b JOIN flights f ON f.flight_id = b.flight_id AND f.departure_date = b.departure_date
+                  WHERE b.client_id = :clientId
+                  GROUP BY b.flight_id, UPPER(b.type_of_seat)) x
+            WHERE s.flight_id = x.flight_id AND s.cabin = x.cabin
+            """, nativeQuery = true)
+    void subtractClientBookings(@Param("clientId") Long clientId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "flight_cabin_stats"))
+    @Query(value = "DELETE FROM flight_cabin_stats", nativeQuery = true)
+    void deleteAllRows();
+
+    // Rows of flights still in the live table, i.e. the ones rebuildFromBooks() recomputes
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "flight_cabin_stats"))
+    @Query(value = """
+            DELETE FROM flight_cabin_stats s
+            WHERE EXISTS (SELECT 1 FROM flights f WHERE f.flight_id = s.flight_id)
+            """, nativeQuery = true)
+    void deleteLiveFlightRows();
+
+    // Full recomputation from books; used for backfill and repair only
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "flight_cabin_stats"))
+    @Query(value = """
+            INSERT INTO flight_cabin_stats (flight_id, cabin, bookings, revenue)
+            SELECT b.flight_id, UPPER(b.type_of_seat), COUNT(*),
+                   SUM(COALESCE(b.price_paid, CASE WHEN UPPER(b.type_of_seat) = 'BUSINESS' THEN f.business_price ELSE f.economy_price END))
+            FROM books b JOIN flights f ON f.flight_id = b.flight_id AND f.departure_date = b.departure_date
+            GROUP BY b.flight_id, UPPER(b.type_of_seat)
+            """, nativeQuery = true)
+    void rebuildFromBooks();
+
+    @Query(value = """
+            SELECT p.plane_brand AS planeBrand, p.plane_model AS planeModel,
+                   SUM(s.bookings) AS bookings, SUM(s.revenue) AS revenue
+            FROM flight_cabin_stats s
+            JOIN flights f ON f.flight_id = s.flight_id
+            JOIN planes p ON p.plane_id = f.plane_id
+            WHERE f.departure_date BETWEEN :start AND :end
+            GROUP BY p.plane_brand, p.plane_model
+            ORDER BY revenue DESC
+            """, nativeQuery = true)
+    List<PlaneModelRevenue> revenueByPlaneModel(@Param("start") LocalDate start, @Param("end") LocalDate end);
+}
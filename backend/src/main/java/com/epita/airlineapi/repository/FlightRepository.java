@@ -1,21 +1,68 @@
 package com.epita.airlineapi.repository;
 
 import com.epita.airlineapi.model.Flight;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 public interface FlightRepository extends JpaRepository<Flight, Long> {
-    // Find by business key (e.g. "AF123")
-    Optional<Flight> findByFlightNumber(String flightNumber);
-
-    // Check existence by business key
-    boolean existsByFlightNumber(String flightNumber);
+    // Find by business key (e.g. "AF123" on 2025-12-22)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "flight-queries")
+    })
+    Optional<Flight> findByFlightNumberAndDepartureDate(String flightNumber, LocalDate departureDate);
 
+    // Query cache stores matching ids; invalidated automatically on any write to flights
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "flight-queries")
+    })
     List<Flight> findByDepartureCityIgnoreCaseAndArrivalCityIgnoreCaseAndDepartureDate(String departureCity, String arrivalCity, LocalDate date);
 
+    // Materializes one instance of a schedule; a concurrent first booking of the same instance
+    // hits the conflict and inserts nothing (returns 0), both callers then read the same row
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "flights"))
+    @Query(value = """
+            INSERT INTO flights (flight_number, departure_city, arrival_city, departure_date, arrival_date,
+                                 departure_airport_id, arrival_airport_id, plane_id, number_of_seats,
+                                 business_price, economy_price, schedule_id)
+            SELECT s.flight_number, s.departure_city, s.arrival_city, CAST(:date AS date),
+                   CAST(:date AS date) + s.arrival_day_offset, s.departure_airport_id, s.arrival_airport_id,
+                   s.plane_id, s.number_of_seats, s.business_price, s.economy_price, s.schedule_id
+            FROM flight_schedules s
+            WHERE s.schedule_id = :scheduleId
+            ON CONFLICT (flight_number, departure_date) DO NOTHING
+            """, nativeQuery = true)
+    int insertScheduledInstance(@Param("scheduleId") Long scheduleId, @Param("date") LocalDate date);
+
+    // Instances keep their data when the schedule goes away, only the link is dropped
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Flight f SET f.scheduleId = NULL WHERE f.scheduleId = :scheduleId")
+    int detachFromSchedule(@Param("scheduleId") Long scheduleId);
+
+    // Bulk delete without cascade loading; children must be deleted first (see FlightService.deleteFlight)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Flight f WHERE f.flightId = :flightId")
+    int deleteFlightById(@Param("flightId") Long flightId);
+
+    // SELECT ... FOR UPDATE on the flight row: serializes everything that takes seats on one flight
+    // (bookings, flight changes, seat holds, waitlist promotions)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM Flight f WHERE f.flightId = :flightId")
+    Optional<Flight> findByIdForUpdate(@Param("flightId") Long flightId);
+
 
 
     // OLD (Deleted):
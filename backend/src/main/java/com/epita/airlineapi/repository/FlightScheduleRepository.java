@@ -0,0 +1,22 @@
+package com.epita.airlineapi.repository;
+
+import com.epita.airlineapi.model.FlightSchedule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface FlightScheduleRepository extends JpaRepository<FlightSchedule, Long> {
+    // Schedules of a route valid on a date; the day-of-week bit is checked in memory (FlightSchedule.operatesOn)
+    @Query("""
+            SELECT s FROM FlightSchedule s
+            JOIN FETCH s.departureAirport JOIN FETCH s.arrivalAirport JOIN FETCH s.plane
+            WHERE LOWER(s.departureCity) = LOWER(:departureCity) AND LOWER(s.arrivalCity) = LOWER(:arrivalCity)
+              AND s.validFrom <= :date AND s.validTo >= :date
+            """)
+    List<FlightSchedule> findValidOnRoute(@Param("departureCity") String departureCity,
+                                          @Param("arrivalCity") String arrivalCity,
+                                          @Param("date") LocalDate date);
+}
@@ -2,6 +2,9 @@ package com.epita.airlineapi.repository;
 
 import com.epita.airlineapi.model.MilesReward;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -16,4 +19,13 @@ public interface MilesRewardRepository extends JpaRepository<MilesReward, Long>
 //
 //    // You can also add one for Flight if needed
 //    List<MilesReward> findByFlight_Id(Long flightId);
+
+    // Set-based deletes used when a flight or client is removed
+    @Modifying
+    @Query("DELETE FROM MilesReward r WHERE r.flight.flightId = :flightId")
+    int deleteAllByFlightId(@Param("flightId") Long flightId);
+
+    @Modifying
+    @Query("DELETE FROM MilesReward r WHERE r.client.userId = :clientId")
+    int deleteAllByClientId(@Param("clientId") Long clientId);
 }
@@ -0,0 +1,95 @@
+package com.epita.airlineapi.repository;
+
+import com.epita.airlineapi.dto.RouteSummary;
+import com.epita.airlineapi.model.RouteDailyStats;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface RouteDailyStatsRepository extends JpaRepository<RouteDailyStats, Long> {
+
+    List<RouteDailyStats> findByDepartureCityAndArrivalCityAndDepartureDateBetweenOrderByDepartureDate(
+            String departureCity, String arrivalCity, LocalDate start, LocalDate end);
+
+    // Single-statement upsert, all columns are deltas (negative to subtract)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "route_daily_stats"))
+    @Query(value = """
+            INSERT INTO route_daily_stats (departure_city, arrival_city, departure_date, flights, seat_capacity, bookings, revenue)
+            VALUES (:departureCity, :arrivalCity, :departureDate, :flights, :seatCapacity, :bookings, :revenue)
+            ON CONFLICT (departure_city, arrival_city, departure_date) DO UPDATE
+            SET flights = route_daily_stats.flights + EXCLUDED.flights,
+                seat_capacity = route_daily_stats.seat_capacity + EXCLUDED.seat_capacity,
+                bookings = route_daily_stats.bookings + EXCLUDED.bookings,
+                revenue = route_daily_stats.revenue + EXCLUDED.revenue
+            """, nativeQuery = true)
+    void increment(@Param("departureCity") String departureCity,
+                   @Param("arrivalCity") String arrivalCity,
+                   @Param("departureDate") LocalDate departureDate,
+                   @Param("flights") long flights,
+                   @Param("seatCapacity") long seatCapacity,
+                   @Param("bookings") long bookings,
+                   @Param("revenue") BigDecimal revenue);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "route_daily_stats"))
+    @Query(value = """
+            UPDATE route_daily_stats r
+            SET bookings = r.bookings - x.cnt, revenue = r.revenue - x.amount
+            FROM (SELECT LOWER(f.departure_city) AS dep, LOWER(f.arrival_city) AS arr, f.departure_date AS day, COUNT(*) AS cnt,
+                         SUM(COALESCE(b.price_paid, CASE WHEN UPPER(b.type_of_seat) = 'BUSINESS' THEN f.business_price ELSE f.economy_price END)) AS amount
+                  FROM books b JOIN flights f ON f.flight_id = b.flight_id AND f.departure_date = b.departure_date
+                  WHERE b.client_id = :clientId
+                  GROUP BY LOWER(f.departure_city), LOWER(f.arrival_city), f.departure_date) x
+            WHERE r.departure_city = x.dep AND r.arrival_city = x.arr AND r.departure_date = x.day
+            """, nativeQuery = true)
+    void subtractClientBookings(@Param("clientId") Long clientId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "route_daily_stats"))
+    @Query(value = "DELETE FROM route_daily_stats", nativeQuery = true)
+    void deleteAllRows();
+
+    // Everything but the given departure months (comma-separated yyyy-MM, see ReportService.rebuild)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "route_daily_stats"))
+    @Query(value = """
+            DELETE FROM route_daily_stats
+            WHERE to_char(departure_date, 'YYYY-MM') <> ALL (string_to_array(:keptMonths, ','))
+            """, nativeQuery = true)
+    void deleteAllRowsExceptMonths(@Param("keptMonths") String keptMonths);
+
+    // Must run after FlightCabinStatsRepository.rebuildFromBooks()
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "route_daily_stats"))
+    @Query(value = """
+            INSERT INTO route_daily_stats (departure_city, arrival_city, departure_date, flights, seat_capacity, bookings, revenue)
+            SELECT LOWER(f.departure_city), LOWER(f.arrival_city), f.departure_date,
+                   COUNT(*), SUM(f.number_of_seats), COALESCE(SUM(s.bookings), 0), COALESCE(SUM(s.revenue), 0)
+            FROM flights f
+            LEFT JOIN (SELECT flight_id, SUM(bookings) AS bookings, SUM(revenue) AS revenue
+                       FROM flight_cabin_stats GROUP BY flight_id) s ON s.flight_id = f.flight_id
+            GROUP BY LOWER(f.departure_city), LOWER(f.arrival_city), f.departure_date
+            """, nativeQuery = true)
+    void rebuildFromFlights();
+
+    @Query(value = """
+            SELECT departure_city AS departureCity, arrival_city AS arrivalCity,
+                   SUM(flights) AS flights, SUM(seat_capacity) AS seatCapacity,
+                   SUM(bookings) AS bookings, SUM(revenue) AS revenue,
+                   CAST(SUM(bookings) AS double precision) / NULLIF(SUM(seat_capacity), 0) AS loadFactor
+            FROM route_daily_stats
+            WHERE departure_date BETWEEN :start AND :end
+            GROUP BY departure_city, arrival_city
+            ORDER BY revenue DESC
+            """, nativeQuery = true)
+    List<RouteSummary> summarizeRoutes(@Param("start") LocalDate start, @Param("end") LocalDate end);
+}
@@ -1,13 +1,35 @@
 package com.epita.airlineapi.repository;
 
+import com.epita.airlineapi.dto.UserTypeCounts;
 import com.epita.airlineapi.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
-    boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    // Native on purpose: a query on User is polymorphic and outer-joins clients and employees,
+    // email lives on users alone so the lookup only needs uk_users_email
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM users WHERE email = :email)", nativeQuery = true)
+    boolean existsByEmail(@Param("email") String email);
+
+    // Admins are the users without a child row; the outer joins act as anti-joins here. Keyset page on the id.
+    @Query("SELECT u FROM User u WHERE TYPE(u) = User AND u.userId > :after ORDER BY u.userId")
+    List<User> findAdmins(@Param("after") Long after, Limit limit);
+
+    // One primary-key count per table instead of classifying every row through the joins
+    @Query(value = """
+            SELECT t.total, t.clients, t.employees, t.total - t.clients - t.employees AS admins
+            FROM (SELECT (SELECT count(*) FROM users) AS total,
+                         (SELECT count(*) FROM clients) AS clients,
+                         (SELECT count(*) FROM employees) AS employees) t
+            """, nativeQuery = true)
+    UserTypeCounts countByType();
+}
@@ -0,0 +1,30 @@
+package com.epita.airlineapi.repository;
+
+import com.epita.airlineapi.model.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    List<WaitlistEntry> findByFlightIdOrderByEntryId(Long flightId);
+
+    boolean existsByFlightId(Long flightId);
+
+    boolean existsByFlightIdAndClientId(Long flightId, Long clientId);
+
+    // Position in the queue = entries ahead + 1 (seats are shared by both cabins, so one queue per flight)
+    long countByFlightIdAndEntryIdLessThan(Long flightId, Long entryId);
+
+    // Set-based deletes used when a flight or client is removed
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.flightId = :flightId")
+    int deleteAllByFlightId(@Param("flightId") Long flightId);
+
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.clientId = :clientId")
+    int deleteAllByClientId(@Param("clientId") Long clientId);
+}
@@ -0,0 +1,103 @@
+package com.epita.airlineapi.service;
+
+import com.epita.airlineapi.model.Airport;
+import com.epita.airlineapi.repository.AirportRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Great-circle distances between every pair of airports with coordinates, computed once per change.
+// Airports get a compact ordinal (position in the sorted id array) and the symmetric matrix is stored
+// as its lower triangle in one float[]: a lookup is two binary searches and an array read.
+// Memory is n²/2 floats (2,000 airports: ~8 MB). Rebuilt copy-on-write like AirportSuggestIndex.
+@Component
+public class AirportDistanceMatrix {
+
+    public static final double KM_TO_MILES = 0.621371;
+    private static final double EARTH_RADIUS_KM = 6371.0088; // mean radius
+
+    private record Matrix(long[] ids, float[] km) {
+        static final Matrix EMPTY = new Matrix(new long[0], new float[0]);
+    }
+
+    private final AirportRepository airportRepository;
+    private volatile Matrix matrix = Matrix.EMPTY;
+
+    public AirportDistanceMatrix(AirportRepository airportRepository) {
+        this.airportRepository = airportRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAirportsChanged(AirportsChangedEvent event) {
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        matrix = build(airportRepository.findAll());
+    }
+
+    // Kilometres between two airports, NaN if either is unknown or has no coordinates
+    public double distanceKm(long fromAirportId, long toAirportId) {
+        Matrix current = matrix;
+        int from = Arrays.binarySearch(current.ids(), fromAirportId);
+        int to = Arrays.binarySearch(current.ids(), toAirportId);
+        if (from < 0 || to < 0) {
+            return Double.NaN;
+        }
+        if (from == to) {
+            return 0;
+        }
+        return current.km()[index(Math.max(from, to), Math.min(from, to))];
+    }
+
+    public int size() {
+        return matrix.ids().length;
+    }
+
+    // Row i holds the distances to ordinals 0..i-1
+    private static int index(int row, int column) {
+        return (int) ((long) row * (row - 1) / 2) + column;
+    }
+
+    private static Matrix build(List<Airport> airports) {
+        List<Airport> located = airports.stream()
+                .filter(airport -> airport.getLatitude() != null && airport.getLongitude() != null)
+                .sorted((a, b) -> Long.compare(a.getAirportId(), b.getAirportId()))
+                .toList();
+
+        int n = located.size();
+        long[] ids = new long[n];
+        double[] lat = new double[n];
+        double[] lon = new double[n];
+        double[] cosLat = new double[n];
+        for (int i = 0; i < n; i++) {
+            Airport airport = located.get(i);
+            ids[i] = airport.getAirportId();
+            lat[i] = Math.toRadians(airport.getLatitude());
+            lon[i] = Math.toRadians(airport.getLongitude());
+            cosLat[i] = Math.cos(lat[i]);
+        }
+
+        // Haversine, numerically stable for the short hops too
+        float[] km = new float[index(n, 0)];
+        for (int i = 1; i < n; i++) {
+            int row = index(i, 0);
+            for (int j = 0; j < i; j++) {
+                double sinDLat = Math.sin((lat[i] - lat[j]) / 2);
+                double sinDLon = Math.sin((lon[i] - lon[j]) / 2);
+                double h = sinDLat * sinDLat + cosLat[i] * cosLat[j] * sinDLon * sinDLon;
+                km[row + j] = (float) (2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(h))));
+            }
+        }
+        return new Matrix(ids, km);
+    }
+}
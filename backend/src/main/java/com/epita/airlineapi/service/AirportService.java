@@ -1,8 +1,10 @@
 package com.epita.airlineapi.service;
 
+import com.epita.airlineapi.dto.AirportDistance;
 import com.epita.airlineapi.model.Airport;
 import com.epita.airlineapi.repository.AirportRepository;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -13,9 +15,14 @@ import java.util.Objects;
 public class AirportService {
 
     private final AirportRepository airportRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AirportDistanceMatrix distanceMatrix;
 
-    public AirportService(AirportRepository airportRepository) {
+    public AirportService(AirportRepository airportRepository, ApplicationEventPublisher eventPublisher,
+                          AirportDistanceMatrix distanceMatrix) {
         this.airportRepository = airportRepository;
+        this.eventPublisher = eventPublisher;
+        this.distanceMatrix = distanceMatrix;
     }
 
     // GET ALL
@@ -29,10 +36,32 @@ public class AirportService {
                 .orElseThrow(() -> new NoSuchElementException("Airport with id " + airportId + " does not exist"));
     }
 
+    // DISTANCE (precomputed matrix; the database is only read to explain a miss)
+    public AirportDistance getDistance(Long fromAirportId, Long toAirportId) {
+        double km = distanceMatrix.distanceKm(fromAirportId, toAirportId);
+        if (Double.isNaN(km)) {
+            Airport from = getAirportById(fromAirportId);
+            Airport to = getAirportById(toAirportId);
+            for (Airport airport : List.of(from, to)) {
+                if (airport.getLatitude() == null || airport.getLongitude() == null) {
+                    throw new IllegalStateException("Airport with id " + airport.getAirportId() + " has no coordinates");
+                }
+            }
+            // Both located: the matrix predates a change made through another instance
+            distanceMatrix.rebuild();
+            km = distanceMatrix.distanceKm(fromAirportId, toAirportId);
+        }
+        return new AirportDistance(fromAirportId, toAirportId, km,
+                Math.round(km * AirportDistanceMatrix.KM_TO_MILES));
+    }
+
     // CREATE
     public Airport saveAirport(Airport airport) {
+        validateCoordinates(airport.getLatitude(), airport.getLongitude());
         // Optional: Check if an airport with the same name already exists?
-        return airportRepository.save(airport);
+        Airport savedAirport = airportRepository.save(airport);
+        eventPublisher.publishEvent(new AirportsChangedEvent());
+        return savedAirport;
     }
 
     // UPDATE
@@ -62,15 +91,39 @@ public class AirportService {
             airport.setAirportCity(updateRequest.getAirportCity());
         }
 
-        // 5.Return updated entity
+        // 5.Update Coordinates (both together)
+        if (updateRequest.getLatitude() != null || updateRequest.getLongitude() != null) {
+            validateCoordinates(updateRequest.getLatitude(), updateRequest.getLongitude());
+            airport.setLatitude(updateRequest.getLatitude());
+            airport.setLongitude(updateRequest.getLongitude());
+        }
+
+        // 6.Cached search results embed the airport, drop them once this commits
+        eventPublisher.publishEvent(FlightSearchInvalidationEvent.everything());
+        eventPublisher.publishEvent(new AirportsChangedEvent());
+
+        // 7.Return updated entity
         return airport;
     }
 
+    private void validateCoordinates(Double latitude, Double longitude) {
+        if (latitude == null && longitude == null) {
+            return;
+        }
+        if (latitude == null || longitude == null) {
+            throw new IllegalArgumentException("latitude and longitude must be given together");
+        }
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("latitude must be within [-90, 90] and longitude within [-180, 180]");
+        }
+    }
+
     // DELETE
     public void deleteAirport(Long airportId) {
         if (!airportRepository.existsById(airportId)) {
             throw new NoSuchElementException("Airport with id " + airportId + " does not exist");
         }
         airportRepository.deleteById(airportId);
+        eventPublisher.publishEvent(new AirportsChangedEvent());
     }
 }
\ No newline at end of file
@@ -0,0 +1,176 @@
+package com.epita.airlineapi.service;
+
+import com.epita.airlineapi.dto.AirportSuggestion;
+import com.epita.airlineapi.model.Airport;
+import com.epita.airlineapi.repository.AirportRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+// Autocomplete over airport city, name and country.
+// An immutable prefix trie of case/accent-folded word starts ("Charles de Gaulle" is reachable by
+// "cha", "de" and "gau"), each node holding its precomputed top suggestions: a lookup is one walk
+// down the prefix, no database access. Changes rebuild a new trie and swap it in (copy-on-write).
+// Each instance only sees its own changes; others pick them up on restart.
+@Component
+public class AirportSuggestIndex {
+
+    public static final int MAX_SUGGESTIONS = 10;
+    // Deeper prefixes are resolved at this depth and filtered, keeps the node count bounded
+    private static final int MAX_KEY_LENGTH = 24;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    // Field order is also match priority
+    private enum Field { CITY, NAME, COUNTRY }
+
+    // A suggestion reachable under a key; rank: field priority, whole-field match before inner word
+    private record Entry(AirportSuggestion suggestion, String key, int rank, String label) {}
+
+    private static final Comparator<Entry> BEST_FIRST = Comparator.comparingInt(Entry::rank)
+            .thenComparing(Entry::label)
+            .thenComparing(entry -> entry.suggestion().getAirportId());
+
+    private record Node(char[] keys, Node[] children, Entry[] top) {
+        static final Node EMPTY = new Node(new char[0], new Node[0], new Entry[0]);
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i < 0 ? null : children[i];
+        }
+    }
+
+    private static final class Builder {
+        final TreeMap<Character, Builder> children = new TreeMap<>();
+        final List<Entry> entries = new ArrayList<>();
+    }
+
+    private final AirportRepository airportRepository;
+    private volatile Node root = Node.EMPTY;
+
+    public AirportSuggestIndex(AirportRepository airportRepository) {
+        this.airportRepository = airportRepository;
+    }
+
+    // After the startup runners, so seeded airports are included
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAirportsChanged(AirportsChangedEvent event) {
+        rebuild();
+    }
+
+    // Serialized so a rebuild that read older rows can never overwrite a newer trie
+    public synchronized void rebuild() {
+        root = build(airportRepository.findAll());
+    }
+
+    public List<AirportSuggestion> suggest(String prefix, int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        String key = fold(prefix == null ? "" : prefix.trim());
+        if (key.isEmpty()) {
+            throw new IllegalArgumentException("prefix must not be blank");
+        }
+
+        Node node = root;
+        for (int i = 0; i < Math.min(key.length(), MAX_KEY_LENGTH) && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+
+        List<AirportSuggestion> result = new ArrayList<>(Math.min(limit, node.top().length));
+        for (Entry entry : node.top()) {
+            if (result.size() == limit) break;
+            if (key.length() <= MAX_KEY_LENGTH || entry.key().startsWith(key)) {
+                result.add(entry.suggestion());
+            }
+        }
+        return result;
+    }
+
+    // Case and accent folding: "Zürich" and "ZURICH" both become "zurich"
+    static String fold(String value) {
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static Node build(List<Airport> airports) {
+        Builder root = new Builder();
+        for (Airport airport : airports) {
+            index(root, airport, Field.CITY, airport.getAirportCity());
+            index(root, airport, Field.NAME, airport.getAirportName());
+            index(root, airport, Field.COUNTRY, airport.getAirportCountry());
+        }
+        return freeze(root);
+    }
+
+    private static void index(Builder root, Airport airport, Field field, String value) {
+        if (value == null || value.isBlank()) return;
+        String folded = fold(value.trim());
+        AirportSuggestion suggestion = new AirportSuggestion(airport.getAirportId(), airport.getAirportName(),
+                airport.getAirportCity(), airport.getAirportCountry(), field.name());
+
+        for (int start = 0; start < folded.length(); start++) {
+            boolean wordStart = start == 0 || !Character.isLetterOrDigit(folded.charAt(start - 1));
+            if (!wordStart || !Character.isLetterOrDigit(folded.charAt(start))) continue;
+
+            String key = folded.substring(start);
+            Entry entry = new Entry(suggestion, key, field.ordinal() * 2 + (start == 0 ? 0 : 1), folded);
+            Builder node = root;
+            for (int i = 0; i < Math.min(key.length(), MAX_KEY_LENGTH); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new Builder());
+            }
+            node.entries.add(entry);
+        }
+    }
+
+    // Bottom-up: a node's top list is the best of its own entries and its children's top lists,
+    // one entry per airport
+    private static Node freeze(Builder builder) {
+        char[] keys = new char[builder.children.size()];
+        Node[] children = new Node[keys.length];
+        List<Entry> candidates = new ArrayList<>(builder.entries);
+        int i = 0;
+        for (Map.Entry<Character, Builder> child : builder.children.entrySet()) {
+            keys[i] = child.getKey();
+            children[i] = freeze(child.getValue());
+            candidates.addAll(Arrays.asList(children[i].top()));
+            i++;
+        }
+
+        // Single-child chain without own entries: share the child's list instead of copying it
+        if (builder.entries.isEmpty() && children.length == 1) {
+            return new Node(keys, children, children[0].top());
+        }
+
+        candidates.sort(BEST_FIRST);
+        List<Entry> top = new ArrayList<>(MAX_SUGGESTIONS);
+        Set<Long> seen = new HashSet<>();
+        for (Entry entry : candidates) {
+            if (top.size() == MAX_SUGGESTIONS) break;
+            if (seen.add(entry.suggestion().getAirportId())) {
+                top.add(entry);
+            }
+        }
+        return new Node(keys, children, top.toArray(new Entry[0]));
+    }
+}
@@ -0,0 +1,6 @@
+package com.epita.airlineapi.service;
+
+// Published when an airport is created, updated or deleted.
+// In-memory airport views (suggest trie, distance matrix) rebuild from the table once the change commits.
+public record AirportsChangedEvent() {
+}
@@ -0,0 +1,29 @@
+package com.epita.airlineapi.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Set;
+
+// Who is calling: partners by the X-API-Key issued to them (airline.rate-limit.api-keys), everyone else,
+// including callers sending a key that was never issued, by remote address.
+// Rate limit buckets and Idempotency-Key entries are both kept per client.
+@Component
+public class ApiClients {
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    private final Set<String> apiKeys;
+
+    public ApiClients(Environment environment) {
+        this.apiKeys = Set.copyOf(Arrays.asList(
+                environment.getProperty("airline.rate-limit.api-keys", String[].class, new String[0])));
+    }
+
+    public String identify(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        return apiKey != null && apiKeys.contains(apiKey) ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+    }
+}
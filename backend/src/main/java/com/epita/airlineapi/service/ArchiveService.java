@@ -0,0 +1,603 @@
+package com.epita.airlineapi.service;
+
+import com.epita.airlineapi.archive.ColumnarFile;
+import com.epita.airlineapi.archive.ColumnarFile.Column;
+import com.epita.airlineapi.archive.ColumnarFile.Type;
+import com.epita.airlineapi.dto.ArchiveInfo;
+import com.epita.airlineapi.dto.PartitionInfo;
+import com.epita.airlineapi.dto.PlaneModelRevenue;
+import com.epita.airlineapi.dto.PlaneModelRevenueRow;
+import com.epita.airlineapi.model.Book;
+import com.epita.airlineapi.model.Flight;
+import com.epita.airlineapi.model.Plane;
+import com.epita.airlineapi.repository.AirportRepository;
+import com.epita.airlineapi.repository.ClientRepository;
+import com.epita.airlineapi.repository.PlaneRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Cold archive: whole departure months of flights, their bookings and miles rewards are moved out of
+// PostgreSQL into one compressed columnar file per month (archive-yyyy-MM.alc, see ColumnarFile).
+// - Read-through: getFlightById, getBookById, booking history and the plane-model revenue report fall back
+//   to the files. Lookups use the per-month id ranges of the file headers, then decode only the id column.
+// - Reporting aggregates (flight_cabin_stats, route_daily_stats) are kept, so route reports are unaffected;
+//   ReportService.rebuild() leaves the rows of archived months alone for the same reason.
+// - Archived rows are read-only; restoreMonth() puts a month back into the live tables.
+// Driven by the archive CLI (ArchiveCommand); running API instances pick up new files within
+// airline.archive.poll-interval-ms and evict their caches then (pollDirectory).
+@Service
+public class ArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchiveService.class);
+
+    private static final Pattern FILE_NAME = Pattern.compile("^archive-(\\d{4}-\\d{2})\\.alc$");
+
+    private static final String FLIGHTS = "flights";
+    private static final String BOOKS = "books";
+    private static final String REWARDS = "miles_reward";
+
+    private static final String[] FLIGHT_COLUMNS = {"flight_id", "flight_number", "departure_city", "arrival_city",
+            "departure_date", "arrival_date", "departure_airport_id", "arrival_airport_id", "plane_id",
+            "number_of_seats", "business_price", "economy_price", "schedule_id"};
+    private static final Type[] FLIGHT_TYPES = {Type.LONG, Type.STRING, Type.STRING, Type.STRING,
+            Type.DATE, Type.DATE, Type.LONG, Type.LONG, Type.LONG,
+            Type.LONG, Type.DECIMAL, Type.DECIMAL, Type.LONG};
+    // price_paid is missing from files written before it existed: read as null there (see rowsOf)
+    private static final String[] BOOK_COLUMNS = {"reservation_id", "flight_id", "departure_date", "client_id", "type_of_seat",
+            "price_paid"};
+    private static final Type[] BOOK_TYPES = {Type.LONG, Type.LONG, Type.DATE, Type.LONG, Type.STRING, Type.DECIMAL};
+    private static final String[] REWARD_COLUMNS = {"id_reward", "client_id", "flight_id", "reward_date", "miles"};
+    private static final Type[] REWARD_TYPES = {Type.LONG, Type.LONG, Type.LONG, Type.DATE, Type.LONG};
+
+    private record ColumnKey(YearMonth month, String table, String column) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PartitionService partitionService;
+    private final AirportRepository airportRepository;
+    private final PlaneRepository planeRepository;
+    private final ClientRepository clientRepository;
+    private final CacheService cacheService;
+    private final Path directory;
+    private final int olderThanDays;
+    // Decoded column blocks; a month's id column is what most lookups need
+    private final Cache<ColumnKey, Column> columns;
+
+    // Month -> file header, replaced as a whole when the directory changes
+    private volatile NavigableMap<YearMonth, ColumnarFile.Reader> months = new TreeMap<>();
+    private volatile FileTime indexedAt;
+
+    public ArchiveService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                          PartitionService partitionService, AirportRepository airportRepository,
+                          PlaneRepository planeRepository, ClientRepository clientRepository, CacheService cacheService,
+                          @Value("${airline.archive.directory:archive}") Path directory,
+                          @Value("${airline.archive.older-than-days:90}") int olderThanDays,
+                          @Value("${airline.archive.cached-columns:64}") long cachedColumns) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(5_000);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partitionService = partitionService;
+        this.airportRepository = airportRepository;
+        this.planeRepository = planeRepository;
+        this.clientRepository = clientRepository;
+        this.cacheService = cacheService;
+        this.directory = directory;
+        this.olderThanDays = olderThanDays;
+        this.columns = Caffeine.newBuilder().maximumSize(cachedColumns).build();
+    }
+
+    public int getOlderThanDays() {
+        return olderThanDays;
+    }
+
+    // ==========================================
+    // LIST
+    // ==========================================
+
+    public List<ArchiveInfo> getArchives() {
+        List<ArchiveInfo> archives = new ArrayList<>();
+        refreshIfChanged().forEach((month, reader) -> archives.add(info(month, reader)));
+        return archives;
+    }
+
+    // ==========================================
+    // ARCHIVE
+    // ==========================================
+
+    // Archives every month whose last day is before the cutoff; returns the months written
+    public List<ArchiveInfo> archiveDepartedBefore(LocalDate cutoff) {
+        YearMonth lastMonth = YearMonth.from(cutoff).minusMonths(1);
+        TreeSet<YearMonth> candidates = new TreeSet<>();
+        if (partitionService.isPartitioned()) {
+            // Attached and detached partitions alike; empty ones are skipped below
+            for (PartitionInfo partition : partitionService.getPartitions()) {
+                YearMonth month = YearMonth.from(partition.getFromDate());
+                if (!month.isAfter(lastMonth)) {
+                    candidates.add(month);
+                }
+            }
+        } else {
+            candidates.addAll(jdbcTemplate.queryForList("""
+                    SELECT DISTINCT CAST(date_trunc('month', departure_date) AS date) FROM flights
+                    WHERE departure_date < ?
+                    """, LocalDate.class, lastMonth.plusMonths(1).atDay(1)).stream().map(YearMonth::from).toList());
+        }
+
+        List<ArchiveInfo> archived = new ArrayList<>();
+        for (YearMonth month : candidates) {
+            archiveMonth(month).ifPresent(archived::add);
+        }
+        return archived;
+    }
+
+    public Optional<ArchiveInfo> archiveMonth(YearMonth month) {
+        // 1. export the month to a file, fsynced and moved into place, while its rows stay live;
+        // 2. one transaction locks the month against writes, checks nothing changed since the export, deletes
+        //    the rows (partitioned: detaches and drops the month's tables, no DELETE, no bloat).
+        // A failure before 2 commits leaves the month live and attached; its file is removed, or, if it
+        // already held rows of the month, kept (a later run merges by id, a restore skips rows already live).
+        boolean partitioned = partitionService.isPartitioned();
+        String flightsTable = FLIGHTS;
+        String flightFilter = " WHERE departure_date >= '" + month.atDay(1) + "' AND departure_date < '" + month.plusMonths(1).atDay(1) + "'";
+        String booksTable = BOOKS;
+        if (partitioned) {
+            // Attached, or detached by retention: the month's tables hold exactly its rows either way
+            flightsTable = PartitionService.partitionName(FLIGHTS, month);
+            booksTable = PartitionService.partitionName(BOOKS, month);
+            flightFilter = "";
+            if (!tableExists(flightsTable)) {
+                return Optional.empty();
+            }
+        }
+        String monthFlightIds = "SELECT flight_id FROM " + flightsTable + flightFilter;
+
+        ColumnarFile.Table flights = new ColumnarFile.Table(FLIGHTS, FLIGHT_COLUMNS, FLIGHT_TYPES);
+        ColumnarFile.Table books = new ColumnarFile.Table(BOOKS, BOOK_COLUMNS, BOOK_TYPES);
+        ColumnarFile.Table rewards = new ColumnarFile.Table(REWARDS, REWARD_COLUMNS, REWARD_TYPES);
+        String finalFlightsTable = flightsTable;
+        String finalBooksTable = booksTable;
+        String finalFlightFilter = flightFilter;
+        // One snapshot for the three reads
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.query("SELECT * FROM " + finalFlightsTable + finalFlightFilter + " ORDER BY flight_id",
+                    (RowCallbackHandler) flights::addRow);
+            jdbcTemplate.query("SELECT * FROM " + finalBooksTable + " WHERE flight_id IN (" + monthFlightIds + ") ORDER BY reservation_id",
+                    (RowCallbackHandler) books::addRow);
+            jdbcTemplate.query("SELECT * FROM miles_reward WHERE flight_id IN (" + monthFlightIds + ") ORDER BY id_reward",
+                    (RowCallbackHandler) rewards::addRow);
+        });
+        if (flights.rows() == 0) {
+            return Optional.empty();
+        }
+
+        Path file = fileOf(month);
+        boolean existed = Files.exists(file);
+        writeArchive(file, existed, flights, books, rewards);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Bookings and rewards of the month wait for this transaction (or fail it, after lock_timeout)
+                jdbcTemplate.execute("SET LOCAL lock_timeout = '5s'");
+                jdbcTemplate.execute("LOCK TABLE " + finalFlightsTable + ", " + finalBooksTable + ", miles_reward IN SHARE MODE");
+                long liveFlights = count("SELECT count(*) FROM " + finalFlightsTable + finalFlightFilter);
+                long liveBooks = count("SELECT count(*) FROM " + finalBooksTable + " WHERE flight_id IN (" + monthFlightIds + ")");
+                long liveRewards = count("SELECT count(*) FROM miles_reward WHERE flight_id IN (" + monthFlightIds + ")");
+                if (liveFlights != flights.rows() || liveBooks != books.rows() || liveRewards != rewards.rows()) {
+                    throw new IllegalStateException(month + " changed while it was being archived, run the archive again");
+                }
+
+                jdbcTemplate.update("DELETE FROM miles_reward WHERE flight_id IN (" + monthFlightIds + ")");
+                // Waiters of departed flights are not archived: nobody can be promoted any more
+                jdbcTemplate.update("DELETE FROM waitlist_entries WHERE flight_id IN (" + monthFlightIds + ")");
+                if (partitioned) {
+                    partitionService.dropMonth(month);
+                } else {
+                    jdbcTemplate.update("DELETE FROM books WHERE flight_id IN (" + monthFlightIds + ")");
+                    jdbcTemplate.update("DELETE FROM flights" + finalFlightFilter);
+                }
+            });
+        } catch (RuntimeException ex) {
+            if (!existed) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException deleteFailure) {
+                    ex.addSuppressed(deleteFailure);
+                }
+            }
+            afterChange(month);
+            throw ex;
+        }
+
+        afterChange(month);
+        ArchiveInfo info = info(month, months.get(month));
+        log.info("Archived {}: {} flights, {} bookings, {} miles rewards, {} bytes", month,
+                flights.rows(), books.rows(), rewards.rows(), info.getSizeBytes());
+        return Optional.of(info);
+    }
+
+    // ==========================================
+    // RESTORE
+    // ==========================================
+
+    // Inserts a month back into the live tables and removes its file.
+    // Fails (400) if an airport, plane or client of the month has been deleted in the meantime.
+    public ArchiveInfo restoreMonth(YearMonth month) {
+        ColumnarFile.Reader reader = refreshIfChanged().get(month);
+        if (reader == null) {
+            throw new NoSuchElementException("No archive for " + month);
+        }
+        ArchiveInfo info = info(month, reader);
+        List<Object[]> flights = rowsOf(reader, FLIGHTS, FLIGHT_COLUMNS);
+        List<Object[]> books = rowsOf(reader, BOOKS, BOOK_COLUMNS);
+        List<Object[]> rewards = rowsOf(reader, REWARDS, REWARD_COLUMNS);
+
+        // Re-attaches tables left detached for the month, creates missing ones. Months past retention are
+        // detached again by the next partition maintenance.
+        partitionService.attachMonth(month);
+        transactionTemplate.executeWithoutResult(status -> {
+            // Rows still live (an archive run that failed after writing the file) are skipped, not duplicated
+            jdbcTemplate.batchUpdate(insertSql(FLIGHTS, FLIGHT_COLUMNS), flights);
+            jdbcTemplate.batchUpdate(insertSql(BOOKS, BOOK_COLUMNS), books);
+            jdbcTemplate.batchUpdate(insertSql(REWARDS, REWARD_COLUMNS), rewards);
+        });
+        try {
+            Files.delete(reader.file());
+        } catch (IOException ex) {
+            // Rows are live again; a leftover file is only consulted when a live lookup misses
+            log.warn("Restored {} but could not delete {}: {}", month, reader.file(), ex.getMessage());
+        }
+        afterChange(month);
+        log.info("Restored {}: {} flights, {} bookings, {} miles rewards", month,
+                info.getFlights(), info.getBookings(), info.getMilesRewards());
+        return info;
+    }
+
+    // ==========================================
+    // READ-THROUGH
+    // ==========================================
+
+    public Optional<Flight> findFlight(Long flightId) {
+        if (flightId == null) {
+            return Optional.empty();
+        }
+        for (Map.Entry<YearMonth, ColumnarFile.Reader> entry : candidates(FLIGHTS, "flight_id", flightId)) {
+            int row = column(entry.getKey(), FLIGHTS, "flight_id").indexOf(flightId);
+            if (row >= 0) {
+                return Optional.of(toFlight(entry.getKey(), row));
+            }
+        }
+        return Optional.empty();
+    }
+
+    public Optional<Book> findBook(Long reservationId) {
+        if (reservationId == null) {
+            return Optional.empty();
+        }
+        for (Map.Entry<YearMonth, ColumnarFile.Reader> entry : candidates(BOOKS, "reservation_id", reservationId)) {
+            int row = column(entry.getKey(), BOOKS, "reservation_id").indexOf(reservationId);
+            if (row >= 0) {
+                return Optional.of(toBook(entry.getKey(), row));
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Archived bookings of a client, oldest month first (scans one column per month)
+    public List<Book> findBooksByClient(Long clientId) {
+        List<Book> result = new ArrayList<>();
+        for (Map.Entry<YearMonth, ColumnarFile.Reader> entry : refreshIfChanged().entrySet()) {
+            ColumnarFile.Reader reader = entry.getValue();
+            if (reader.rows(BOOKS) == 0
+                    || clientId < reader.min(BOOKS, "client_id") || clientId > reader.max(BOOKS, "client_id")) {
+                continue;
+            }
+            Column clients = column(entry.getKey(), BOOKS, "client_id");
+            for (int row = 0; row < clients.size(); row++) {
+                if (clients.getLong(row) == clientId) {
+                    result.add(toBook(entry.getKey(), row));
+                }
+            }
+        }
+        return result;
+    }
+
+    // Same figures as FlightCabinStatsRepository.revenueByPlaneModel, for archived months in the range
+    public List<PlaneModelRevenue> revenueByPlaneModel(LocalDate start, LocalDate end) {
+        Map<Long, long[]> bookingsByPlane = new HashMap<>();
+        Map<Long, BigDecimal> revenueByPlane = new HashMap<>();
+        for (Map.Entry<YearMonth, ColumnarFile.Reader> entry
+                : refreshIfChanged().subMap(YearMonth.from(start), true, YearMonth.from(end), true).entrySet()) {
+            YearMonth month = entry.getKey();
+            Column flightIds = column(month, FLIGHTS, "flight_id");
+            Column dates = column(month, FLIGHTS, "departure_date");
+            Column planes = column(month, FLIGHTS, "plane_id");
+            Column business = column(month, FLIGHTS, "business_price");
+            Column economy = column(month, FLIGHTS, "economy_price");
+            Column bookedFlights = column(month, BOOKS, "flight_id");
+            Column seatTypes = column(month, BOOKS, "type_of_seat");
+            Column paid = entry.getValue().hasColumn(BOOKS, "price_paid") ? column(month, BOOKS, "price_paid") : null;
+            for (int row = 0; row < bookedFlights.size(); row++) {
+                int flight = flightIds.indexOf(bookedFlights.getLong(row));
+                if (flight < 0) {
+                    continue;
+                }
+                LocalDate date = dates.getDate(flight);
+                if (date.isBefore(start) || date.isAfter(end)) {
+                    continue;
+                }
+                long planeId = planes.getLong(flight);
+                // Price paid, as in flight_cabin_stats; the fare for bookings archived before it was stored
+                BigDecimal price = paid != null ? paid.getDecimal(row) : null;
+                if (price == null) {
+                    price = "BUSINESS".equalsIgnoreCase(seatTypes.getString(row))
+                            ? business.getDecimal(flight) : economy.getDecimal(flight);
+                }
+                bookingsByPlane.computeIfAbsent(planeId, id -> new long[1])[0]++;
+                revenueByPlane.merge(planeId, price, BigDecimal::add);
+            }
+        }
+
+        Map<String, PlaneModelRevenueRow> byModel = new HashMap<>();
+        bookingsByPlane.forEach((planeId, bookings) -> {
+            Optional<Plane> plane = planeRepository.findById(planeId);
+            String brand = plane.map(Plane::getPlaneBrand).orElse(null);
+            String model = plane.map(Plane::getPlaneModel).orElse(null);
+            byModel.merge(brand + "\u0000" + model,
+                    new PlaneModelRevenueRow(brand, model, bookings[0], revenueByPlane.get(planeId)),
+                    (a, b) -> new PlaneModelRevenueRow(brand, model, a.getBookings() + b.getBookings(),
+                            a.getRevenue().add(b.getRevenue())));
+        });
+        return new ArrayList<>(byModel.values());
+    }
+
+    // ==========================================
+    // HELPERS
+    // ==========================================
+
+    // Written to a temporary file (fsynced by ColumnarFile.write), then renamed over the month's file and the
+    // directory entry flushed: once this returns, the export survives a crash
+    private void writeArchive(Path file, boolean existed, ColumnarFile.Table flights, ColumnarFile.Table books,
+                              ColumnarFile.Table rewards) {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(directory);
+            List<ColumnarFile.Table> tables = existed
+                    ? merge(ColumnarFile.open(file), flights, books, rewards)
+                    : List.of(flights, books, rewards);
+            ColumnarFile.write(temporary, tables);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write " + file, ex);
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ex) {
+            // Not supported on every platform (Windows); the rename is then as durable as the OS makes it
+            log.debug("Could not flush directory {}: {}", directory, ex.getMessage());
+        }
+    }
+
+    private long count(String sql) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class);
+        return count != null ? count : 0;
+    }
+
+    private Flight toFlight(YearMonth month, int row) {
+        Flight flight = new Flight();
+        flight.setFlightId(column(month, FLIGHTS, "flight_id").getLong(row));
+        flight.setFlightNumber(column(month, FLIGHTS, "flight_number").getString(row));
+        flight.setDepartureCity(column(month, FLIGHTS, "departure_city").getString(row));
+        flight.setArrivalCity(column(month, FLIGHTS, "arrival_city").getString(row));
+        flight.setDepartureDate(column(month, FLIGHTS, "departure_date").getDate(row));
+        flight.setArrivalDate(column(month, FLIGHTS, "arrival_date").getDate(row));
+        // Second-level cached; null if deleted since archiving
+        flight.setDepartureAirport(airportRepository.findById(column(month, FLIGHTS, "departure_airport_id").getLong(row)).orElse(null));
+        flight.setArrivalAirport(airportRepository.findById(column(month, FLIGHTS, "arrival_airport_id").getLong(row)).orElse(null));
+        flight.setPlane(planeRepository.findById(column(month, FLIGHTS, "plane_id").getLong(row)).orElse(null));
+        flight.setNumberOfSeats((int) column(month, FLIGHTS, "number_of_seats").getLong(row));
+        flight.setBusinessPrice(column(month, FLIGHTS, "business_price").getDecimal(row));
+        flight.setEconomyPrice(column(month, FLIGHTS, "economy_price").getDecimal(row));
+        flight.setScheduleId(column(month, FLIGHTS, "schedule_id").getLongOrNull(row));
+        return flight;
+    }
+
+    private Book toBook(YearMonth month, int row) {
+        Book book = new Book();
+        book.setReservationId(column(month, BOOKS, "reservation_id").getLong(row));
+        long flightId = column(month, BOOKS, "flight_id").getLong(row);
+        int flightRow = column(month, FLIGHTS, "flight_id").indexOf(flightId);
+        book.setFlight(flightRow >= 0 ? toFlight(month, flightRow) : null);
+        book.setDepartureDate(column(month, BOOKS, "departure_date").getDate(row));
+        book.setClient(clientRepository.findById(column(month, BOOKS, "client_id").getLong(row)).orElse(null));
+        book.setTypeOfSeat(column(month, BOOKS, "type_of_seat").getString(row));
+        ColumnarFile.Reader reader = months.get(month);
+        if (reader != null && reader.hasColumn(BOOKS, "price_paid")) {
+            book.setPricePaid(column(month, BOOKS, "price_paid").getDecimal(row));
+        }
+        return book;
+    }
+
+    // Months whose id range (from the file header) contains the id, newest first
+    private List<Map.Entry<YearMonth, ColumnarFile.Reader>> candidates(String table, String idColumn, long id) {
+        List<Map.Entry<YearMonth, ColumnarFile.Reader>> result = new ArrayList<>();
+        for (Map.Entry<YearMonth, ColumnarFile.Reader> entry : refreshIfChanged().descendingMap().entrySet()) {
+            ColumnarFile.Reader reader = entry.getValue();
+            if (reader.rows(table) > 0 && id >= reader.min(table, idColumn) && id <= reader.max(table, idColumn)) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    private Column column(YearMonth month, String table, String column) {
+        return columns.get(new ColumnKey(month, table, column), key -> {
+            ColumnarFile.Reader reader = months.get(month);
+            if (reader == null) {
+                throw new IllegalStateException("Archive of " + month + " is no longer available");
+            }
+            try {
+                return reader.column(table, column);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    // Archive runs and restores happen in the CLI's process, whose cache eviction does not reach a running API.
+    // The API notices them as a change of the directory, here or on its next archive lookup, and drops its own
+    // cached flights and search results (reload), which may still hold the moved rows.
+    @Scheduled(fixedDelayString = "${airline.archive.poll-interval-ms:30000}")
+    public void pollDirectory() {
+        refreshIfChanged();
+    }
+
+    private NavigableMap<YearMonth, ColumnarFile.Reader> refreshIfChanged() {
+        try {
+            FileTime modified = Files.isDirectory(directory) ? Files.getLastModifiedTime(directory) : null;
+            if (modified != null && !modified.equals(indexedAt)) {
+                reload(modified);
+            }
+        } catch (IOException ex) {
+            log.warn("Could not read archive directory {}: {}", directory, ex.getMessage());
+        }
+        return months;
+    }
+
+    private synchronized void reload(FileTime modified) throws IOException {
+        NavigableMap<YearMonth, ColumnarFile.Reader> loaded = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "archive-*.alc")) {
+            for (Path file : files) {
+                Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    loaded.put(YearMonth.parse(matcher.group(1)), ColumnarFile.open(file));
+                }
+            }
+        }
+        FileTime previous = indexedAt;
+        months = loaded;
+        indexedAt = modified;
+        columns.invalidateAll();
+        if (previous != null) {
+            cacheService.evictAll();
+        }
+    }
+
+    private void afterChange(YearMonth month) {
+        indexedAt = null;
+        refreshIfChanged();
+        columns.asMap().keySet().removeIf(key -> key.month().equals(month));
+        // Cached flights and search results must reflect where the rows now live
+        cacheService.evictAll();
+    }
+
+    private Path fileOf(YearMonth month) {
+        return directory.resolve("archive-" + month + ".alc");
+    }
+
+    private ArchiveInfo info(YearMonth month, ColumnarFile.Reader reader) {
+        long size;
+        try {
+            size = Files.size(reader.file());
+        } catch (IOException ex) {
+            size = -1;
+        }
+        return new ArchiveInfo(month.toString(), reader.file().toString(), reader.rows(FLIGHTS),
+                reader.rows(BOOKS), reader.rows(REWARDS), size);
+    }
+
+    private boolean tableExists(String table) {
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    private static List<Object[]> rowsOf(ColumnarFile.Reader reader, String table, String[] columnNames) {
+        int rows = reader.rows(table);
+        Column[] columns = new Column[columnNames.length];
+        try {
+            for (int i = 0; i < columnNames.length; i++) {
+                // Columns added after the file was written stay null
+                columns[i] = reader.hasColumn(table, columnNames[i]) ? reader.column(table, columnNames[i]) : null;
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        List<Object[]> result = new ArrayList<>(rows);
+        for (int row = 0; row < rows; row++) {
+            Object[] values = new Object[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                values[i] = columns[i] != null ? columns[i].get(row) : null;
+            }
+            result.add(values);
+        }
+        return result;
+    }
+
+    // Existing file + new rows, by id; a row archived twice (failed commit, see archiveMonth) is kept once,
+    // in its latest version
+    private static List<ColumnarFile.Table> merge(ColumnarFile.Reader existing, ColumnarFile.Table flights,
+                                                  ColumnarFile.Table books, ColumnarFile.Table rewards) {
+        return List.of(
+                mergeTable(existing, FLIGHTS, FLIGHT_COLUMNS, FLIGHT_TYPES, flights),
+                mergeTable(existing, BOOKS, BOOK_COLUMNS, BOOK_TYPES, books),
+                mergeTable(existing, REWARDS, REWARD_COLUMNS, REWARD_TYPES, rewards));
+    }
+
+    private static ColumnarFile.Table mergeTable(ColumnarFile.Reader existing, String table, String[] columnNames,
+                                                 Type[] types, ColumnarFile.Table fresh) {
+        if (!existing.hasTable(table)) {
+            return fresh;
+        }
+        // Ids are the first column; sorted again so indexOf keeps working
+        TreeMap<Long, Object[]> rows = new TreeMap<>();
+        for (Object[] row : rowsOf(existing, table, columnNames)) {
+            rows.put((Long) row[0], row);
+        }
+        for (int row = 0; row < fresh.rows(); row++) {
+            Object[] values = fresh.row(row);
+            rows.put((Long) values[0], values);
+        }
+        ColumnarFile.Table merged = new ColumnarFile.Table(table, columnNames, types);
+        rows.values().forEach(merged::addRow);
+        return merged;
+    }
+
+    private static String insertSql(String table, String[] columnNames) {
+        return "INSERT INTO " + table + " (" + String.join(", ", columnNames) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columnNames.length, "?")) + ") ON CONFLICT DO NOTHING";
+    }
+}
@@ -1,5 +1,7 @@
 package com.epita.airlineapi.service;
 
+import com.epita.airlineapi.dto.SeatHold;
+import com.epita.airlineapi.journal.BookingEvent;
 import com.epita.airlineapi.model.Book;
 import com.epita.airlineapi.model.Client;
 import com.epita.airlineapi.model.Flight;
@@ -7,8 +9,11 @@ import com.epita.airlineapi.repository.BookRepository;
 import com.epita.airlineapi.repository.ClientRepository;
 import com.epita.airlineapi.repository.FlightRepository;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
@@ -20,14 +25,29 @@ public class BookService {
     private final BookRepository bookRepository;
     private final ClientRepository clientRepository;
     private final FlightRepository flightRepository;
+    private final ReportService reportService;
+    private final FlightScheduleService flightScheduleService;
+    private final ArchiveService archiveService;
+    private final SeatHoldService seatHoldService;
+    private final ApplicationEventPublisher eventPublisher;
     private static final Set<String> ALLOWED_SEAT_TYPES = Set.of("ECONOMY", "BUSINESS");
 
     public BookService(BookRepository bookRepository,
                        ClientRepository clientRepository,
-                       FlightRepository flightRepository) {
+                       FlightRepository flightRepository,
+                       ReportService reportService,
+                       FlightScheduleService flightScheduleService,
+                       ArchiveService archiveService,
+                       SeatHoldService seatHoldService,
+                       ApplicationEventPublisher eventPublisher) {
         this.bookRepository = bookRepository;
         this.clientRepository = clientRepository;
         this.flightRepository = flightRepository;
+        this.reportService = reportService;
+        this.flightScheduleService = flightScheduleService;
+        this.archiveService = archiveService;
+        this.seatHoldService = seatHoldService;
+        this.eventPublisher = eventPublisher;
     }
 
     // GET ALL
@@ -35,15 +55,55 @@ public class BookService {
         return bookRepository.findAll();
     }
 
-    // GET ONE
+    // GET HISTORY OF A CLIENT (live bookings, then archived months)
+    public List<Book> getBookingHistory(Long clientId) {
+        if (!clientRepository.existsById(clientId)) {
+            throw new NoSuchElementException("Client with ID " + clientId + " not found");
+        }
+        List<Book> history = new ArrayList<>(archiveService.findBooksByClient(clientId));
+        history.addAll(bookRepository.findByClient_UserIdOrderByDepartureDate(clientId));
+        return history;
+    }
+
+    // GET ONE, falling back to the cold archive
     public Book getBookById(Long id) {
         return bookRepository.findById(id)
+                .or(() -> archiveService.findBook(id))
                 .orElseThrow(() -> new NoSuchElementException("Reservation " + id + " not found"));
     }
 
+    // Live row only: archived bookings are read-only
+    private Book getLiveBook(Long id) {
+        return bookRepository.findById(id).orElseThrow(() -> archiveService.findBook(id).isPresent()
+                ? new IllegalStateException("Reservation " + id + " is archived, restore its month to change it")
+                : new NoSuchElementException("Reservation " + id + " not found"));
+    }
+
     // CREATE
     @Transactional
     public Book createBook(Book book) {
+        return createBook(book, 0);
+    }
+
+    // CONFIRM A SEAT HOLD: the held seat becomes a booking (released after commit, held again after rollback)
+    @Transactional
+    public Book confirmHold(Long flightId, String holdId) {
+        SeatHold hold = seatHoldService.claim(flightId, holdId);
+        eventPublisher.publishEvent(new SeatHoldClaimedEvent(holdId));
+
+        Book book = new Book();
+        book.setTypeOfSeat(hold.getTypeOfSeat());
+        Client client = new Client();
+        client.setUserId(hold.getClientId());
+        book.setClient(client);
+        Flight flight = new Flight();
+        flight.setFlightId(flightId);
+        book.setFlight(flight);
+        // The hold's own seat is still counted as held until commit
+        return createBook(book, 1);
+    }
+
+    private Book createBook(Book book, int ownHeldSeats) {
         if (book == null) {
             throw new IllegalArgumentException("Booking payload is required");
         }
@@ -62,24 +122,42 @@ public class BookService {
         book.setClient(client);
 
         // Validate Flight Relationship
-        if (book.getFlight() == null || book.getFlight().getFlightId() == null) {
+        if (book.getFlight() == null) {
             throw new IllegalArgumentException("Booking must have a valid Flight ID");
         }
 
-        // Fetch the full Flight entity from DB
-        Flight flight = flightRepository.findById(book.getFlight().getFlightId())
-                .orElseThrow(() -> new NoSuchElementException("Flight with ID " + book.getFlight().getFlightId() + " not found"));
+        Long flightId;
+        if (book.getFlight().getFlightId() != null) {
+            flightId = book.getFlight().getFlightId();
+        } else if (book.getFlight().getScheduleId() != null) {
+            // First booking of a recurring flight (search result without flightId): materialize it now
+            flightId = flightScheduleService.materialize(book.getFlight().getScheduleId(), book.getFlight().getDepartureDate())
+                    .getFlightId();
+        } else {
+            throw new IllegalArgumentException("Booking must have a valid Flight ID (or scheduleId and departureDate)");
+        }
+        // Row lock on the flight until commit: the seat count and duplicate checks below stay true up to the insert
+        Flight flight = lockFlight(flightId);
 
-        validateSeatAvailability(flight, client);
+        validateSeatAvailability(flight, client, ownHeldSeats);
         book.setFlight(flight);
-
-        return bookRepository.save(book);
+        book.setDepartureDate(flight.getDepartureDate()); // partition key of books
+        book.setPricePaid(fareFor(flight, book.getTypeOfSeat())); // never taken from the payload
+
+        Book savedBook = bookRepository.save(book);
+        reportService.recordBooking(flight, savedBook.getTypeOfSeat(), savedBook.getPricePaid());
+        // Journaled after commit (BookingJournal), so the generated reservation id is final
+        eventPublisher.publishEvent(BookingEvent.created(savedBook));
+        return savedBook;
     }
 
     // UPDATE
     @Transactional
     public Book updateBook(Long id, Book updateRequest) {
-        Book existingBook = getBookById(id);
+        Book existingBook = getLiveBook(id);
+        Flight previousFlight = existingBook.getFlight();
+        String previousSeatType = existingBook.getTypeOfSeat();
+        BigDecimal previousPrice = existingBook.getPricePaid();
 
         // 1.Update Seat Type
         if (updateRequest != null &&
@@ -97,27 +175,45 @@ public class BookService {
             Long currentFlightId = existingBook.getFlight() != null ? existingBook.getFlight().getFlightId() : null;
 
             if (!newFlightId.equals(currentFlightId)) {
-                Flight newFlight = flightRepository.findById(newFlightId)
-                        .orElseThrow(() -> new NoSuchElementException("New Flight ID " + newFlightId + " not found"));
+                Flight newFlight = lockFlight(newFlightId);
 
-                validateSeatAvailability(newFlight, existingBook.getClient());
+                validateSeatAvailability(newFlight, existingBook.getClient(), 0);
                 existingBook.setFlight(newFlight);
+                existingBook.setDepartureDate(newFlight.getDepartureDate());
             }
         }
 
+        // Keep reporting aggregates in step with a cabin or flight change
+        if (!Objects.equals(previousFlight, existingBook.getFlight())
+                || !previousSeatType.equalsIgnoreCase(existingBook.getTypeOfSeat())) {
+            // A new cabin or flight is sold at its current fare
+            existingBook.setPricePaid(fareFor(existingBook.getFlight(), existingBook.getTypeOfSeat()));
+            reportService.recordCancellation(previousFlight, previousSeatType, previousPrice);
+            reportService.recordBooking(existingBook.getFlight(), existingBook.getTypeOfSeat(), existingBook.getPricePaid());
+            eventPublisher.publishEvent(BookingEvent.changed(existingBook, previousFlight, previousSeatType));
+        }
+
         // We typically don't change the client of a booking.
         return existingBook; // @Transactional auto-saves changes
     }
 
     // DELETE
+    @Transactional
     public void deleteBook(Long id) {
-        if (!bookRepository.existsById(id)) {
-            throw new NoSuchElementException("Reservation " + id + " not found");
-        }
-        bookRepository.deleteById(id);
+        Book book = getLiveBook(id);
+        bookRepository.delete(book);
+        reportService.recordCancellation(book.getFlight(), book.getTypeOfSeat(), book.getPricePaid());
+        eventPublisher.publishEvent(BookingEvent.cancelled(book));
+    }
+
+    // SELECT ... FOR UPDATE on the flight row. Every path that takes seats (bookings, flight changes, seat holds,
+    // waitlist promotions) takes this lock before counting them, so concurrent callers on one flight run one at a time.
+    private Flight lockFlight(Long flightId) {
+        return flightRepository.findByIdForUpdate(flightId)
+                .orElseThrow(() -> new NoSuchElementException("Flight with ID " + flightId + " not found"));
     }
 
-    private void validateSeatType(String seatType) {
+    static void validateSeatType(String seatType) {
         if (seatType == null || seatType.isBlank()) {
             throw new IllegalArgumentException("typeOfSeat is required");
         }
@@ -127,18 +223,29 @@ public class BookService {
         }
     }
 
-    private void validateSeatAvailability(Flight flight, Client client) {
+    // Current fare of a cabin: what a booking made now pays (stored as Book.pricePaid)
+    static BigDecimal fareFor(Flight flight, String seatType) {
+        BigDecimal price = "BUSINESS".equalsIgnoreCase(seatType) ? flight.getBusinessPrice() : flight.getEconomyPrice();
+        return price != null ? price : BigDecimal.ZERO;
+    }
+
+    // Active seat holds take capacity too, except the caller's own (ownHeldSeats) when confirming one.
+    // Callers hold the flight's row lock (lockFlight).
+    private void validateSeatAvailability(Flight flight, Client client, int ownHeldSeats) {
         if (flight.getNumberOfSeats() == null || flight.getNumberOfSeats() <= 0) {
             throw new IllegalStateException("Flight seat capacity is not configured");
         }
 
-        if (bookRepository.existsByFlight_FlightIdAndClient_UserId(flight.getFlightId(), client.getUserId())) {
+        if (bookRepository.existsByFlight_FlightIdAndDepartureDateAndClient_UserId(flight.getFlightId(),
+                flight.getDepartureDate(), client.getUserId())) {
             throw new IllegalStateException("Client already has a reservation on this flight");
         }
 
-        long currentReservations = bookRepository.countByFlight_FlightId(flight.getFlightId());
-        if (currentReservations >= flight.getNumberOfSeats()) {
-            throw new IllegalStateException("No seats available on this flight");
+        long currentReservations = bookRepository.countByFlight_FlightIdAndDepartureDate(flight.getFlightId(),
+                flight.getDepartureDate());
+        int heldByOthers = seatHoldService.getHeldSeats(flight.getFlightId()) - ownHeldSeats;
+        if (currentReservations + heldByOthers >= flight.getNumberOfSeats()) {
+            throw new IllegalStateException("No seats available on this flight, join its waitlist");
         }
     }
 }
@@ -0,0 +1,116 @@
+package com.epita.airlineapi.service;
+
+import com.epita.airlineapi.config.WorkloadRoutingDataSource;
+import com.epita.airlineapi.dto.BulkheadStats;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Concurrency limits per workload: at most maxConcurrent requests of a group run at once,
+// at most maxQueue more wait (up to maxWait) for a slot, anything beyond is rejected immediately.
+// Each group therefore holds a bounded share of Tomcat threads and its own connection sub-pool.
+@Service
+public class BulkheadService {
+
+    private static final class Bulkhead {
+        final int maxConcurrent;
+        final int maxQueue;
+        final long maxWaitNanos;
+        final Semaphore permits;
+        final AtomicInteger queued = new AtomicInteger();
+        final LongAdder completed = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+
+        Bulkhead(int maxConcurrent, int maxQueue, Duration maxWait) {
+            this.maxConcurrent = maxConcurrent;
+            this.maxQueue = maxQueue;
+            this.maxWaitNanos = maxWait.toNanos();
+            this.permits = new Semaphore(maxConcurrent);
+        }
+    }
+
+    private final Map<EndpointGroup, Bulkhead> bulkheads = new EnumMap<>(EndpointGroup.class);
+    private final WorkloadRoutingDataSource dataSource;
+
+    public BulkheadService(Environment environment, WorkloadRoutingDataSource dataSource) {
+        this.dataSource = dataSource;
+        for (EndpointGroup group : EndpointGroup.values()) {
+            String prefix = "airline.bulkhead." + group.name().toLowerCase(Locale.ROOT);
+            bulkheads.put(group, new Bulkhead(
+                    environment.getProperty(prefix + ".max-concurrent", Integer.class, 50),
+                    environment.getProperty(prefix + ".max-queue", Integer.class, 25),
+                    environment.getProperty(prefix + ".max-wait", Duration.class, Duration.ofMillis(200))
+            ));
+        }
+    }
+
+    // Returns false when the caller must be rejected; on true the caller MUST call release()
+    public boolean tryEnter(EndpointGroup group) {
+        Bulkhead bulkhead = bulkheads.get(group);
+
+        if (bulkhead.permits.tryAcquire()) {
+            return true;
+        }
+
+        // Bounded waiting room: reject without blocking once it is full
+        if (bulkhead.queued.incrementAndGet() > bulkhead.maxQueue) {
+            bulkhead.queued.decrementAndGet();
+            bulkhead.rejected.increment();
+            return false;
+        }
+        try {
+            if (bulkhead.permits.tryAcquire(bulkhead.maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+            bulkhead.rejected.increment();
+            return false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            bulkhead.rejected.increment();
+            return false;
+        } finally {
+            bulkhead.queued.decrementAndGet();
+        }
+    }
+
+    public void release(EndpointGroup group) {
+        Bulkhead bulkhead = bulkheads.get(group);
+        bulkhead.completed.increment();
+        bulkhead.permits.release();
+    }
+
+    public List<BulkheadStats> getStats() {
+        return Arrays.stream(EndpointGroup.values())
+                .map(group -> {
+                    Bulkhead bulkhead = bulkheads.get(group);
+                    HikariDataSource pool = dataSource.getPool(group);
+                    HikariPoolMXBean poolBean = pool.getHikariPoolMXBean(); // null until the pool has started
+                    return new BulkheadStats(
+                            group.name(),
+                            bulkhead.maxConcurrent,
+                            bulkhead.maxQueue,
+                            bulkhead.maxConcurrent - bulkhead.permits.availablePermits(),
+                            bulkhead.queued.get(),
+                            bulkhead.completed.sum(),
+                            bulkhead.rejected.sum(),
+                            pool.getMaximumPoolSize(),
+                            poolBean != null ? poolBean.getActiveConnections() : 0,
+                            poolBean != null ? poolBean.getIdleConnections() : 0,
+                            poolBean != null ? poolBean.getThreadsAwaitingConnection() : 0
+                    );
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,73 @@
+package com.epita.airlineapi.service;
+
+import com.epita.airlineapi.dto.CacheRegionStats;
+import com.epita.airlineapi.dto.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Exposes Hibernate second-level/query cache statistics and manual eviction.
+// Entity regions are kept consistent automatically (READ_WRITE strategy);
+// evictAll() is only needed after writes made outside JPA (manual SQL, restores).
+@Service
+public class CacheService {
+
+    private final SessionFactory sessionFactory;
+    private final FlightSearchCache flightSearchCache;
+    private final JsonFragmentCache jsonFragmentCache;
+
+    public CacheService(EntityManagerFactory entityManagerFactory, FlightSearchCache flightSearchCache,
+                        JsonFragmentCache jsonFragmentCache) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.flightSearchCache = flightSearchCache;
+        this.jsonFragmentCache = jsonFragmentCache;
+    }
+
+    public CacheStats getStats() {
+        Statistics statistics = sessionFactory.getStatistics();
+
+        List<CacheRegionStats> regions = Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(name -> {
+                    CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+                    return new CacheRegionStats(
+                            name,
+                            region.getHitCount(),
+                            region.getMissCount(),
+                            region.getPutCount(),
+                            region.getElementCountInMemory()
+                    );
+                })
+                .toList();
+
+        return new CacheStats(
+                statistics.getPrepareStatementCount(),
+                statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(),
+                statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(),
+                regions,
+                flightSearchCache.stats().hitCount(),
+                flightSearchCache.stats().missCount(),
+                flightSearchCache.size(),
+                jsonFragmentCache.stats().hitCount(),
+                jsonFragmentCache.stats().missCount(),
+                jsonFragmentCache.size()
+        );
+    }
+
+    public void resetStats() {
+        sessionFactory.getStatistics().clear();
+    }
+
+    public void evictAll() {
+        sessionFactory.getCache().evictAllRegions();
+        flightSearchCache.onInvalidation(FlightSearchInvalidationEvent.everything());
+        jsonFragmentCache.onInvalidation(FlightSearchInvalidationEvent.everything());
+    }
+}
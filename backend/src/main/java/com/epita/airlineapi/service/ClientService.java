@@ -1,8 +1,14 @@
 package com.epita.airlineapi.service;
 
+import com.epita.airlineapi.dto.ClientMatch;
+import com.epita.airlineapi.journal.BookingEvent;
 import com.epita.airlineapi.model.Client;
+import com.epita.airlineapi.repository.BookRepository;
 import com.epita.airlineapi.repository.ClientRepository;
+import com.epita.airlineapi.repository.MilesRewardRepository;
+import com.epita.airlineapi.repository.WaitlistRepository;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -12,9 +18,24 @@ import java.util.NoSuchElementException;
 public class ClientService {
 
     private final ClientRepository clientRepository;
+    private final BookRepository bookRepository;
+    private final MilesRewardRepository milesRewardRepository;
+    private final WaitlistRepository waitlistRepository;
+    private final ReportService reportService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ClientService(ClientRepository clientRepository) {
+    // Trigrams need at least 3 characters to be selective
+    static final int MIN_QUERY_LENGTH = 3;
+
+    public ClientService(ClientRepository clientRepository, BookRepository bookRepository,
+                         MilesRewardRepository milesRewardRepository, WaitlistRepository waitlistRepository,
+                         ReportService reportService, ApplicationEventPublisher eventPublisher) {
         this.clientRepository = clientRepository;
+        this.bookRepository = bookRepository;
+        this.milesRewardRepository = milesRewardRepository;
+        this.waitlistRepository = waitlistRepository;
+        this.reportService = reportService;
+        this.eventPublisher = eventPublisher;
     }
 
     // GET ALL
@@ -30,18 +51,15 @@ public class ClientService {
                 ));
     }
 
+    // SEARCH (fuzzy, ranked by similarity on name, email and passport)
+    public List<ClientMatch> searchClients(String query, int limit) {
+        return clientRepository.searchRanked(SearchQueries.normalize(query, MIN_QUERY_LENGTH), SearchQueries.checkLimit(limit));
+    }
+
     // CREATE
+    // Passport/email uniqueness is enforced by uk_clients_passport_number / uk_users_email:
+    // a duplicate fails the INSERT and GlobalExceptionHandler turns it into a 400.
     public Client createClient(Client client) {
-        // 1. Check Passport Uniqueness
-        if (clientRepository.existsByPassportNumber(client.getPassportNumber())) {
-            throw new IllegalStateException("Passport no. " + client.getPassportNumber() + " already exists");
-        }
-
-        // 2. Check Email Uniqueness (Inherited from User)
-        if (client.getEmail() != null && clientRepository.existsByEmail(client.getEmail())) {
-            throw new IllegalStateException("Email " + client.getEmail() + " is already in use");
-        }
-
         return clientRepository.save(client);
     }
 
@@ -54,18 +72,11 @@ public class ClientService {
         // 2.Update Passport Number
         String newPassport = newDetails.getPassportNumber();
         if (newPassport != null && !newPassport.equals(oldPassportNumber)) {
-            // Check if the NEW passport is already taken by someone else
-            if (clientRepository.existsByPassportNumber(newPassport)) {
-                throw new IllegalStateException("Passport no. " + newPassport + " already taken");
-            }
             existingClient.setPassportNumber(newPassport);
         }
 
         // 3.Update User Fields (Inherited)
         if (newDetails.getEmail() != null && !newDetails.getEmail().equals(existingClient.getEmail())) {
-            if (clientRepository.existsByEmail(newDetails.getEmail())) {
-                throw new IllegalStateException("Email " + newDetails.getEmail() + " already in use");
-            }
             existingClient.setEmail(newDetails.getEmail());
         }
         if (newDetails.getFirstName() != null) existingClient.setFirstName(newDetails.getFirstName());
@@ -74,16 +85,23 @@ public class ClientService {
         if (newDetails.getPhoneNumber() != null) existingClient.setPhoneNumber(newDetails.getPhoneNumber());
         if (newDetails.getBirthDate() != null) existingClient.setBirthDate(newDetails.getBirthDate());
 
-        // 4.Return updated entity
-        return existingClient;
+        // 4.Flush now so a unique constraint violation surfaces here (-> 400), not at commit
+        return clientRepository.saveAndFlush(existingClient);
     }
 
     // DELETE
-    @Transactional // Required for deleteBy... derived queries
+    @Transactional // Required for the bulk @Modifying deletes
     public void deleteClient(String passportNumber) {
-        if (!clientRepository.existsByPassportNumber(passportNumber)) {
-            throw new NoSuchElementException("Client with passport no. " + passportNumber + " does not exist");
-        }
-        clientRepository.deleteByPassportNumber(passportNumber);
+        Long clientId = getClientByPassport(passportNumber).getUserId();
+
+        // Take the client's bookings out of the reporting aggregates while they can still be joined
+        reportService.recordClientRemoved(clientId);
+
+        // Set-based: children in one statement each, then the clients/users rows
+        milesRewardRepository.deleteAllByClientId(clientId);
+        waitlistRepository.deleteAllByClientId(clientId);
+        bookRepository.deleteAllByClientId(clientId);
+        clientRepository.deleteClientById(clientId);
+        eventPublisher.publishEvent(BookingEvent.clientRemoved(clientId));
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.epita.airlineapi.service;
 
+import com.epita.airlineapi.dto.EmployeeMatch;
 import com.epita.airlineapi.model.Employee;
 import com.epita.airlineapi.repository.EmployeeRepository;
 import jakarta.transaction.Transactional;
@@ -7,12 +8,18 @@ import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.regex.Pattern;
 
 @Service
 public class EmployeeService {
 
     private final EmployeeRepository employeeRepository;
 
+    // Names and emails go through trigrams (3 characters at least); an employee number is matched exactly,
+    // so any number of digits is a valid query
+    static final int MIN_QUERY_LENGTH = 3;
+    private static final Pattern EMPLOYEE_NUMBER = Pattern.compile("\\d+");
+
     public EmployeeService(EmployeeRepository employeeRepository) {
         this.employeeRepository = employeeRepository;
     }
@@ -30,18 +37,15 @@ public class EmployeeService {
                 ));
     }
 
+    // SEARCH (fuzzy on name and email, exact on employee number)
+    public List<EmployeeMatch> searchEmployees(String query, int limit) {
+        int minLength = query != null && EMPLOYEE_NUMBER.matcher(query.trim()).matches() ? 1 : MIN_QUERY_LENGTH;
+        return employeeRepository.searchRanked(SearchQueries.normalize(query, minLength), SearchQueries.checkLimit(limit));
+    }
+
     // CREATE
+    // Employee number/email uniqueness is enforced by the database constraints (-> 400 via GlobalExceptionHandler)
     public Employee createEmployee(Employee employee) {
-        // 1.Check Employee Number Uniqueness
-        if (employeeRepository.existsByEmployeeNumber(employee.getEmployeeNumber())) {
-            throw new IllegalStateException("Employee number " + employee.getEmployeeNumber() + " already exists");
-        }
-
-        // 2.Check Email Uniqueness (Inherited from User)
-        if (employee.getEmail() != null && employeeRepository.existsByEmail(employee.getEmail())) {
-            throw new IllegalStateException("Email " + employee.getEmail() + " is already in use");
-        }
-
         return employeeRepository.save(employee);
     }
 
@@ -54,17 +58,11 @@ public class EmployeeService {
         // 2.Update Employee Number
         Long newNumber = newDetails.getEmployeeNumber();
         if (newNumber != null && !newNumber.equals(oldEmployeeNumber)) {
-            if (employeeRepository.existsByEmployeeNumber(newNumber)) {
-                throw new IllegalStateException("Employee number " + newNumber + " already taken");
-            }
             existingEmployee.setEmployeeNumber(newNumber);
         }
 
         // 3.Update Email (Inherited)
         if (newDetails.getEmail() != null && !newDetails.getEmail().equals(existingEmployee.getEmail())) {
-            if (employeeRepository.existsByEmail(newDetails.getEmail())) {
-                throw new IllegalStateException("Email " + newDetails.getEmail() + " already in use");
-            }
             existingEmployee.setEmail(newDetails.getEmail());
         }
 
@@ -79,7 +77,8 @@ public class EmployeeService {
         if (newDetails.getPhoneNumber() != null) existingEmployee.setPhoneNumber(newDetails.getPhoneNumber());
         if (newDetails.getBirthDate() != null) existingEmployee.setBirthDate(newDetails.getBirthDate());
 
-        return existingEmployee;
+        // Flush now so a unique constraint violation surfaces here (-> 400), not at commit
+        return employeeRepository.saveAndFlush(existingEmployee);
     }
 
     // DELETE
@@ -0,0 +1,21 @@
+package com.epita.airlineapi.service;
+
+// Workload classes used for admission control (rate limits, bulkheads).
+public enum EndpointGroup {
+    SEARCH,   // flight reads: search, list, details; airport autocomplete; the reactive read path
+    BOOKING,  // books, seat holds, waitlists and miles rewards
+    ADMIN;    // back-office CRUD on everything else
+
+    public static EndpointGroup classify(String method, String path) {
+        if (path.startsWith("/api/v1/books") || path.startsWith("/api/miles-rewards")
+                || (path.startsWith("/api/v1/flights/") && (path.contains("/holds") || path.contains("/waitlist")))) {
+            return BOOKING;
+        }
+        if ((path.startsWith("/api/v1/flights") || path.startsWith("/api/v1/airports/suggest")
+                || path.startsWith("/api/v1/reactive/"))
+                && "GET".equalsIgnoreCase(method)) {
+            return SEARCH;
+        }
+        return ADMIN;
+    }
+}
@@ -0,0 +1,180 @@
+package com.epita.airlineapi.service;
+
+import com.epita.airlineapi.repository.FlightRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.NoSuchElementException;
+
+// Bulk exports streamed from a server-side cursor straight to the response.
+// Rows are read with a bounded fetch size and written immediately, no entities are built,
+// so memory stays constant however many bookings are exported.
+@Service
+public class ExportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final int FETCH_SIZE = 5_000;
+    private static final int WRITE_BUFFER = 64 * 1024;
+
+    private static final String BOOKING_COLUMNS = """
+            SELECT b.reservation_id, f.flight_id, f.flight_number, f.departure_date, f.departure_city, f.arrival_city,
+                   c.user_id AS client_id, c.passport_number, u.first_name, u.last_name, u.email, b.type_of_seat
+            FROM books b
+            JOIN flights f ON f.flight_id = b.flight_id AND f.departure_date = b.departure_date
+            JOIN clients c ON c.user_id = b.client_id
+            JOIN users u ON u.user_id = c.user_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final FlightRepository flightRepository;
+
+    public ExportService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                         FlightRepository flightRepository) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.flightRepository = flightRepository;
+    }
+
+    // Fails before any byte is written, so a reversed range still gets a clean 400
+    public void checkRange(LocalDate start, LocalDate end) {
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("start must not be after end");
+        }
+    }
+
+    public void exportBookings(LocalDate start, LocalDate end, Format format, OutputStream out) {
+        // The range is repeated on books: the planner does not carry it across the join, and both sides prune
+        stream(BOOKING_COLUMNS + " WHERE f.departure_date BETWEEN ? AND ? AND b.departure_date BETWEEN ? AND ?"
+                        + " ORDER BY f.departure_date, b.reservation_id",
+                format, out, start, end, start, end);
+    }
+
+    // Fails before any byte is written, so an unknown flight still gets a clean 404
+    public void checkFlightExists(Long flightId) {
+        if (!flightRepository.existsById(flightId)) {
+            throw new NoSuchElementException("Flight with id " + flightId + " not found");
+        }
+    }
+
+    public void exportManifest(Long flightId, Format format, OutputStream out) {
+        stream(BOOKING_COLUMNS + " WHERE b.flight_id = ? ORDER BY u.last_name, u.first_name", format, out, flightId);
+    }
+
+    private void stream(String sql, Format format, OutputStream out, Object... args) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER);
+
+        // PostgreSQL only honours the fetch size (cursor) inside a transaction
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(sql, (ResultSetExtractor<Void>) rs -> {
+            try {
+                // Labels come from the metadata, known before the first row: an empty export still has its header
+                ResultSetMetaData meta = rs.getMetaData();
+                String[] labels = new String[meta.getColumnCount()];
+                for (int i = 0; i < labels.length; i++) {
+                    labels[i] = meta.getColumnLabel(i + 1);
+                }
+                if (format == Format.CSV) {
+                    writer.write(String.join(",", labels));
+                    writer.write('\n');
+                }
+                while (rs.next()) {
+                    writeRow(rs, labels, format, writer);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return null;
+        }, args));
+
+        try {
+            writer.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void writeRow(ResultSet rs, String[] labels, Format format, Writer writer) throws SQLException, IOException {
+        int columns = labels.length;
+
+        if (format == Format.CSV) {
+            for (int i = 1; i <= columns; i++) {
+                if (i > 1) writer.write(',');
+                writeCsvValue(rs.getString(i), writer);
+            }
+            writer.write('\n');
+            return;
+        }
+
+        writer.write('{');
+        for (int i = 1; i <= columns; i++) {
+            if (i > 1) writer.write(',');
+            writer.write('"');
+            writer.write(labels[i - 1]);
+            writer.write("\":");
+            writeJsonValue(rs.getObject(i), writer);
+        }
+        writer.write("}\n");
+    }
+
+    private static void writeCsvValue(String value, Writer writer) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static void writeJsonValue(Object value, Writer writer) throws IOException {
+        if (value == null) {
+            writer.write("null");
+            return;
+        }
+        if (value instanceof Number) {
+            writer.write(value.toString());
+            return;
+        }
+        String text = value.toString();
+        writer.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"' -> writer.write("\\\"");
+                case '\\' -> writer.write("\\\\");
+                case '\n' -> writer.write("\\n");
+                case '\r' -> writer.write("\\r");
+                case '\t' -> writer.write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        writer.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        writer.write(c);
+                    }
+                }
+            }
+        }
+        writer.write('"');
+    }
+}
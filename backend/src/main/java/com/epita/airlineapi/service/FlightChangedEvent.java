@@ -0,0 +1,6 @@
+package com.epita.airlineapi.service;
+
+// Published when a flight row is updated or deleted: cached copies of that one flight (JsonFragmentCache) are dropped
+// once the change commits. Route-level caches use FlightSearchInvalidationEvent.
+public record FlightChangedEvent(long flightId) {
+}
@@ -0,0 +1,233 @@
+package com.epita.airlineapi.service;
+
+import com.epita.airlineapi.model.Airport;
+import com.epita.airlineapi.model.Flight;
+import com.epita.airlineapi.model.FlightSchedule;
+import com.epita.airlineapi.model.Plane;
+import com.epita.airlineapi.repository.AirportRepository;
+import com.epita.airlineapi.repository.FlightRepository;
+import com.epita.airlineapi.repository.FlightScheduleRepository;
+import com.epita.airlineapi.repository.PlaneRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class FlightScheduleService {
+
+    private final FlightScheduleRepository flightScheduleRepository;
+    private final FlightRepository flightRepository;
+    private final AirportRepository airportRepository;
+    private final PlaneRepository planeRepository;
+    private final ReportService reportService;
+    private final PartitionService partitionService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public FlightScheduleService(FlightScheduleRepository flightScheduleRepository, FlightRepository flightRepository,
+                                 AirportRepository airportRepository, PlaneRepository planeRepository,
+                                 ReportService reportService, PartitionService partitionService,
+                                 ApplicationEventPublisher eventPublisher) {
+        this.flightScheduleRepository = flightScheduleRepository;
+        this.flightRepository = flightRepository;
+        this.airportRepository = airportRepository;
+        this.planeRepository = planeRepository;
+        this.reportService = reportService;
+        this.partitionService = partitionService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // GET ALL
+    public List<FlightSchedule> getSchedules() {
+        return flightScheduleRepository.findAll();
+    }
+
+    // GET ONE
+    public FlightSchedule getScheduleById(Long scheduleId) {
+        return flightScheduleRepository.findById(scheduleId)
+                .orElseThrow(() -> new NoSuchElementException("Schedule with id " + scheduleId + " not found"));
+    }
+
+    // CREATE
+    @Transactional
+    public FlightSchedule saveSchedule(FlightSchedule schedule) {
+        if (schedule == null) {
+            throw new IllegalArgumentException("Schedule payload is required");
+        }
+        if (schedule.getFlightNumber() == null || schedule.getFlightNumber().isBlank()) {
+            throw new IllegalArgumentException("Flight number is required");
+        }
+        if (schedule.getDepartureAirport() == null || schedule.getArrivalAirport() == null || schedule.getPlane() == null) {
+            throw new IllegalArgumentException("Schedule must have departure/arrival airports and a plane");
+        }
+        schedule.setDepartureAirport(resolveAirport(schedule.getDepartureAirport().getAirportId()));
+        schedule.setArrivalAirport(resolveAirport(schedule.getArrivalAirport().getAirportId()));
+        schedule.setPlane(resolvePlane(schedule.getPlane().getPlaneId()));
+        // Cities default to the airports' cities, as search matches on them
+        if (schedule.getDepartureCity() == null || schedule.getDepartureCity().isBlank()) {
+            schedule.setDepartureCity(schedule.getDepartureAirport().getAirportCity());
+        }
+        if (schedule.getArrivalCity() == null || schedule.getArrivalCity().isBlank()) {
+            schedule.setArrivalCity(schedule.getArrivalAirport().getAirportCity());
+        }
+        if (schedule.getArrivalDayOffset() == null) {
+            schedule.setArrivalDayOffset(0);
+        }
+        validate(schedule);
+
+        FlightSchedule savedSchedule = flightScheduleRepository.save(schedule);
+        // A schedule answers searches on every date it covers
+        eventPublisher.publishEvent(FlightSearchInvalidationEvent.everything());
+        return savedSchedule;
+    }
+
+    // UPDATE
+    // Only future virtual instances change; already materialized flights keep their own data
+    @Transactional
+    public FlightSchedule updateSchedule(Long scheduleId, FlightSchedule updateRequest) {
+        if (updateRequest == null) {
+            throw new IllegalArgumentException("Schedule update payload is required");
+        }
+        FlightSchedule schedule = getScheduleById(scheduleId);
+
+        if (updateRequest.getFlightNumber() != null && !updateRequest.getFlightNumber().isBlank()) {
+            schedule.setFlightNumber(updateRequest.getFlightNumber());
+        }
+        if (updateRequest.getDepartureCity() != null && !updateRequest.getDepartureCity().isBlank()) {
+            schedule.setDepartureCity(updateRequest.getDepartureCity());
+        }
+        if (updateRequest.getArrivalCity() != null && !updateRequest.getArrivalCity().isBlank()) {
+            schedule.setArrivalCity(updateRequest.getArrivalCity());
+        }
+        if (updateRequest.getDepartureAirport() != null) {
+            schedule.setDepartureAirport(resolveAirport(updateRequest.getDepartureAirport().getAirportId()));
+        }
+        if (updateRequest.getArrivalAirport() != null) {
+            schedule.setArrivalAirport(resolveAirport(updateRequest.getArrivalAirport().getAirportId()));
+        }
+        if (updateRequest.getPlane() != null) {
+            schedule.setPlane(resolvePlane(updateRequest.getPlane().getPlaneId()));
+        }
+        if (updateRequest.getDaysOfWeek() != null) schedule.setDaysOfWeek(updateRequest.getDaysOfWeek());
+        if (updateRequest.getValidFrom() != null) schedule.setValidFrom(updateRequest.getValidFrom());
+        if (updateRequest.getValidTo() != null) schedule.setValidTo(updateRequest.getValidTo());
+        if (updateRequest.getArrivalDayOffset() != null) schedule.setArrivalDayOffset(updateRequest.getArrivalDayOffset());
+        if (updateRequest.getNumberOfSeats() != null) schedule.setNumberOfSeats(updateRequest.getNumberOfSeats());
+        if (updateRequest.getBusinessPrice() != null) schedule.setBusinessPrice(updateRequest.getBusinessPrice());
+        if (updateRequest.getEconomyPrice() != null) schedule.setEconomyPrice(updateRequest.getEconomyPrice());
+        validate(schedule);
+
+        eventPublisher.publishEvent(FlightSearchInvalidationEvent.everything());
+        return schedule;
+    }
+
+    // DELETE
+    @Transactional
+    public void deleteSchedule(Long scheduleId) {
+        if (!flightScheduleRepository.existsById(scheduleId)) {
+            throw new NoSuchElementException("Schedule with id " + scheduleId + " not found");
+        }
+        flightRepository.detachFromSchedule(scheduleId);
+        flightScheduleRepository.deleteById(scheduleId);
+        eventPublisher.publishEvent(FlightSearchInvalidationEvent.everything());
+    }
+
+    // Virtual instances for a search, minus the ones already present as real flights that day
+    public List<Flight> virtualInstances(String departureCity, String arrivalCity, LocalDate date,
+                                         Collection<Flight> materialized) {
+        return virtualInstances(flightScheduleRepository.findValidOnRoute(departureCity, arrivalCity, date), date,
+                materialized);
+    }
+
+    // Same, from schedules already loaded (ReactiveFlightReader reads them through R2DBC)
+    static List<Flight> virtualInstances(Collection<FlightSchedule> schedules, LocalDate date,
+                                         Collection<Flight> materialized) {
+        Set<String> takenNumbers = materialized.stream().map(Flight::getFlightNumber).collect(Collectors.toSet());
+        Set<Long> takenSchedules = materialized.stream().map(Flight::getScheduleId)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        return schedules.stream()
+                .filter(schedule -> schedule.operatesOn(date))
+                .filter(schedule -> !takenSchedules.contains(schedule.getScheduleId())
+                        && !takenNumbers.contains(schedule.getFlightNumber()))
+                .map(schedule -> schedule.instanceOn(date))
+                .toList();
+    }
+
+    // MATERIALIZE: get-or-create the Flight row of one departure date
+    @Transactional
+    public Flight materialize(Long scheduleId, LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("departureDate is required");
+        }
+        FlightSchedule schedule = getScheduleById(scheduleId);
+        if (!schedule.operatesOn(date)) {
+            throw new IllegalArgumentException("Schedule " + scheduleId + " does not operate on " + date);
+        }
+
+        partitionService.ensurePartitionFor(date);
+        boolean created = flightRepository.insertScheduledInstance(scheduleId, date) == 1;
+        Flight flight = flightRepository.findByFlightNumberAndDepartureDate(schedule.getFlightNumber(), date)
+                .orElseThrow(() -> new IllegalStateException("Flight " + schedule.getFlightNumber() + " on " + date + " could not be created"));
+        if (!Objects.equals(flight.getScheduleId(), scheduleId)) {
+            throw new IllegalStateException("Flight " + schedule.getFlightNumber() + " on " + date + " already exists outside this schedule");
+        }
+
+        if (created) {
+            reportService.recordFlightAdded(flight);
+            eventPublisher.publishEvent(FlightSearchInvalidationEvent.of(
+                    FlightSearchCache.SearchKey.of(flight.getDepartureCity(), flight.getArrivalCity(), date)));
+        }
+        return flight;
+    }
+
+    private Airport resolveAirport(Long airportId) {
+        if (airportId == null) {
+            throw new IllegalArgumentException("Airport id is required");
+        }
+        return airportRepository.findById(airportId)
+                .orElseThrow(() -> new NoSuchElementException("Airport with id " + airportId + " not found"));
+    }
+
+    private Plane resolvePlane(Long planeId) {
+        if (planeId == null) {
+            throw new IllegalArgumentException("Plane id is required");
+        }
+        return planeRepository.findById(planeId)
+                .orElseThrow(() -> new NoSuchElementException("Plane with id " + planeId + " not found"));
+    }
+
+    private void validate(FlightSchedule schedule) {
+        if (Objects.equals(schedule.getDepartureAirport().getAirportId(), schedule.getArrivalAirport().getAirportId())) {
+            throw new IllegalArgumentException("Departure and arrival airports must be different");
+        }
+        if (schedule.getDaysOfWeek() == null || schedule.getDaysOfWeek().isEmpty()) {
+            throw new IllegalArgumentException("daysOfWeek must contain at least one day");
+        }
+        if (schedule.getValidFrom() == null || schedule.getValidTo() == null) {
+            throw new IllegalArgumentException("validFrom and validTo are required");
+        }
+        if (schedule.getValidTo().isBefore(schedule.getValidFrom())) {
+            throw new IllegalArgumentException("validTo cannot be before validFrom");
+        }
+        if (schedule.getArrivalDayOffset() < 0) {
+            throw new IllegalArgumentException("arrivalDayOffset must be zero or positive");
+        }
+        if (schedule.getNumberOfSeats() == null || schedule.getNumberOfSeats() <= 0) {
+            throw new IllegalArgumentException("numberOfSeats must be greater than 0");
+        }
+        if (schedule.getBusinessPrice() == null || schedule.getBusinessPrice().compareTo(BigDecimal.ZERO) < 0) {
+            throw new IllegalArgumentException("businessPrice must be zero or positive");
+        }
+        if (schedule.getEconomyPrice() == null || schedule.getEconomyPrice().compareTo(BigDecimal.ZERO) < 0) {
+            throw new IllegalArgumentException("economyPrice must be zero or positive");
+        }
+    }
+}
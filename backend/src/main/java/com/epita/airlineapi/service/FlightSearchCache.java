@@ -0,0 +1,96 @@
+package com.epita.airlineapi.service;
+
+import com.epita.airlineapi.model.Flight;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Bounded cache of /flights/search results keyed by normalized (from, to, date).
+// - Size-based eviction (W-TinyLFU) keeps popular city pairs resident.
+// - Concurrent misses on the same key are coalesced: only the first caller runs the query,
+//   the others block on it and receive the same result.
+// - Entries are dropped precisely when FlightService touches a flight on that route/day.
+@Component
+public class FlightSearchCache {
+
+    public record SearchKey(String from, String to, LocalDate date) {
+        public static SearchKey of(String from, String to, LocalDate date) {
+            return new SearchKey(normalize(from), normalize(to), date);
+        }
+
+        private static String normalize(String city) {
+            return city == null ? null : city.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final Cache<SearchKey, List<Flight>> cache;
+    // Bumped by every invalidation, see put()
+    private final AtomicLong generation = new AtomicLong();
+
+    public FlightSearchCache(@Value("${airline.search-cache.maximum-size:10000}") long maximumSize,
+                             @Value("${airline.search-cache.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public List<Flight> get(SearchKey key, Supplier<List<Flight>> loader) {
+        // Unmodifiable: the same list instance is shared by every request hitting this key
+        return cache.get(key, k -> List.copyOf(loader.get()));
+    }
+
+    // Non-blocking lookup and fill for the reactive read path, which loads results outside get():
+    // read generation() before loading, an invalidation committed meanwhile drops the entry again.
+    public List<Flight> getIfPresent(SearchKey key) {
+        return cache.getIfPresent(key);
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public List<Flight> put(SearchKey key, List<Flight> flights, long seen) {
+        List<Flight> shared = List.copyOf(flights);
+        cache.put(key, shared);
+        if (generation.get() != seen) {
+            cache.invalidate(key);
+        }
+        return shared;
+    }
+
+    // Runs after the flight change commits, so a reader can never re-cache the pre-commit rows.
+    // fallbackExecution covers changes published outside a transaction.
+    // First among the listeners: JsonFragmentCache re-encodes flights from these results.
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onInvalidation(FlightSearchInvalidationEvent event) {
+        generation.incrementAndGet();
+        if (event.all()) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidateAll(event.keys());
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
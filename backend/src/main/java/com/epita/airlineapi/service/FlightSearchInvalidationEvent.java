@@ -0,0 +1,16 @@
+package com.epita.airlineapi.service;
+
+import java.util.Set;
+
+// Published when flights (or the airports/planes embedded in them) change.
+// An empty key set with all = true drops every cached search result.
+public record FlightSearchInvalidationEvent(Set<FlightSearchCache.SearchKey> keys, boolean all) {
+
+    public static FlightSearchInvalidationEvent of(FlightSearchCache.SearchKey... keys) {
+        return new FlightSearchInvalidationEvent(Set.of(keys), false);
+    }
+
+    public static FlightSearchInvalidationEvent everything() {
+        return new FlightSearchInvalidationEvent(Set.of(), true);
+    }
+}
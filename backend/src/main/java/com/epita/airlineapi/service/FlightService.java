@@ -1,17 +1,22 @@
 package com.epita.airlineapi.service;
 
+import com.epita.airlineapi.journal.BookingEvent;
 import com.epita.airlineapi.model.Airport;
 import com.epita.airlineapi.model.Flight;
 import com.epita.airlineapi.model.Plane;
 import com.epita.airlineapi.repository.AirportRepository;
+import com.epita.airlineapi.repository.BookRepository;
 import com.epita.airlineapi.repository.FlightRepository;
+import com.epita.airlineapi.repository.MilesRewardRepository;
 import com.epita.airlineapi.repository.PlaneRepository;
+import com.epita.airlineapi.repository.WaitlistRepository;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
@@ -22,11 +27,34 @@ public class FlightService {
     private final FlightRepository flightRepository;
     private final AirportRepository airportRepository;
     private final PlaneRepository planeRepository;
-
-    public FlightService(FlightRepository flightRepository, AirportRepository airportRepository, PlaneRepository planeRepository) {
+    private final BookRepository bookRepository;
+    private final MilesRewardRepository milesRewardRepository;
+    private final WaitlistRepository waitlistRepository;
+    private final ReportService reportService;
+    private final FlightSearchCache flightSearchCache;
+    private final FlightScheduleService flightScheduleService;
+    private final PartitionService partitionService;
+    private final ArchiveService archiveService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public FlightService(FlightRepository flightRepository, AirportRepository airportRepository, PlaneRepository planeRepository,
+                         BookRepository bookRepository, MilesRewardRepository milesRewardRepository,
+                         WaitlistRepository waitlistRepository,
+                         ReportService reportService, FlightSearchCache flightSearchCache,
+                         FlightScheduleService flightScheduleService, PartitionService partitionService,
+                         ArchiveService archiveService, ApplicationEventPublisher eventPublisher) {
         this.flightRepository = flightRepository;
         this.airportRepository = airportRepository;
         this.planeRepository = planeRepository;
+        this.bookRepository = bookRepository;
+        this.milesRewardRepository = milesRewardRepository;
+        this.waitlistRepository = waitlistRepository;
+        this.reportService = reportService;
+        this.flightSearchCache = flightSearchCache;
+        this.flightScheduleService = flightScheduleService;
+        this.partitionService = partitionService;
+        this.archiveService = archiveService;
+        this.eventPublisher = eventPublisher;
     }
 
     // GET ALL
@@ -34,27 +62,38 @@ public class FlightService {
         return flightRepository.findAll();
     }
 
-    // GET ONE (By ID)
+    // GET ONE (By ID), falling back to the cold archive for departed flights
     public Flight getFlightById(Long flightId) {
         return flightRepository.findById(flightId)
+                .or(() -> archiveService.findFlight(flightId))
                 .orElseThrow(() -> new NoSuchElementException("Flight with id " + flightId + " not found"));
     }
 
-    // GET ONE (By Flight Number)
-    public Flight getFlightByNumber(String flightNumber) {
-        return flightRepository.findByFlightNumber(flightNumber)
-                .orElseThrow(() -> new NoSuchElementException("Flight " + flightNumber + " not found"));
+    // Live row only: archived flights are read-only
+    private Flight getLiveFlight(Long flightId) {
+        return flightRepository.findById(flightId).orElseThrow(() -> archiveService.findFlight(flightId).isPresent()
+                ? new IllegalStateException("Flight " + flightId + " is archived, restore its month to change it")
+                : new NoSuchElementException("Flight with id " + flightId + " not found"));
+    }
+
+    // GET ONE (By Flight Number and departure date)
+    public Flight getFlightByNumber(String flightNumber, LocalDate departureDate) {
+        return flightRepository.findByFlightNumberAndDepartureDate(flightNumber, departureDate)
+                .orElseThrow(() -> new NoSuchElementException("Flight " + flightNumber + " on " + departureDate + " not found"));
     }
 
     public List<Flight> searchFlights(String departureCity, String arrivalCity, LocalDate date) {
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = date.plusDays(1).atStartOfDay().minusNanos(1);
-        return flightRepository.findByDepartureCityIgnoreCaseAndArrivalCityIgnoreCaseAndDepartureDateBetween(
-                departureCity,
-                arrivalCity,
-                startOfDay,
-                endOfDay
-        );
+        // departureDate is a LocalDate column, so an equality match covers the whole day
+        return flightSearchCache.get(FlightSearchCache.SearchKey.of(departureCity, arrivalCity, date), () -> {
+            List<Flight> flights = new ArrayList<>(flightRepository.findByDepartureCityIgnoreCaseAndArrivalCityIgnoreCaseAndDepartureDate(
+                    departureCity,
+                    arrivalCity,
+                    date
+            ));
+            // Recurring flights not materialized yet come from their schedules (flightId null, scheduleId set)
+            flights.addAll(flightScheduleService.virtualInstances(departureCity, arrivalCity, date, flights));
+            return flights;
+        });
     }
 
     // CREATE
@@ -68,15 +107,18 @@ public class FlightService {
             throw new IllegalArgumentException("Flight number is required");
         }
 
-        if (flightRepository.existsByFlightNumber(flight.getFlightNumber())) {
-            throw new IllegalStateException("Flight number " + flight.getFlightNumber() + " already exists");
-        }
-
+        // Flight number uniqueness per day: uk_flights_number_date (-> 400 via GlobalExceptionHandler)
+        // Schedule instances are created by FlightScheduleService.materialize only
+        flight.setScheduleId(null);
         resolveAndAssignFlightRelations(flight);
         validateSeatAndPrices(flight);
         validateFlightDates(flight);
+        partitionService.ensurePartitionFor(flight.getDepartureDate());
 
-        return flightRepository.save(flight);
+        Flight savedFlight = flightRepository.save(flight);
+        reportService.recordFlightAdded(savedFlight);
+        eventPublisher.publishEvent(FlightSearchInvalidationEvent.of(searchKeyOf(savedFlight)));
+        return savedFlight;
     }
 
     // UPDATE
@@ -85,15 +127,17 @@ public class FlightService {
         if (updateRequest == null) {
             throw new IllegalArgumentException("Flight update payload is required");
         }
+        // The row (and its bookings, through fk_books_flight ON UPDATE CASCADE) may move to another month.
+        // Refuses departure months maintenance has not created (no partition DDL inside a request)
+        partitionService.ensurePartitionFor(updateRequest.getDepartureDate());
 
-        Flight flight = getFlightById(flightId);
+        Flight flight = getLiveFlight(flightId);
+        ReportService.RouteSnapshot previousRoute = reportService.snapshot(flight);
+        FlightSearchCache.SearchKey previousSearchKey = searchKeyOf(flight);
 
         // 1.Update Flight Number
         if (updateRequest.getFlightNumber() != null && !updateRequest.getFlightNumber().isBlank()) {
             if (!updateRequest.getFlightNumber().equals(flight.getFlightNumber())) {
-                if (flightRepository.existsByFlightNumber(updateRequest.getFlightNumber())) {
-                    throw new IllegalStateException("Flight number " + updateRequest.getFlightNumber() + " already exists");
-                }
                 flight.setFlightNumber(updateRequest.getFlightNumber());
             }
         }
@@ -133,10 +177,12 @@ public class FlightService {
         }
 
         // 5.Update Pricing/Seats
+        boolean seatsAdded = false;
         if (updateRequest.getNumberOfSeats() != null) {
             if (updateRequest.getNumberOfSeats() <= 0) {
                 throw new IllegalArgumentException("numberOfSeats must be greater than 0");
             }
+            seatsAdded = flight.getNumberOfSeats() == null || updateRequest.getNumberOfSeats() > flight.getNumberOfSeats();
             flight.setNumberOfSeats(updateRequest.getNumberOfSeats());
         }
         if (updateRequest.getBusinessPrice() != null) {
@@ -153,15 +199,37 @@ public class FlightService {
         }
 
         validateDistinctAirports(flight);
+        // Flush now so a duplicate flight number surfaces here (-> 400), not at commit
+        flightRepository.flush();
+        reportService.recordFlightChanged(previousRoute, flight);
+        // Any field may appear in search results, so both the old and new route/day are dropped
+        eventPublisher.publishEvent(FlightSearchInvalidationEvent.of(previousSearchKey, searchKeyOf(flight)));
+        eventPublisher.publishEvent(new FlightChangedEvent(flightId));
+        if (seatsAdded) {
+            eventPublisher.publishEvent(new SeatsReleasedEvent(flightId)); // waitlist promotion
+        }
         return flight;
     }
 
     // DELETE
+    @Transactional
     public void deleteFlight(Long flightId) {
-        if (!flightRepository.existsById(flightId)) {
-            throw new NoSuchElementException("Flight with id " + flightId + " not found");
-        }
-        flightRepository.deleteById(flightId);
+        Flight flight = getLiveFlight(flightId);
+        reportService.recordFlightRemoved(flight);
+
+        // Set-based: 4 statements whatever the number of bookings/rewards/waiters,
+        // instead of the per-row deletes of cascade = ALL / orphanRemoval
+        milesRewardRepository.deleteAllByFlightId(flightId);
+        waitlistRepository.deleteAllByFlightId(flightId);
+        bookRepository.deleteAllByFlightId(flightId, flight.getDepartureDate());
+        flightRepository.deleteFlightById(flightId);
+        eventPublisher.publishEvent(FlightSearchInvalidationEvent.of(searchKeyOf(flight)));
+        eventPublisher.publishEvent(new FlightChangedEvent(flightId));
+        eventPublisher.publishEvent(BookingEvent.flightRemoved(flight));
+    }
+
+    private FlightSearchCache.SearchKey searchKeyOf(Flight flight) {
+        return FlightSearchCache.SearchKey.of(flight.getDepartureCity(), flight.getArrivalCity(), flight.getDepartureDate());
     }
 
     private void resolveAndAssignFlightRelations(Flight flight) {
@@ -0,0 +1,141 @@
+package com.epita.airlineapi.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Hashed timing wheel: a timeout goes into the bucket of its deadline tick (tick % size), kept as a
+// doubly-linked list, so scheduling and cancelling are O(1) whatever the number of pending timeouts.
+// One ticker thread visits one bucket per tick and expires the entries whose deadline tick has come;
+// entries more than one revolution away stay in place until their turn.
+// Precision is one tick: a timeout fires between its deadline and one tick later.
+final class HashedTimingWheel<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(HashedTimingWheel.class);
+
+    final class Timeout {
+        private final T value;
+        private final long deadlineTick;
+        private Timeout previous;
+        private Timeout next;
+        private boolean pending = true;
+
+        private Timeout(T value, long deadlineTick) {
+            this.value = value;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+
+    private final long tickNanos;
+    private final int mask;
+    private final Object[] buckets; // head Timeout of each bucket
+    private final long startNanos = System.nanoTime();
+    private final Consumer<T> onExpire;
+    private final ScheduledExecutorService ticker;
+
+    // Guarded by this
+    private long currentTick;
+    private int pending;
+
+    HashedTimingWheel(Duration tick, int size, String threadName, Consumer<T> onExpire) {
+        if (size <= 0 || Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("Timing wheel size must be a power of two");
+        }
+        this.tickNanos = tick.toNanos();
+        this.mask = size - 1;
+        this.buckets = new Object[size];
+        this.onExpire = onExpire;
+        this.ticker = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::advance, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    synchronized Timeout schedule(T value, Duration delay) {
+        long deadline = System.nanoTime() + delay.toNanos() - startNanos;
+        // Never in the bucket being (or already) processed, which would delay it by a whole revolution
+        long deadlineTick = Math.max(currentTick + 1, (deadline + tickNanos - 1) / tickNanos);
+        Timeout timeout = new Timeout(value, deadlineTick);
+        int index = (int) (deadlineTick & mask);
+        @SuppressWarnings("unchecked")
+        Timeout head = (Timeout) buckets[index];
+        timeout.next = head;
+        if (head != null) {
+            head.previous = timeout;
+        }
+        buckets[index] = timeout;
+        pending++;
+        return timeout;
+    }
+
+    // False when the timeout already fired (or was cancelled)
+    synchronized boolean cancel(Timeout timeout) {
+        if (!timeout.pending) {
+            return false;
+        }
+        unlink(timeout);
+        return true;
+    }
+
+    synchronized int size() {
+        return pending;
+    }
+
+    // Catches up on every tick elapsed since the last run (the ticker may have been delayed by GC or load)
+    private void advance() {
+        List<T> expired = new ArrayList<>();
+        synchronized (this) {
+            long targetTick = (System.nanoTime() - startNanos) / tickNanos;
+            while (currentTick < targetTick) {
+                currentTick++;
+                @SuppressWarnings("unchecked")
+                Timeout timeout = (Timeout) buckets[(int) (currentTick & mask)];
+                while (timeout != null) {
+                    Timeout next = timeout.next;
+                    if (timeout.deadlineTick <= currentTick) {
+                        unlink(timeout);
+                        expired.add(timeout.value);
+                    }
+                    timeout = next;
+                }
+            }
+        }
+        // Outside the lock: callbacks may schedule or cancel other timeouts
+        for (T value : expired) {
+            try {
+                onExpire.accept(value);
+            } catch (RuntimeException ex) {
+                log.error("Timing wheel expiry callback failed", ex);
+            }
+        }
+    }
+
+    private void unlink(Timeout timeout) {
+        int index = (int) (timeout.deadlineTick & mask);
+        if (timeout.previous != null) {
+            timeout.previous.next = timeout.next;
+        } else {
+            buckets[index] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.previous = timeout.previous;
+        }
+        timeout.previous = null;
+        timeout.next = null;
+        timeout.pending = false;
+        pending--;
+    }
+
+    void close() {
+        ticker.shutdownNow();
+    }
+}
@@ -0,0 +1,105 @@
+package com.epita.airlineapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Answers retried POSTs carrying the same Idempotency-Key from memory.
+// - Keys are per client (ApiClients): another caller reusing a key runs its own request and never sees the
+//   first caller's response.
+// - First request with a key runs the action; its response is kept for the TTL.
+// - Concurrent duplicates wait for the first execution (at most airline.idempotency.wait-timeout, then 400
+//   "still in progress") and get the same response.
+// - Failed executions, whatever they throw, are forgotten so the client can retry for real.
+// - Reusing a key with a different payload is rejected (400).
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private record Entry(Object fingerprint, CompletableFuture<ResponseEntity<?>> response) {}
+
+    private final Cache<String, Entry> entries;
+    private final Duration waitTimeout;
+
+    public IdempotencyService(@Value("${airline.idempotency.maximum-size:100000}") long maximumSize,
+                              @Value("${airline.idempotency.ttl:24h}") Duration ttl,
+                              @Value("${airline.idempotency.wait-timeout:30s}") Duration waitTimeout) {
+        this.waitTimeout = waitTimeout;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public <T> ResponseEntity<T> execute(String scope, String client, String key, Object fingerprint,
+                                         Supplier<ResponseEntity<T>> action) {
+        // No key: plain non-idempotent request
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(HEADER + " must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String cacheKey = scope + ':' + client + ':' + key;
+        Entry mine = new Entry(fingerprint, new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(cacheKey, mine);
+
+        if (existing != null) {
+            if (!existing.fingerprint().equals(fingerprint)) {
+                throw new IllegalStateException(HEADER + " " + key + " was already used with a different request");
+            }
+            return replay(existing, key);
+        }
+
+        try {
+            ResponseEntity<T> response = action.get();
+            mine.response().complete(response);
+            return response;
+        } catch (Throwable ex) {
+            // Forget the key so a later retry executes again; current waiters get the same error.
+            // Errors too: a waiter must never be left on a future nobody will complete
+            entries.asMap().remove(cacheKey, mine);
+            mine.response().completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> replay(Entry entry, String key) {
+        ResponseEntity<T> original;
+        try {
+            original = (ResponseEntity<T>) entry.response().get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw new IllegalStateException("Request with " + HEADER + " " + key + " is still in progress, retry later");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the request with " + HEADER + " " + key);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+
+        return ResponseEntity.status(original.getStatusCode())
+                .headers(original.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body(original.getBody());
+    }
+}
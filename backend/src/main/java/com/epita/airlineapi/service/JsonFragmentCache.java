@@ -0,0 +1,219 @@
+package com.epita.airlineapi.service;
+
+import com.epita.airlineapi.model.Airport;
+import com.epita.airlineapi.model.Flight;
+import com.epita.airlineapi.model.Plane;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Pre-encoded UTF-8 JSON of flights, airports and planes, spliced into the FlightController responses
+// (GET /flights/{id}, /flights/search) instead of running Jackson again on the same unchanged entities.
+// - A flight is cached without its airports and plane, which are encoded once each (not once per flight using
+//   them) and spliced in front of the flight's own fields when writing. Same members and values as plain Jackson
+//   (same JsonMapper), the associations just come first.
+// - Dropped after commit: one flight on FlightChangedEvent, everything on FlightSearchInvalidationEvent.everything()
+//   (plane, airport and schedule edits).
+// - Virtual schedule instances (no flightId) are encoded on every request; only their airports/plane are cached.
+@Component
+public class JsonFragmentCache {
+
+    @JsonIgnoreProperties({"departureAirport", "arrivalAirport", "plane"})
+    private interface FlightFieldsOnly {
+    }
+
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DEPARTURE_AIRPORT = "{\"departureAirport\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ARRIVAL_AIRPORT = ",\"arrivalAirport\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PLANE = ",\"plane\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] COMMA = {','};
+    private static final byte[] OPEN_ARRAY = {'['};
+    private static final byte[] CLOSE_ARRAY = {']'};
+
+    private final JsonMapper jsonMapper;
+    private final JsonMapper flightFieldsMapper;
+    private final boolean enabled;
+    // Flight: its own fields after the opening brace, e.g. "flightId":1,...}
+    private final Cache<Long, byte[]> flights;
+    private final Cache<Long, byte[]> airports;
+    private final Cache<Long, byte[]> planes;
+
+    // Bumped by every invalidation, see fragment()
+    private final AtomicLong epoch = new AtomicLong();
+
+    public JsonFragmentCache(JsonMapper jsonMapper,
+                             @Value("${airline.json-cache.enabled:true}") boolean enabled,
+                             @Value("${airline.json-cache.maximum-size:100000}") long maximumSize) {
+        this.jsonMapper = jsonMapper;
+        this.flightFieldsMapper = jsonMapper.rebuild().addMixIn(Flight.class, FlightFieldsOnly.class).build();
+        this.enabled = enabled;
+        this.flights = Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build();
+        this.airports = Caffeine.newBuilder().maximumSize(maximumSize).build();
+        this.planes = Caffeine.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    // JSON of one flight. The loader runs here so that a change committed while it runs is detected.
+    public byte[] flight(Supplier<Flight> loader) {
+        if (!enabled) {
+            return jsonMapper.writeValueAsBytes(loader.get());
+        }
+        long seen = epoch.get();
+        return flight(loader.get(), seen);
+    }
+
+    // JSON array of flights (search results)
+    public byte[] flights(Supplier<List<Flight>> loader) {
+        if (!enabled) {
+            return jsonMapper.writeValueAsBytes(loader.get());
+        }
+        long seen = epoch.get();
+        return flights(loader.get(), seen);
+    }
+
+    // Same, for flights loaded elsewhere (reactive read path): pass epoch() as read before loading them
+    public long epoch() {
+        return epoch.get();
+    }
+
+    public byte[] flight(Flight flight, long seen) {
+        if (!enabled) {
+            return jsonMapper.writeValueAsBytes(flight);
+        }
+        Parts parts = new Parts(8);
+        appendFlight(parts, flight, seen);
+        return parts.toByteArray();
+    }
+
+    public byte[] flights(List<Flight> list, long seen) {
+        if (!enabled) {
+            return jsonMapper.writeValueAsBytes(list);
+        }
+        Parts parts = new Parts(list.size() * 9 + 2);
+        parts.add(OPEN_ARRAY);
+        for (int i = 0; i < list.size(); i++) {
+            if (i > 0) {
+                parts.add(COMMA);
+            }
+            appendFlight(parts, list.get(i), seen);
+        }
+        parts.add(CLOSE_ARRAY);
+        return parts.toByteArray();
+    }
+
+    private void appendFlight(Parts parts, Flight flight, long seen) {
+        parts.add(DEPARTURE_AIRPORT);
+        parts.add(airport(flight.getDepartureAirport(), seen));
+        parts.add(ARRIVAL_AIRPORT);
+        parts.add(airport(flight.getArrivalAirport(), seen));
+        parts.add(PLANE);
+        parts.add(plane(flight.getPlane(), seen));
+        parts.add(COMMA);
+        parts.add(flight.getFlightId() == null
+                ? encodeFields(flight)
+                : fragment(flights, flight.getFlightId(), seen, () -> encodeFields(flight)));
+    }
+
+    private byte[] airport(Airport airport, long seen) {
+        if (airport == null) {
+            return NULL;
+        }
+        if (airport.getAirportId() == null) {
+            return jsonMapper.writeValueAsBytes(airport);
+        }
+        return fragment(airports, airport.getAirportId(), seen, () -> jsonMapper.writeValueAsBytes(airport));
+    }
+
+    private byte[] plane(Plane plane, long seen) {
+        if (plane == null) {
+            return NULL;
+        }
+        if (plane.getPlaneId() == null) {
+            return jsonMapper.writeValueAsBytes(plane);
+        }
+        return fragment(planes, plane.getPlaneId(), seen, () -> jsonMapper.writeValueAsBytes(plane));
+    }
+
+    private byte[] encodeFields(Flight flight) {
+        byte[] json = flightFieldsMapper.writeValueAsBytes(flight);
+        return Arrays.copyOfRange(json, 1, json.length); // without '{'
+    }
+
+    // The entity may have been loaded before a change that was invalidated while it was being encoded:
+    // re-checked after the put, so such an entry never outlives the invalidation (which bumps epoch first).
+    private byte[] fragment(Cache<Long, byte[]> cache, Long id, long seen, Supplier<byte[]> encoder) {
+        byte[] cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+        byte[] encoded = encoder.get();
+        cache.put(id, encoded);
+        if (epoch.get() != seen) {
+            cache.invalidate(id);
+        }
+        return encoded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightChanged(FlightChangedEvent event) {
+        epoch.incrementAndGet();
+        flights.invalidate(event.flightId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInvalidation(FlightSearchInvalidationEvent event) {
+        if (event.all()) {
+            epoch.incrementAndGet();
+            flights.invalidateAll();
+            airports.invalidateAll();
+            planes.invalidateAll();
+        }
+    }
+
+    public CacheStats stats() {
+        return flights.stats();
+    }
+
+    public long size() {
+        return flights.estimatedSize();
+    }
+
+    // Fragments of one response, copied once into the response body
+    private static final class Parts {
+        private byte[][] parts;
+        private int count;
+        private int length;
+
+        private Parts(int capacity) {
+            this.parts = new byte[Math.max(capacity, 1)][];
+        }
+
+        private void add(byte[] part) {
+            if (count == parts.length) {
+                parts = Arrays.copyOf(parts, count * 2);
+            }
+            parts[count++] = part;
+            length += part.length;
+        }
+
+        private byte[] toByteArray() {
+            byte[] bytes = new byte[length];
+            int position = 0;
+            for (int i = 0; i < count; i++) {
+                System.arraycopy(parts[i], 0, bytes, position, parts[i].length);
+                position += parts[i].length;
+            }
+            return bytes;
+        }
+    }
+}
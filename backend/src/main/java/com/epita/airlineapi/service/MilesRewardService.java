@@ -25,6 +25,7 @@ public class MilesRewardService {
     private final ClientRepository clientRepository; // Needed to resolve Client ID
     private final FlightRepository flightRepository; // Needed to resolve Flight ID
     private final BookRepository bookRepository; // need for miles reward thing
+    private final AirportDistanceMatrix distanceMatrix; // route length for the miles
 
     @Transactional
     public MilesReward createReward(MilesRewardCreateDto dto) {
@@ -45,6 +46,7 @@ public class MilesRewardService {
         reward.setClient(client);
         reward.setFlight(flight);
         reward.setDate(dto.getDate());
+        reward.setMiles(routeMiles(flight));
 
         // 4. Save the reward first
         MilesReward savedReward = milesRewardRepository.save(reward);
@@ -102,6 +104,7 @@ public class MilesRewardService {
             Flight newFlight = flightRepository.findById(dto.getFlightId())
                     .orElseThrow(() -> new EntityNotFoundException("Flight not found with ID: " + dto.getFlightId()));
             existingReward.setFlight(newFlight);
+            existingReward.setMiles(routeMiles(newFlight));
         }
 
         // 4.Update Date
@@ -113,6 +116,16 @@ public class MilesRewardService {
         return milesRewardRepository.save(existingReward);
     }
 
+    // Array read in the precomputed matrix, no trigonometry or query per reward
+    private Integer routeMiles(Flight flight) {
+        if (flight.getDepartureAirport() == null || flight.getArrivalAirport() == null) {
+            return null;
+        }
+        double km = distanceMatrix.distanceKm(flight.getDepartureAirport().getAirportId(),
+                flight.getArrivalAirport().getAirportId());
+        return Double.isNaN(km) ? null : (int) Math.round(km * AirportDistanceMatrix.KM_TO_MILES);
+    }
+
     public void deleteReward(Long id) {
         if (!milesRewardRepository.existsById(id)) {
             throw new EntityNotFoundException("Cannot delete. Reward not found with ID: " + id);
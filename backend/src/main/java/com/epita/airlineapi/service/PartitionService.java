@@ -0,0 +1,367 @@
+package com.epita.airlineapi.service;
+
+import com.epita.airlineapi.dto.PartitionInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Monthly range partitioning of flights and books by departure date.
+// - Hot queries carry the departure date (search, seat counts, yearly counts), so the planner
+//   prunes to one or a few partitions however much history accumulates.
+// - books references flights through (flight_id, departure_date) ON UPDATE CASCADE: moving a flight
+//   to another day moves its bookings along.
+// - A daily job creates the months ahead and detaches months past retention. Detached partitions stay
+//   as plain tables (e.g. flights_p2024_01) until archived (dropMonth); rewards pointing to them see a null
+//   flight. Restoring an archived month attaches them again (attachMonth).
+// Hibernate creates plain tables on a fresh schema; initialize() converts them once at startup.
+@Service
+public class PartitionService {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionService.class);
+
+    // flights first (books references it); detaching goes the other way round
+    private static final List<String> TABLES = List.of("flights", "books");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("'_p'yyyy_MM");
+    private static final Pattern PARTITION_NAME = Pattern.compile("^(flights|books)_p(\\d{4})_(\\d{2})$");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate ddlTransaction;
+    private final CacheService cacheService;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    // Months currently attached to both parents; lets ensurePartitionFor skip the catalog
+    private final Set<YearMonth> attachedMonths = ConcurrentHashMap.newKeySet();
+    private volatile boolean partitioned;
+
+    public PartitionService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                            CacheService cacheService,
+                            @Value("${airline.partitions.months-ahead:13}") int monthsAhead,
+                            @Value("${airline.partitions.retention-months:24}") int retentionMonths) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // DDL commits on its own, never inside (or rolled back with) a request transaction
+        this.ddlTransaction = new TransactionTemplate(transactionManager);
+        this.ddlTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.cacheService = cacheService;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    // Called by SchemaInitializer, after Hibernate has created/updated the tables
+    public void initialize() {
+        partitioned = isPartitioned("flights");
+        if (!partitioned) {
+            convert();
+            partitioned = isPartitioned("flights");
+        }
+        if (partitioned) {
+            try {
+                maintain();
+            } catch (DataAccessException ex) {
+                // Existing partitions keep working; the nightly job or POST /api/v1/partitions/maintenance retries
+                log.warn("Partition maintenance failed: {}", ex.getMessage());
+            }
+        }
+    }
+
+    public boolean isPartitioned() {
+        return partitioned;
+    }
+
+    // Make sure a departure date can be inserted (flights and their bookings).
+    // Request paths never run the DDL: they hold a pooled connection (their transaction), and creating the
+    // partition on a second one (REQUIRES_NEW) would wait for the pool while holding it, so a burst of such
+    // requests could exhaust the pool and block itself. Maintenance creates airline.partitions.months-ahead
+    // months ahead (startup, nightly, POST /api/v1/partitions/maintenance); a request for a month it has not
+    // created is refused. Without a transaction (CLI, generator) the month is created here.
+    public void ensurePartitionFor(LocalDate departureDate) {
+        if (!partitioned || departureDate == null) {
+            return;
+        }
+        YearMonth month = YearMonth.from(departureDate);
+        if (attachedMonths.contains(month)) {
+            return;
+        }
+        if (month.isBefore(retentionCutoff())) {
+            throw new IllegalArgumentException("Departure date " + departureDate + " is in an archived month");
+        }
+        // Attached by another instance or after a failed startup maintenance: read in the caller's transaction
+        if (isAttached(partitionName("flights", month))) {
+            attachedMonths.add(month);
+            return;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalArgumentException("Departure date " + departureDate + " is beyond the months open for sale (up to "
+                    + YearMonth.now().plusMonths(monthsAhead) + ", airline.partitions.months-ahead)");
+        }
+        ensureRange(month, month);
+    }
+
+    public void ensureRange(YearMonth from, YearMonth to) {
+        if (!partitioned) {
+            return;
+        }
+        synchronized (attachedMonths) {
+            ddlTransaction.executeWithoutResult(status -> {
+                // Fail fast instead of queueing every search behind a DDL waiting for a long transaction
+                jdbcTemplate.execute("SET LOCAL lock_timeout = '5s'");
+                for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+                    if (!attachedMonths.contains(month)) {
+                        for (String table : TABLES) {
+                            jdbcTemplate.execute(createPartitionSql(table, month));
+                        }
+                    }
+                }
+            });
+            for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+                attachedMonths.add(month);
+            }
+        }
+    }
+
+    @Scheduled(cron = "${airline.partitions.maintenance-cron:0 15 3 * * *}")
+    public void scheduledMaintenance() {
+        if (partitioned) {
+            maintain();
+        }
+    }
+
+    // Creates the months ahead, detaches the months past retention; returns the partitions afterwards
+    public List<PartitionInfo> maintain() {
+        if (!partitioned) {
+            throw new IllegalStateException("flights and books are not partitioned");
+        }
+        refreshAttachedMonths();
+        YearMonth now = YearMonth.now();
+        ensureRange(now, now.plusMonths(monthsAhead));
+
+        YearMonth cutoff = retentionCutoff();
+        List<YearMonth> expired = attachedMonths.stream().filter(month -> month.isBefore(cutoff)).sorted().toList();
+        for (YearMonth month : expired) {
+            detach(month);
+            log.info("Detached partitions of {} (retention {} months)", month, retentionMonths);
+        }
+        if (!expired.isEmpty()) {
+            // Cached flights of the detached months must not be served any more
+            cacheService.evictAll();
+        }
+        return getPartitions();
+    }
+
+    // Name of the flights/books table holding one month, attached or detached
+    public static String partitionName(String table, YearMonth month) {
+        return table + month.format(SUFFIX);
+    }
+
+    // Detaches (if still attached) and drops one month's tables in the caller's transaction: ArchiveService does
+    // it once the month's export is on disk, together with the deletes of the month's other rows. Rolled back
+    // with that transaction, the month stays attached (ensurePartitionFor finds it again through the catalog).
+    // books goes first: a detached books table keeps its foreign key to flights.
+    public void dropMonth(YearMonth month) {
+        attachedMonths.remove(month);
+        jdbcTemplate.execute("SET LOCAL lock_timeout = '5s'");
+        for (String table : TABLES.reversed()) {
+            String partition = partitionName(table, month);
+            if (isAttached(partition)) {
+                jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition);
+            }
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+        }
+    }
+
+    // Makes one month insertable again for a restore: tables left detached (retention) are re-attached,
+    // missing ones created
+    public void attachMonth(YearMonth month) {
+        if (!partitioned) {
+            return;
+        }
+        synchronized (attachedMonths) {
+            ddlTransaction.executeWithoutResult(status -> {
+                jdbcTemplate.execute("SET LOCAL lock_timeout = '5s'");
+                for (String table : TABLES) {
+                    String partition = partitionName(table, month);
+                    if (tableExists(partition) && !isAttached(partition)) {
+                        jdbcTemplate.execute("ALTER TABLE " + table + " ATTACH PARTITION " + partition + bounds(month));
+                    } else {
+                        jdbcTemplate.execute(createPartitionSql(table, month));
+                    }
+                }
+            });
+            attachedMonths.add(month);
+        }
+    }
+
+    private void detach(YearMonth month) {
+        synchronized (attachedMonths) {
+            ddlTransaction.executeWithoutResult(status -> {
+                jdbcTemplate.execute("SET LOCAL lock_timeout = '5s'");
+                for (String table : TABLES.reversed()) {
+                    jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + partitionName(table, month));
+                }
+            });
+            attachedMonths.remove(month);
+        }
+    }
+
+    public List<PartitionInfo> getPartitions() {
+        List<PartitionInfo> partitions = new ArrayList<>();
+        jdbcTemplate.query("""
+                SELECT c.relname, c.reltuples::bigint AS estimated_rows,
+                       EXISTS (SELECT 1 FROM pg_inherits i WHERE i.inhrelid = c.oid) AS attached
+                FROM pg_class c
+                WHERE c.relkind IN ('r', 'p') AND c.relname ~ '^(flights|books)_p[0-9]{4}_[0-9]{2}$'
+                ORDER BY c.relname
+                """, rs -> {
+            Matcher matcher = PARTITION_NAME.matcher(rs.getString("relname"));
+            if (matcher.matches()) {
+                LocalDate from = YearMonth.of(Integer.parseInt(matcher.group(2)), Integer.parseInt(matcher.group(3))).atDay(1);
+                partitions.add(new PartitionInfo(matcher.group(1), rs.getString("relname"), from, from.plusMonths(1),
+                        rs.getLong("estimated_rows"), rs.getBoolean("attached")));
+            }
+        });
+        return partitions;
+    }
+
+    private YearMonth retentionCutoff() {
+        return YearMonth.now().minusMonths(retentionMonths);
+    }
+
+    private boolean isPartitioned(String table) {
+        Boolean result = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_class WHERE relname = ? AND relkind = 'p')", Boolean.class, table);
+        return Boolean.TRUE.equals(result);
+    }
+
+    // Months attached to flights (books always follows the same months)
+    private void refreshAttachedMonths() {
+        List<String> names = jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_class p ON p.oid = i.inhparent
+                WHERE p.relname = 'flights'
+                """, String.class);
+        Set<YearMonth> months = ConcurrentHashMap.newKeySet();
+        for (String name : names) {
+            Matcher matcher = PARTITION_NAME.matcher(name);
+            if (matcher.matches()) {
+                months.add(YearMonth.of(Integer.parseInt(matcher.group(2)), Integer.parseInt(matcher.group(3))));
+            }
+        }
+        attachedMonths.retainAll(months);
+        attachedMonths.addAll(months);
+    }
+
+    private boolean tableExists(String table) {
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    private boolean isAttached(String partition) {
+        Boolean attached = jdbcTemplate.queryForObject("""
+                SELECT EXISTS (SELECT 1 FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid WHERE c.relname = ?)
+                """, Boolean.class, partition);
+        return Boolean.TRUE.equals(attached);
+    }
+
+    private static String createPartitionSql(String table, YearMonth month) {
+        return "CREATE TABLE IF NOT EXISTS " + partitionName(table, month) + " PARTITION OF " + table + bounds(month);
+    }
+
+    private static String bounds(YearMonth month) {
+        return " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+    }
+
+    // One-off conversion of the plain tables created by Hibernate, in a single transaction:
+    // rename, create partitioned parents with the same columns, copy, re-create keys and indexes.
+    // Identity columns become sequence defaults (identity on partitioned tables needs PostgreSQL 17).
+    private void convert() {
+        try {
+            ddlTransaction.executeWithoutResult(status -> {
+                // Partition key of books: copied from the flight
+                jdbcTemplate.update("""
+                        UPDATE books b SET departure_date = f.departure_date
+                        FROM flights f WHERE f.flight_id = b.flight_id AND b.departure_date IS NULL
+                        """);
+                Long orphans = jdbcTemplate.queryForObject("SELECT count(*) FROM books WHERE departure_date IS NULL", Long.class);
+                if (orphans != null && orphans > 0) {
+                    throw new IllegalStateException(orphans + " bookings have no flight, cannot partition books");
+                }
+
+                LocalDate[] range = jdbcTemplate.queryForObject(
+                        "SELECT min(departure_date), max(departure_date) FROM flights",
+                        (rs, row) -> new LocalDate[]{rs.getObject(1, LocalDate.class), rs.getObject(2, LocalDate.class)});
+                YearMonth first = retentionCutoff();
+                YearMonth last = YearMonth.now().plusMonths(monthsAhead);
+                if (range != null && range[0] != null && YearMonth.from(range[0]).isBefore(first)) first = YearMonth.from(range[0]);
+                if (range != null && range[1] != null && YearMonth.from(range[1]).isAfter(last)) last = YearMonth.from(range[1]);
+
+                List<String> statements = new ArrayList<>(List.of(
+                        "ALTER TABLE books RENAME TO books_unpartitioned",
+                        "ALTER TABLE flights RENAME TO flights_unpartitioned",
+                        "ALTER TABLE flights_unpartitioned DROP CONSTRAINT IF EXISTS uk_flights_number_date",
+                        "CREATE TABLE flights (LIKE flights_unpartitioned INCLUDING DEFAULTS) PARTITION BY RANGE (departure_date)",
+                        "CREATE TABLE books (LIKE books_unpartitioned INCLUDING DEFAULTS) PARTITION BY RANGE (departure_date)",
+                        "CREATE SEQUENCE IF NOT EXISTS flights_id_seq OWNED BY flights.flight_id",
+                        "CREATE SEQUENCE IF NOT EXISTS books_id_seq OWNED BY books.reservation_id",
+                        "ALTER TABLE flights ALTER COLUMN flight_id SET DEFAULT nextval('flights_id_seq')",
+                        "ALTER TABLE books ALTER COLUMN reservation_id SET DEFAULT nextval('books_id_seq')",
+                        "ALTER TABLE books ALTER COLUMN departure_date SET NOT NULL",
+                        // Unique keys of a partitioned table must contain the partition key
+                        "ALTER TABLE flights ADD CONSTRAINT pk_flights PRIMARY KEY (flight_id, departure_date)",
+                        "ALTER TABLE flights ADD CONSTRAINT uk_flights_number_date UNIQUE (flight_number, departure_date)",
+                        "ALTER TABLE books ADD CONSTRAINT pk_books PRIMARY KEY (reservation_id, departure_date)"));
+                for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+                    for (String table : TABLES) {
+                        statements.add(createPartitionSql(table, month));
+                    }
+                }
+                statements.addAll(List.of(
+                        "INSERT INTO flights SELECT * FROM flights_unpartitioned",
+                        "INSERT INTO books SELECT * FROM books_unpartitioned",
+                        "SELECT setval('flights_id_seq', GREATEST((SELECT max(flight_id) FROM flights), 1))",
+                        "SELECT setval('books_id_seq', GREATEST((SELECT max(reservation_id) FROM books), 1))",
+                        // CASCADE also drops the old single-column FKs pointing at flights (miles_reward)
+                        "DROP TABLE books_unpartitioned CASCADE",
+                        "DROP TABLE flights_unpartitioned CASCADE",
+                        "ALTER TABLE flights ADD CONSTRAINT fk_flights_departure_airport FOREIGN KEY (departure_airport_id) REFERENCES airports (airport_id)",
+                        "ALTER TABLE flights ADD CONSTRAINT fk_flights_arrival_airport FOREIGN KEY (arrival_airport_id) REFERENCES airports (airport_id)",
+                        "ALTER TABLE flights ADD CONSTRAINT fk_flights_plane FOREIGN KEY (plane_id) REFERENCES planes (plane_id)",
+                        "ALTER TABLE books ADD CONSTRAINT fk_books_client FOREIGN KEY (client_id) REFERENCES clients (user_id)",
+                        "ALTER TABLE books ADD CONSTRAINT fk_books_flight FOREIGN KEY (flight_id, departure_date) "
+                                + "REFERENCES flights (flight_id, departure_date) ON UPDATE CASCADE",
+                        // Search filters on the day then upper(city) (Spring Data IgnoreCase)
+                        "CREATE INDEX idx_flights_search ON flights (departure_date, upper(departure_city), upper(arrival_city))",
+                        "CREATE INDEX idx_books_flight ON books (flight_id, departure_date)",
+                        "CREATE INDEX idx_books_client ON books (client_id, departure_date)"));
+
+                for (String statement : statements) {
+                    jdbcTemplate.execute(statement);
+                }
+                log.info("Converted flights and books to monthly partitions {} .. {}", first, last);
+            });
+        } catch (RuntimeException ex) {
+            // Rolled back as a whole: the plain tables are untouched. Running on them would only fail later
+            // (retention, archive, reports expect partitions), so the start fails here with the cause.
+            throw new IllegalStateException("Could not convert flights and books to monthly partitions: " + ex.getMessage(), ex);
+        }
+    }
+}
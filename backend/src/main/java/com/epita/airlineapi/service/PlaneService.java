@@ -3,6 +3,7 @@ package com.epita.airlineapi.service;
 import com.epita.airlineapi.model.Plane;
 import com.epita.airlineapi.repository.PlaneRepository;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -13,9 +14,11 @@ import java.util.Objects;
 public class PlaneService {
 
     private final PlaneRepository planeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public PlaneService(PlaneRepository planeRepository) {
+    public PlaneService(PlaneRepository planeRepository, ApplicationEventPublisher eventPublisher) {
         this.planeRepository = planeRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     // GET ALL
@@ -72,6 +75,9 @@ public class PlaneService {
             plane.setManufacturingYear(updateRequest.getManufacturingYear());
         }
 
+        // Flights embed their plane, so cached search results are stale now
+        eventPublisher.publishEvent(FlightSearchInvalidationEvent.everything());
+
         // Return the updated object (Changes are auto-saved by @Transactional)
         return plane;
     }
@@ -0,0 +1,98 @@
+package com.epita.airlineapi.service;
+
+import com.epita.airlineapi.dto.RateLimitConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-client, per-endpoint-group token buckets.
+// Each bucket is a single AtomicLong using GCRA (the "virtual scheduling" form of a token bucket):
+// it stores the theoretical arrival time of the next request, so acquiring is one CAS, no locks.
+// Limits are read on every acquire, so updates through /api/v1/rate-limits apply immediately.
+@Service
+public class RateLimitService {
+
+    // Outcome of one acquire; retryAfterNanos is 0 when allowed
+    public record Decision(boolean allowed, int limit, int remaining, long retryAfterNanos) {}
+
+    // Immutable, swapped atomically on update
+    private record Limit(int requestsPerSecond, int burst, long intervalNanos, long toleranceNanos) {
+        static Limit of(int requestsPerSecond, int burst) {
+            long interval = Math.max(1, TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+            return new Limit(requestsPerSecond, burst, interval, interval * burst);
+        }
+    }
+
+    private final Map<EndpointGroup, Limit> limits = new ConcurrentHashMap<>();
+    private final Cache<String, AtomicLong> buckets;
+    private volatile boolean enabled;
+
+    public RateLimitService(Environment environment) {
+        this.enabled = environment.getProperty("airline.rate-limit.enabled", Boolean.class, true);
+        for (EndpointGroup group : EndpointGroup.values()) {
+            String prefix = "airline.rate-limit." + group.name().toLowerCase(Locale.ROOT);
+            int rps = environment.getProperty(prefix + ".requests-per-second", Integer.class, 50);
+            int burst = environment.getProperty(prefix + ".burst", Integer.class, rps * 2);
+            limits.put(group, Limit.of(rps, burst));
+        }
+
+        // Idle clients fall out, so the map stays bounded no matter how many keys we see
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(environment.getProperty("airline.rate-limit.max-clients", Long.class, 100_000L))
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Decision tryAcquire(EndpointGroup group, String clientKey) {
+        Limit limit = limits.get(group);
+        AtomicLong tat = buckets.get(group.name() + '|' + clientKey, k -> new AtomicLong(Long.MIN_VALUE));
+        long now = System.nanoTime();
+
+        while (true) {
+            long current = tat.get();
+            long base = current == Long.MIN_VALUE ? now : Math.max(current, now);
+            long next = base + limit.intervalNanos();
+            long backlog = next - now;
+
+            if (backlog > limit.toleranceNanos()) {
+                return new Decision(false, limit.requestsPerSecond(), 0, backlog - limit.toleranceNanos());
+            }
+            if (tat.compareAndSet(current, next)) {
+                int remaining = (int) ((limit.toleranceNanos() - backlog) / limit.intervalNanos());
+                return new Decision(true, limit.requestsPerSecond(), remaining, 0);
+            }
+        }
+    }
+
+    public Map<EndpointGroup, RateLimitConfig> getLimits() {
+        Map<EndpointGroup, RateLimitConfig> result = new EnumMap<>(EndpointGroup.class);
+        limits.forEach((group, limit) -> result.put(group, new RateLimitConfig(limit.requestsPerSecond(), limit.burst())));
+        return result;
+    }
+
+    public void updateLimit(EndpointGroup group, RateLimitConfig config) {
+        if (config.getRequestsPerSecond() == null || config.getRequestsPerSecond() <= 0
+                || config.getRequestsPerSecond() > 1_000_000
+                || config.getBurst() == null || config.getBurst() <= 0) {
+            throw new IllegalArgumentException("requestsPerSecond must be between 1 and 1000000 and burst greater than 0");
+        }
+        limits.put(group, Limit.of(config.getRequestsPerSecond(), config.getBurst()));
+    }
+}
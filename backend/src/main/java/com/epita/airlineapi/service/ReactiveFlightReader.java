@@ -0,0 +1,202 @@
+package com.epita.airlineapi.service;
+
+import com.epita.airlineapi.model.Airport;
+import com.epita.airlineapi.model.DaysOfWeekConverter;
+import com.epita.airlineapi.model.Flight;
+import com.epita.airlineapi.model.FlightSchedule;
+import com.epita.airlineapi.model.Plane;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.Statement;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+// Non-blocking counterpart of the FlightService/AirportService reads behind /api/v1/reactive:
+// the same rows through R2DBC (ReactiveDataSourceConfig), mapped to detached entities so results
+// share FlightSearchCache and JsonFragmentCache with the blocking endpoints.
+// Read-only: every write still goes through the JPA services, whose invalidation events cover both paths.
+@Service
+public class ReactiveFlightReader {
+
+    // Flight with its airports and plane in one row, like the eager @ManyToOne loads of the JPA path
+    private static final String FLIGHT_SELECT = """
+            SELECT f.flight_id, f.flight_number, f.departure_city, f.arrival_city, f.departure_date, f.arrival_date,
+                   f.number_of_seats, f.business_price, f.economy_price, f.schedule_id,
+                   da.airport_id AS da_airport_id, da.airport_name AS da_airport_name,
+                   da.airport_country AS da_airport_country, da.airport_city AS da_airport_city,
+                   da.latitude AS da_latitude, da.longitude AS da_longitude,
+                   aa.airport_id AS aa_airport_id, aa.airport_name AS aa_airport_name,
+                   aa.airport_country AS aa_airport_country, aa.airport_city AS aa_airport_city,
+                   aa.latitude AS aa_latitude, aa.longitude AS aa_longitude,
+                   p.plane_id, p.plane_brand, p.plane_model, p.manufacturing_year
+            FROM flights f
+            JOIN airports da ON da.airport_id = f.departure_airport_id
+            JOIN airports aa ON aa.airport_id = f.arrival_airport_id
+            JOIN planes p ON p.plane_id = f.plane_id
+            """;
+
+    // Same predicate as FlightRepository.findByDepartureCityIgnoreCaseAndArrivalCityIgnoreCaseAndDepartureDate
+    private static final String SEARCH_FLIGHTS = FLIGHT_SELECT + """
+            WHERE upper(f.departure_city) = upper($1) AND upper(f.arrival_city) = upper($2) AND f.departure_date = $3
+            """;
+
+    private static final String FLIGHT_BY_ID = FLIGHT_SELECT + "WHERE f.flight_id = $1";
+
+    // Same predicate as FlightScheduleRepository.findValidOnRoute
+    private static final String SCHEDULES_ON_ROUTE = """
+            SELECT s.schedule_id, s.flight_number, s.departure_city, s.arrival_city, s.days_of_week,
+                   s.valid_from, s.valid_to, s.arrival_day_offset, s.number_of_seats, s.business_price, s.economy_price,
+                   da.airport_id AS da_airport_id, da.airport_name AS da_airport_name,
+                   da.airport_country AS da_airport_country, da.airport_city AS da_airport_city,
+                   da.latitude AS da_latitude, da.longitude AS da_longitude,
+                   aa.airport_id AS aa_airport_id, aa.airport_name AS aa_airport_name,
+                   aa.airport_country AS aa_airport_country, aa.airport_city AS aa_airport_city,
+                   aa.latitude AS aa_latitude, aa.longitude AS aa_longitude,
+                   p.plane_id, p.plane_brand, p.plane_model, p.manufacturing_year
+            FROM flight_schedules s
+            JOIN airports da ON da.airport_id = s.departure_airport_id
+            JOIN airports aa ON aa.airport_id = s.arrival_airport_id
+            JOIN planes p ON p.plane_id = s.plane_id
+            WHERE lower(s.departure_city) = lower($1) AND lower(s.arrival_city) = lower($2)
+              AND s.valid_from <= $3 AND s.valid_to >= $3
+            """;
+
+    private static final String ALL_AIRPORTS = """
+            SELECT airport_id, airport_name, airport_country, airport_city, latitude, longitude FROM airports
+            """;
+
+    private static final DaysOfWeekConverter DAYS_OF_WEEK = new DaysOfWeekConverter();
+
+    private final ConnectionPool connectionPool;
+    private final FlightSearchCache flightSearchCache;
+    private final ArchiveService archiveService;
+
+    public ReactiveFlightReader(ConnectionPool reactiveConnectionPool,
+                                FlightSearchCache flightSearchCache,
+                                ArchiveService archiveService) {
+        this.connectionPool = reactiveConnectionPool;
+        this.flightSearchCache = flightSearchCache;
+        this.archiveService = archiveService;
+    }
+
+    // GET ONE (By ID), falling back to the cold archive
+    public Mono<Flight> getFlightById(Long flightId) {
+        return withConnection(connection -> query(connection, FLIGHT_BY_ID, ReactiveFlightReader::flight, flightId).next())
+                // Archive lookups read local files: off the event loop
+                .switchIfEmpty(Mono.defer(() -> Mono.fromCallable(() -> archiveService.findFlight(flightId))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .flatMap(Mono::justOrEmpty)))
+                .switchIfEmpty(Mono.error(() -> new NoSuchElementException("Flight with id " + flightId + " not found")));
+    }
+
+    // SEARCH, through the shared search result cache (misses are not coalesced here, unlike FlightSearchCache.get)
+    public Mono<List<Flight>> searchFlights(String departureCity, String arrivalCity, LocalDate date) {
+        return Mono.defer(() -> {
+            FlightSearchCache.SearchKey key = FlightSearchCache.SearchKey.of(departureCity, arrivalCity, date);
+            List<Flight> cached = flightSearchCache.getIfPresent(key);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            long seen = flightSearchCache.generation();
+            return loadSearch(departureCity, arrivalCity, date)
+                    .map(flights -> flightSearchCache.put(key, flights, seen));
+        });
+    }
+
+    // SEARCH without the cache: materialized flights plus the virtual instances of the route's schedules,
+    // both queries on one connection
+    public Mono<List<Flight>> loadSearch(String departureCity, String arrivalCity, LocalDate date) {
+        return withConnection(connection -> query(connection, SEARCH_FLIGHTS, ReactiveFlightReader::flight,
+                departureCity, arrivalCity, date).collectList()
+                .flatMap(materialized -> query(connection, SCHEDULES_ON_ROUTE, ReactiveFlightReader::schedule,
+                        departureCity, arrivalCity, date).collectList()
+                        .map(schedules -> {
+                            List<Flight> flights = new ArrayList<>(materialized);
+                            flights.addAll(FlightScheduleService.virtualInstances(schedules, date, materialized));
+                            return flights;
+                        })));
+    }
+
+    // GET ALL airports
+    public Mono<List<Airport>> getAirports() {
+        return withConnection(connection -> query(connection, ALL_AIRPORTS, row -> airport(row, "")).collectList());
+    }
+
+    // Connection released (returned to the pool) on completion, error and cancellation alike
+    private <T> Mono<T> withConnection(Function<Connection, Mono<T>> work) {
+        return Mono.usingWhen(connectionPool.create(), work, Connection::close);
+    }
+
+    private static <T> Flux<T> query(Connection connection, String sql, Function<Row, T> mapper, Object... parameters) {
+        Statement statement = connection.createStatement(sql);
+        for (int i = 0; i < parameters.length; i++) {
+            statement.bind(i, parameters[i]);
+        }
+        return Flux.from(statement.execute()).flatMap(result -> result.map((row, metadata) -> mapper.apply(row)));
+    }
+
+    private static Flight flight(Row row) {
+        Flight flight = new Flight();
+        flight.setFlightId(row.get("flight_id", Long.class));
+        flight.setFlightNumber(row.get("flight_number", String.class));
+        flight.setDepartureCity(row.get("departure_city", String.class));
+        flight.setArrivalCity(row.get("arrival_city", String.class));
+        flight.setDepartureDate(row.get("departure_date", LocalDate.class));
+        flight.setArrivalDate(row.get("arrival_date", LocalDate.class));
+        flight.setDepartureAirport(airport(row, "da_"));
+        flight.setArrivalAirport(airport(row, "aa_"));
+        flight.setPlane(plane(row));
+        flight.setNumberOfSeats(row.get("number_of_seats", Integer.class));
+        flight.setBusinessPrice(row.get("business_price", BigDecimal.class));
+        flight.setEconomyPrice(row.get("economy_price", BigDecimal.class));
+        flight.setScheduleId(row.get("schedule_id", Long.class));
+        return flight;
+    }
+
+    private static FlightSchedule schedule(Row row) {
+        FlightSchedule schedule = new FlightSchedule();
+        schedule.setScheduleId(row.get("schedule_id", Long.class));
+        schedule.setFlightNumber(row.get("flight_number", String.class));
+        schedule.setDepartureCity(row.get("departure_city", String.class));
+        schedule.setArrivalCity(row.get("arrival_city", String.class));
+        schedule.setDepartureAirport(airport(row, "da_"));
+        schedule.setArrivalAirport(airport(row, "aa_"));
+        schedule.setPlane(plane(row));
+        schedule.setDaysOfWeek(DAYS_OF_WEEK.convertToEntityAttribute(row.get("days_of_week", Integer.class)));
+        schedule.setValidFrom(row.get("valid_from", LocalDate.class));
+        schedule.setValidTo(row.get("valid_to", LocalDate.class));
+        schedule.setArrivalDayOffset(row.get("arrival_day_offset", Integer.class));
+        schedule.setNumberOfSeats(row.get("number_of_seats", Integer.class));
+        schedule.setBusinessPrice(row.get("business_price", BigDecimal.class));
+        schedule.setEconomyPrice(row.get("economy_price", BigDecimal.class));
+        return schedule;
+    }
+
+    private static Airport airport(Row row, String prefix) {
+        return new Airport(
+                row.get(prefix + "airport_id", Long.class),
+                row.get(prefix + "airport_name", String.class),
+                row.get(prefix + "airport_country", String.class),
+                row.get(prefix + "airport_city", String.class),
+                row.get(prefix + "latitude", Double.class),
+                row.get(prefix + "longitude", Double.class));
+    }
+
+    private static Plane plane(Row row) {
+        return new Plane(
+                row.get("plane_id", Long.class),
+                row.get("plane_brand", String.class),
+                row.get("plane_model", String.class),
+                row.get("manufacturing_year", Integer.class));
+    }
+}
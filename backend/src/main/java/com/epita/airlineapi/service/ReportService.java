@@ -0,0 +1,211 @@
+package com.epita.airlineapi.service;
+
+import com.epita.airlineapi.dto.ArchiveInfo;
+import com.epita.airlineapi.dto.FlightTotals;
+import com.epita.airlineapi.dto.PlaneModelRevenue;
+import com.epita.airlineapi.dto.PlaneModelRevenueRow;
+import com.epita.airlineapi.dto.RouteSummary;
+import com.epita.airlineapi.model.Flight;
+import com.epita.airlineapi.model.FlightCabinStats;
+import com.epita.airlineapi.model.RouteDailyStats;
+import com.epita.airlineapi.repository.FlightCabinStatsRepository;
+import com.epita.airlineapi.repository.RouteDailyStatsRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+// Maintains the reporting aggregates (flight_cabin_stats, route_daily_stats).
+// Every record* method is called from inside the caller's write transaction,
+// so an aggregate change commits or rolls back together with the booking/flight change.
+@Service
+public class ReportService {
+
+    private final FlightCabinStatsRepository flightCabinStatsRepository;
+    private final RouteDailyStatsRepository routeDailyStatsRepository;
+    private final ArchiveService archiveService;
+
+    public ReportService(FlightCabinStatsRepository flightCabinStatsRepository,
+                         RouteDailyStatsRepository routeDailyStatsRepository,
+                         ArchiveService archiveService) {
+        this.flightCabinStatsRepository = flightCabinStatsRepository;
+        this.routeDailyStatsRepository = routeDailyStatsRepository;
+        this.archiveService = archiveService;
+    }
+
+    // Route/day/capacity of a flight, captured before an update mutates the entity
+    public record RouteSnapshot(String departureCity, String arrivalCity, LocalDate departureDate, int seats) {}
+
+    public RouteSnapshot snapshot(Flight flight) {
+        return new RouteSnapshot(
+                normalizeCity(flight.getDepartureCity()),
+                normalizeCity(flight.getArrivalCity()),
+                flight.getDepartureDate(),
+                flight.getNumberOfSeats() != null ? flight.getNumberOfSeats() : 0
+        );
+    }
+
+    // ==========================================
+    // WRITE PATH
+    // ==========================================
+
+    // Revenue moves by the price stored on the booking (Book.pricePaid), not by the flight's current fare:
+    // a fare change between booking and cancellation would otherwise leave revenue behind
+    public void recordBooking(Flight flight, String seatType, BigDecimal pricePaid) {
+        applyBookingDelta(flight, seatType, 1, pricePaid);
+    }
+
+    // Several bookings of one cabin at once, all at the same price (waitlist promotion)
+    public void recordBookings(Flight flight, String seatType, int count, BigDecimal pricePaid) {
+        applyBookingDelta(flight, seatType, count, pricePaid);
+    }
+
+    public void recordCancellation(Flight flight, String seatType, BigDecimal pricePaid) {
+        applyBookingDelta(flight, seatType, -1, pricePaid);
+    }
+
+    public void recordFlightAdded(Flight flight) {
+        RouteSnapshot route = snapshot(flight);
+        routeDailyStatsRepository.increment(route.departureCity(), route.arrivalCity(), route.departureDate(),
+                1, route.seats(), 0, BigDecimal.ZERO);
+    }
+
+    public void recordFlightChanged(RouteSnapshot before, Flight flight) {
+        RouteSnapshot after = snapshot(flight);
+        if (before.equals(after)) {
+            return;
+        }
+
+        boolean sameRouteAndDay = Objects.equals(before.departureCity(), after.departureCity())
+                && Objects.equals(before.arrivalCity(), after.arrivalCity())
+                && Objects.equals(before.departureDate(), after.departureDate());
+
+        if (sameRouteAndDay) {
+            // Only the capacity changed
+            routeDailyStatsRepository.increment(after.departureCity(), after.arrivalCity(), after.departureDate(),
+                    0, after.seats() - before.seats(), 0, BigDecimal.ZERO);
+            return;
+        }
+
+        // Route or day changed: move the whole flight (including its bookings) to the new bucket
+        FlightTotals totals = flightCabinStatsRepository.sumByFlightId(flight.getFlightId());
+        routeDailyStatsRepository.increment(before.departureCity(), before.arrivalCity(), before.departureDate(),
+                -1, -before.seats(), -totals.getBookings(), totals.getRevenue().negate());
+        routeDailyStatsRepository.increment(after.departureCity(), after.arrivalCity(), after.departureDate(),
+                1, after.seats(), totals.getBookings(), totals.getRevenue());
+    }
+
+    public void recordFlightRemoved(Flight flight) {
+        RouteSnapshot route = snapshot(flight);
+        FlightTotals totals = flightCabinStatsRepository.sumByFlightId(flight.getFlightId());
+        routeDailyStatsRepository.increment(route.departureCity(), route.arrivalCity(), route.departureDate(),
+                -1, -route.seats(), -totals.getBookings(), totals.getRevenue().negate());
+        flightCabinStatsRepository.deleteByFlightId(flight.getFlightId());
+    }
+
+    // Must run BEFORE the client row is deleted, while its books can still be joined
+    public void recordClientRemoved(Long clientId) {
+        routeDailyStatsRepository.subtractClientBookings(clientId);
+        flightCabinStatsRepository.subtractClientBookings(clientId);
+    }
+
+    // Recomputes both aggregates from books/flights (initial backfill or repair after manual SQL).
+    // Months in the cold archive keep their rows: their flights and books are no longer there to recompute them from
+    @Transactional
+    public void rebuild() {
+        List<ArchiveInfo> archives = archiveService.getArchives();
+        if (archives.isEmpty()) {
+            flightCabinStatsRepository.deleteAllRows();
+            routeDailyStatsRepository.deleteAllRows();
+        } else {
+            flightCabinStatsRepository.deleteLiveFlightRows();
+            routeDailyStatsRepository.deleteAllRowsExceptMonths(archives.stream()
+                    .map(ArchiveInfo::getMonth)
+                    .collect(Collectors.joining(",")));
+        }
+        flightCabinStatsRepository.rebuildFromBooks();
+        routeDailyStatsRepository.rebuildFromFlights();
+    }
+
+    // ==========================================
+    // READ PATH (aggregates only)
+    // ==========================================
+
+    public List<FlightCabinStats> getFlightStats(Long flightId) {
+        return flightCabinStatsRepository.findByFlightIdOrderByCabin(flightId);
+    }
+
+    public List<RouteDailyStats> getRouteDailyStats(String from, String to, LocalDate start, LocalDate end) {
+        validateRange(start, end);
+        return routeDailyStatsRepository.findByDepartureCityAndArrivalCityAndDepartureDateBetweenOrderByDepartureDate(
+                normalizeCity(from), normalizeCity(to), start, end);
+    }
+
+    public List<RouteSummary> getRouteSummaries(LocalDate start, LocalDate end) {
+        validateRange(start, end);
+        return routeDailyStatsRepository.summarizeRoutes(start, end);
+    }
+
+    // Joins flights for the plane, so archived months are added from the archive files
+    public List<PlaneModelRevenue> getRevenueByPlaneModel(LocalDate start, LocalDate end) {
+        validateRange(start, end);
+        List<PlaneModelRevenue> archived = archiveService.revenueByPlaneModel(start, end);
+        if (archived.isEmpty()) {
+            return flightCabinStatsRepository.revenueByPlaneModel(start, end);
+        }
+        Map<List<String>, PlaneModelRevenue> byModel = new LinkedHashMap<>();
+        for (PlaneModelRevenue row : flightCabinStatsRepository.revenueByPlaneModel(start, end)) {
+            byModel.put(Arrays.asList(row.getPlaneBrand(), row.getPlaneModel()), row);
+        }
+        for (PlaneModelRevenue row : archived) {
+            byModel.merge(Arrays.asList(row.getPlaneBrand(), row.getPlaneModel()), row, (live, old) ->
+                    new PlaneModelRevenueRow(live.getPlaneBrand(), live.getPlaneModel(),
+                            live.getBookings() + old.getBookings(), live.getRevenue().add(old.getRevenue())));
+        }
+        return byModel.values().stream()
+                .sorted(Comparator.comparing(PlaneModelRevenue::getRevenue).reversed())
+                .toList();
+    }
+
+    // ==========================================
+    // HELPERS
+    // ==========================================
+
+    private void applyBookingDelta(Flight flight, String seatType, int delta, BigDecimal pricePaid) {
+        String cabin = seatType.toUpperCase(Locale.ROOT);
+        BigDecimal amount = priceOrFare(flight, cabin, pricePaid).multiply(BigDecimal.valueOf(delta));
+        RouteSnapshot route = snapshot(flight);
+
+        flightCabinStatsRepository.increment(flight.getFlightId(), cabin, delta, amount);
+        routeDailyStatsRepository.increment(route.departureCity(), route.arrivalCity(), route.departureDate(),
+                0, 0, delta, amount);
+    }
+
+    // Bookings restored from archives written before price_paid existed have none until the next start
+    // backfills it (SchemaInitializer): the current fare stands in, as in the SQL aggregates
+    private BigDecimal priceOrFare(Flight flight, String cabin, BigDecimal pricePaid) {
+        if (pricePaid != null) {
+            return pricePaid;
+        }
+        return BookService.fareFor(flight, cabin);
+    }
+
+    private String normalizeCity(String city) {
+        return city == null ? null : city.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void validateRange(LocalDate start, LocalDate end) {
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("start must not be after end");
+        }
+    }
+}
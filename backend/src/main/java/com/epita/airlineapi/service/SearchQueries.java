@@ -0,0 +1,28 @@
+package com.epita.airlineapi.service;
+
+import java.util.Locale;
+
+// Input rules shared by the ranked searches (ClientService, EmployeeService); each search picks its own minimum
+final class SearchQueries {
+
+    // Top-k is capped so ranking stays index-bound
+    static final int MAX_RESULTS = 50;
+
+    private SearchQueries() {}
+
+    // Trimmed and lower-cased, as the search expressions in the repositories expect
+    static String normalize(String query, int minLength) {
+        String normalized = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        if (normalized.length() < minLength) {
+            throw new IllegalArgumentException("q must have at least " + minLength + " characters");
+        }
+        return normalized;
+    }
+
+    static int checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_RESULTS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_RESULTS);
+        }
+        return limit;
+    }
+}
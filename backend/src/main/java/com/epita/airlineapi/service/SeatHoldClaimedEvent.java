@@ -0,0 +1,5 @@
+package com.epita.airlineapi.service;
+
+// Published when a hold is being converted into a booking. After commit the hold is released
+// (the booking now counts); after rollback it is put back with its remaining time to live.
+public record SeatHoldClaimedEvent(String holdId) {}
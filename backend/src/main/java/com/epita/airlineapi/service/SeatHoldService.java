@@ -0,0 +1,264 @@
+package com.epita.airlineapi.service;
+
+import com.epita.airlineapi.dto.SeatAvailability;
+import com.epita.airlineapi.dto.SeatHold;
+import com.epita.airlineapi.dto.SeatHoldRequest;
+import com.epita.airlineapi.journal.BookingEvent;
+import com.epita.airlineapi.model.Flight;
+import com.epita.airlineapi.repository.BookRepository;
+import com.epita.airlineapi.repository.ClientRepository;
+import com.epita.airlineapi.repository.FlightRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Seats reserved for a client during checkout, before payment turns them into a Book.
+// Holds live in memory only (lost on restart, which frees their seats) and expire through a
+// hashed timing wheel instead of polling the database. Seat availability = capacity - bookings - active holds,
+// for booking creation as well as for new holds; both count under the flight's row lock.
+// Single instance only: another JVM neither counts these holds against capacity nor can confirm or release
+// them, so running several instances needs the holds moved to a shared store (a table, or Redis) first.
+@Service
+public class SeatHoldService {
+
+    private final FlightRepository flightRepository;
+    private final ClientRepository clientRepository;
+    private final BookRepository bookRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration defaultTtl;
+    private final Duration maxTtl;
+    private final HashedTimingWheel<Hold> wheel;
+
+    private final Map<String, Hold> holds = new ConcurrentHashMap<>();
+    // Per flight: held seats and the clients holding them. Only mutated inside compute() for the flight.
+    private final Map<Long, FlightHolds> flights = new ConcurrentHashMap<>();
+
+    private static final class Hold {
+        private final String id;
+        private final long flightId;
+        private final long clientId;
+        private final String typeOfSeat;
+        private final Instant expiresAt;
+        private HashedTimingWheel<Hold>.Timeout timeout; // null while a confirmation is in progress
+
+        private Hold(String id, long flightId, long clientId, String typeOfSeat, Instant expiresAt) {
+            this.id = id;
+            this.flightId = flightId;
+            this.clientId = clientId;
+            this.typeOfSeat = typeOfSeat;
+            this.expiresAt = expiresAt;
+        }
+
+        private SeatHold toDto() {
+            return new SeatHold(id, flightId, clientId, typeOfSeat, expiresAt);
+        }
+    }
+
+    private static final class FlightHolds {
+        private final Set<Long> clients = ConcurrentHashMap.newKeySet();
+    }
+
+    public SeatHoldService(FlightRepository flightRepository,
+                           ClientRepository clientRepository,
+                           BookRepository bookRepository,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${airline.holds.default-ttl:10m}") Duration defaultTtl,
+                           @Value("${airline.holds.max-ttl:30m}") Duration maxTtl,
+                           @Value("${airline.holds.tick:100ms}") Duration tick,
+                           @Value("${airline.holds.wheel-size:1024}") int wheelSize) {
+        this.flightRepository = flightRepository;
+        this.clientRepository = clientRepository;
+        this.bookRepository = bookRepository;
+        this.eventPublisher = eventPublisher;
+        this.defaultTtl = defaultTtl;
+        this.maxTtl = maxTtl;
+        this.wheel = new HashedTimingWheel<>(tick, wheelSize, "seat-hold-expiry", this::expire);
+    }
+
+    // CREATE
+    @Transactional
+    public SeatHold createHold(Long flightId, SeatHoldRequest request) {
+        BookService.validateSeatType(request.getTypeOfSeat());
+        Duration ttl = request.getTtlSeconds() != null ? Duration.ofSeconds(request.getTtlSeconds()) : defaultTtl;
+        if (ttl.isNegative() || ttl.isZero() || ttl.compareTo(maxTtl) > 0) {
+            throw new IllegalArgumentException("ttlSeconds must be between 1 and " + maxTtl.toSeconds());
+        }
+
+        // Same lock as BookService.lockFlight, held until commit: a booking of this flight waits, then counts
+        // this hold, and no booking can commit between the count below and the hold being taken
+        Flight flight = flightRepository.findByIdForUpdate(flightId)
+                .orElseThrow(() -> new NoSuchElementException("Flight with ID " + flightId + " not found"));
+        Long clientId = request.getClientId();
+        if (!clientRepository.existsById(clientId)) {
+            throw new NoSuchElementException("Client with ID " + clientId + " not found");
+        }
+        if (flight.getNumberOfSeats() == null || flight.getNumberOfSeats() <= 0) {
+            throw new IllegalStateException("Flight seat capacity is not configured");
+        }
+        if (bookRepository.existsByFlight_FlightIdAndDepartureDateAndClient_UserId(flightId, flight.getDepartureDate(), clientId)) {
+            throw new IllegalStateException("Client already has a reservation on this flight");
+        }
+        long booked = bookRepository.countByFlight_FlightIdAndDepartureDate(flightId, flight.getDepartureDate());
+
+        Hold hold = new Hold(UUID.randomUUID().toString(), flightId, clientId,
+                request.getTypeOfSeat().toUpperCase(Locale.ROOT), Instant.now().plus(ttl));
+        // Check and take the seat atomically with respect to holds released or expiring meanwhile
+        flights.compute(flightId, (id, flightHolds) -> {
+            FlightHolds current = flightHolds != null ? flightHolds : new FlightHolds();
+            if (current.clients.contains(clientId)) {
+                throw new IllegalStateException("Client already holds a seat on this flight");
+            }
+            if (booked + current.clients.size() >= flight.getNumberOfSeats()) {
+                throw new IllegalStateException("No seats available on this flight");
+            }
+            current.clients.add(clientId);
+            return current;
+        });
+        holds.put(hold.id, hold);
+        synchronized (hold) {
+            hold.timeout = wheel.schedule(hold, ttl);
+        }
+        return hold.toDto();
+    }
+
+    // GET ONE
+    public SeatHold getHold(Long flightId, String holdId) {
+        return findHold(flightId, holdId).toDto();
+    }
+
+    // DELETE (checkout abandoned)
+    public void releaseHold(Long flightId, String holdId) {
+        Hold hold = findHold(flightId, holdId);
+        synchronized (hold) {
+            if (hold.timeout == null) {
+                throw new IllegalStateException("Hold " + holdId + " is being confirmed");
+            }
+            wheel.cancel(hold.timeout);
+        }
+        release(hold);
+    }
+
+    // Seats of the flight taken by active holds
+    public int getHeldSeats(Long flightId) {
+        FlightHolds flightHolds = flights.get(flightId);
+        return flightHolds != null ? flightHolds.clients.size() : 0;
+    }
+
+    // GET AVAILABILITY
+    public SeatAvailability getAvailability(Long flightId) {
+        Flight flight = flightRepository.findById(flightId)
+                .orElseThrow(() -> new NoSuchElementException("Flight with ID " + flightId + " not found"));
+        int capacity = flight.getNumberOfSeats() != null ? flight.getNumberOfSeats() : 0;
+        long booked = bookRepository.countByFlight_FlightIdAndDepartureDate(flightId, flight.getDepartureDate());
+        int held = getHeldSeats(flightId);
+        return new SeatAvailability(flightId, capacity, booked, held, Math.max(0, capacity - booked - held));
+    }
+
+    // First step of a confirmation (BookService.confirmHold): stops the expiry so the seat stays held while the
+    // booking is written. The caller publishes SeatHoldClaimedEvent in its transaction to finish or undo the claim.
+    SeatHold claim(Long flightId, String holdId) {
+        Hold hold = findHold(flightId, holdId);
+        synchronized (hold) {
+            if (hold.timeout == null || !wheel.cancel(hold.timeout)) {
+                throw new IllegalStateException("Hold " + holdId + " is already being confirmed or has expired");
+            }
+            hold.timeout = null;
+        }
+        return hold.toDto();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onClaimCommitted(SeatHoldClaimedEvent event) {
+        Hold hold = holds.get(event.holdId());
+        if (hold != null) {
+            remove(hold);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void onClaimRolledBack(SeatHoldClaimedEvent event) {
+        Hold hold = holds.get(event.holdId());
+        if (hold == null) {
+            return;
+        }
+        Duration remaining = Duration.between(Instant.now(), hold.expiresAt);
+        if (remaining.isNegative() || remaining.isZero()) {
+            release(hold);
+            return;
+        }
+        synchronized (hold) {
+            hold.timeout = wheel.schedule(hold, remaining);
+        }
+    }
+
+    // Holds on a deleted flight, or of a deleted client, go with it
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingEvent(BookingEvent event) {
+        if (event.type() != BookingEvent.Type.FLIGHT_REMOVED && event.type() != BookingEvent.Type.CLIENT_REMOVED) {
+            return;
+        }
+        for (Hold hold : holds.values()) {
+            boolean affected = event.type() == BookingEvent.Type.FLIGHT_REMOVED
+                    ? hold.flightId == event.flightId()
+                    : hold.clientId == event.clientId();
+            if (affected) {
+                synchronized (hold) {
+                    if (hold.timeout != null) {
+                        wheel.cancel(hold.timeout);
+                    }
+                }
+                release(hold);
+            }
+        }
+    }
+
+    private Hold findHold(Long flightId, String holdId) {
+        Hold hold = holds.get(holdId);
+        if (hold == null || hold.flightId != flightId) {
+            throw new NoSuchElementException("Hold " + holdId + " not found on flight " + flightId + " (expired or released)");
+        }
+        return hold;
+    }
+
+    // Called by the wheel's ticker thread. A claim cannot race it: cancelling a fired timeout fails.
+    private void expire(Hold hold) {
+        release(hold);
+    }
+
+    // The seat goes back to the flight (waitlist promotion)
+    private void release(Hold hold) {
+        if (remove(hold)) {
+            eventPublisher.publishEvent(new SeatsReleasedEvent(hold.flightId));
+        }
+    }
+
+    // The seat is gone from the holds without being freed (confirmed: now a booking)
+    private boolean remove(Hold hold) {
+        if (holds.remove(hold.id) == null) {
+            return false;
+        }
+        flights.computeIfPresent(hold.flightId, (id, flightHolds) -> {
+            flightHolds.clients.remove(hold.clientId);
+            return flightHolds.clients.isEmpty() ? null : flightHolds;
+        });
+        return true;
+    }
+
+    @PreDestroy
+    public void close() {
+        wheel.close();
+    }
+}
@@ -0,0 +1,5 @@
+package com.epita.airlineapi.service;
+
+// Published when capacity frees up on a flight outside the booking flow (more seats, hold released or expired).
+// Cancellations and booking moves are seen through the journal's BookingEvent instead.
+public record SeatsReleasedEvent(long flightId) {}
@@ -0,0 +1,65 @@
+package com.epita.airlineapi.service;
+
+import com.epita.airlineapi.dto.EndpointSqlStats;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-endpoint SQL statement and row counts recorded by SqlBudgetFilter, since startup or the last reset
+@Service
+public class SqlStatsService {
+
+    private static final class Counters {
+        private final int statementBudget;
+        private final long rowBudget;
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+        private final LongAccumulator maxRows = new LongAccumulator(Math::max, 0);
+        private final LongAdder overBudget = new LongAdder();
+
+        private Counters(int statementBudget, long rowBudget) {
+            this.statementBudget = statementBudget;
+            this.rowBudget = rowBudget;
+        }
+    }
+
+    private final Map<String, Counters> endpoints = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, int statements, long rows, int statementBudget, long rowBudget) {
+        Counters counters = endpoints.computeIfAbsent(endpoint, key -> new Counters(statementBudget, rowBudget));
+        counters.requests.increment();
+        counters.statements.add(statements);
+        counters.rows.add(rows);
+        counters.maxStatements.accumulate(statements);
+        counters.maxRows.accumulate(rows);
+        if (statements > statementBudget || rows > rowBudget) {
+            counters.overBudget.increment();
+        }
+    }
+
+    // Heaviest endpoints first
+    public List<EndpointSqlStats> getStats() {
+        return endpoints.entrySet().stream()
+                .map(entry -> {
+                    Counters counters = entry.getValue();
+                    long requests = Math.max(1, counters.requests.sum());
+                    return new EndpointSqlStats(entry.getKey(), counters.requests.sum(),
+                            (double) counters.statements.sum() / requests, (int) counters.maxStatements.get(),
+                            (double) counters.rows.sum() / requests, counters.maxRows.get(),
+                            counters.statementBudget, counters.rowBudget, counters.overBudget.sum());
+                })
+                .sorted(Comparator.comparingDouble(EndpointSqlStats::getAverageStatements).reversed())
+                .toList();
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+}
@@ -1,10 +1,21 @@
 package com.epita.airlineapi.service;
 
+import com.epita.airlineapi.dto.UserTypeCounts;
+import com.epita.airlineapi.journal.BookingEvent;
 import com.epita.airlineapi.model.User;
+import com.epita.airlineapi.model.UserType;
+import com.epita.airlineapi.repository.BookRepository;
+import com.epita.airlineapi.repository.ClientRepository;
+import com.epita.airlineapi.repository.EmployeeRepository;
+import com.epita.airlineapi.repository.MilesRewardRepository;
 import com.epita.airlineapi.repository.UserRepository;
+import com.epita.airlineapi.repository.WaitlistRepository;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException; // Standard for 404
 import java.util.Objects;
@@ -13,9 +24,29 @@ import java.util.Objects;
 public class UserService {
 
     private final UserRepository userRepository;
-
-    public UserService(UserRepository userRepository){
+    private final ClientRepository clientRepository;
+    private final EmployeeRepository employeeRepository;
+    private final BookRepository bookRepository;
+    private final MilesRewardRepository milesRewardRepository;
+    private final WaitlistRepository waitlistRepository;
+    private final ReportService reportService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Typed listings are paged: one type can hold millions of rows (clients)
+    static final int MAX_PAGE_SIZE = 500;
+
+    public UserService(UserRepository userRepository, ClientRepository clientRepository,
+                       EmployeeRepository employeeRepository, BookRepository bookRepository,
+                       MilesRewardRepository milesRewardRepository, WaitlistRepository waitlistRepository,
+                       ReportService reportService, ApplicationEventPublisher eventPublisher){
         this.userRepository = userRepository;
+        this.clientRepository = clientRepository;
+        this.employeeRepository = employeeRepository;
+        this.bookRepository = bookRepository;
+        this.milesRewardRepository = milesRewardRepository;
+        this.waitlistRepository = waitlistRepository;
+        this.reportService = reportService;
+        this.eventPublisher = eventPublisher;
     }
 
     // GET ALL
@@ -24,6 +55,31 @@ public class UserService {
         return userRepository.findAll();
     }
 
+    // GET ALL OF ONE TYPE, one page at a time
+    // Queries the subclass directly: clients/employees INNER JOIN users, no outer join to the other child table.
+    // Keyset paging (ids after `after`): every page is an index range scan, however deep the caller goes.
+    public List<User> getUsers(UserType type, long after, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Limit limit = Limit.of(size);
+        return switch (type) {
+            case CLIENT -> new ArrayList<>(clientRepository.findByUserIdGreaterThanOrderByUserId(after, limit));
+            case EMPLOYEE -> new ArrayList<>(employeeRepository.findByUserIdGreaterThanOrderByUserId(after, limit));
+            case ADMIN -> userRepository.findAdmins(after, limit);
+        };
+    }
+
+    // COUNT PER TYPE
+    public UserTypeCounts countUsersByType() {
+        return userRepository.countByType();
+    }
+
+    // EMAIL LOOKUP (users table only)
+    public boolean emailExists(String email) {
+        return userRepository.existsByEmail(email);
+    }
+
     // GET ONE
     public User getUserById(Long userId) {
         return userRepository.findById(userId)
@@ -33,21 +89,27 @@ public class UserService {
 
     // CREATE
     // ⚠️ CAUTION: Only use this for generic Users (Admins), not Clients/Employees.
+    // Email uniqueness: uk_users_email rejects the INSERT, GlobalExceptionHandler returns 400
     public User saveUser(User user) {
-        if (userRepository.existsByEmail(user.getEmail())) {
-            // IllegalStateException is acceptable here for 409 Conflict or 400 Bad Request
-            throw new IllegalStateException("Email " + user.getEmail() + " is already taken");
-        }
         return userRepository.save(user);
     }
 
     // DELETE
+    @Transactional
     public void deleteUser(Long id) {
         if (!userRepository.existsById(id)) {
             // CHANGED: IllegalStateException -> NoSuchElementException
             throw new NoSuchElementException("User with id " + id + " does not exist");
         }
+        // No-ops for Admins/Employees. For a Client, bookings and rewards go in one statement each
+        // so the cascade on Client finds empty collections instead of deleting row by row.
+        reportService.recordClientRemoved(id);
+        milesRewardRepository.deleteAllByClientId(id);
+        waitlistRepository.deleteAllByClientId(id);
+        bookRepository.deleteAllByClientId(id);
         userRepository.deleteById(id);
+        // Harmless for Admins/Employees: replay finds no booking of theirs
+        eventPublisher.publishEvent(BookingEvent.clientRemoved(id));
     }
 
     // UPDATE
@@ -69,11 +131,7 @@ public class UserService {
         // 2.Email Update (Smart Check)
         if (updateRequest.getEmail() != null && !updateRequest.getEmail().isEmpty() &&
                 !Objects.equals(user.getEmail(), updateRequest.getEmail())) {
-
-            // Only check DB if the email is actually changing
-            if (userRepository.existsByEmail(updateRequest.getEmail())) {
-                throw new IllegalStateException("Email " + updateRequest.getEmail() + " is already taken");
-            }
+            // Uniqueness is checked by the constraint when the UPDATE is flushed below
             user.setEmail(updateRequest.getEmail());
         }
 
@@ -93,6 +151,7 @@ public class UserService {
             user.setBirthDate(updateRequest.getBirthDate());
         }
 
-        return user; // Dirty checking handles the save
+        // Flush now so a duplicate email surfaces here (-> 400), not at commit
+        return userRepository.saveAndFlush(user);
     }
 }
\ No newline at end of file
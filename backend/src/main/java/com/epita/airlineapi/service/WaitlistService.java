@@ -0,0 +1,265 @@
+package com.epita.airlineapi.service;
+
+import com.epita.airlineapi.config.WorkloadContext;
+import com.epita.airlineapi.dto.WaitlistPosition;
+import com.epita.airlineapi.dto.WaitlistRequest;
+import com.epita.airlineapi.journal.BookingEvent;
+import com.epita.airlineapi.model.Flight;
+import com.epita.airlineapi.model.WaitlistEntry;
+import com.epita.airlineapi.repository.BookRepository;
+import com.epita.airlineapi.repository.ClientRepository;
+import com.epita.airlineapi.repository.FlightRepository;
+import com.epita.airlineapi.repository.WaitlistRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+// FIFO waitlist of full flights, one queue per flight (both cabins share the seat capacity).
+// Freed seats are filled asynchronously: cancellations only mark the flight as pending, and a small worker pool
+// promotes its waiters after the freeing transaction committed. A flight is processed by one transaction that
+// locks its row, so concurrent promotions of the same flight serialize on that single lock, and waiters are
+// turned into bookings by set-based statements of up to batch-size rows. A burst of cancellations on one
+// flight (even hundreds) therefore collapses into a few statements instead of one booking transaction each.
+@Service
+public class WaitlistService {
+
+    private static final Logger log = LoggerFactory.getLogger(WaitlistService.class);
+
+    private record Promotion(long reservationId, long clientId, String typeOfSeat) {}
+
+    private final WaitlistRepository waitlistRepository;
+    private final FlightRepository flightRepository;
+    private final ClientRepository clientRepository;
+    private final BookRepository bookRepository;
+    private final SeatHoldService seatHoldService;
+    private final ReportService reportService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final ExecutorService workers;
+
+    // Flights with a promotion queued but not started: repeated triggers coalesce into one run
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    public WaitlistService(WaitlistRepository waitlistRepository, FlightRepository flightRepository,
+                           ClientRepository clientRepository, BookRepository bookRepository,
+                           SeatHoldService seatHoldService, ReportService reportService,
+                           ApplicationEventPublisher eventPublisher, DataSource dataSource,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${airline.waitlist.batch-size:200}") int batchSize,
+                           @Value("${airline.waitlist.workers:2}") int workers) {
+        this.waitlistRepository = waitlistRepository;
+        this.flightRepository = flightRepository;
+        this.clientRepository = clientRepository;
+        this.bookRepository = bookRepository;
+        this.seatHoldService = seatHoldService;
+        this.reportService = reportService;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workers, task -> {
+            Thread thread = new Thread(task, "waitlist-promoter-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // GET ALL (queue order)
+    public List<WaitlistPosition> getWaitlist(Long flightId) {
+        List<WaitlistEntry> entries = waitlistRepository.findByFlightIdOrderByEntryId(flightId);
+        return IntStream.range(0, entries.size())
+                .mapToObj(i -> toPosition(entries.get(i), i + 1))
+                .toList();
+    }
+
+    // GET ONE
+    public WaitlistPosition getEntry(Long flightId, Long entryId) {
+        WaitlistEntry entry = findEntry(flightId, entryId);
+        return toPosition(entry, waitlistRepository.countByFlightIdAndEntryIdLessThan(flightId, entryId) + 1);
+    }
+
+    // JOIN (only when the flight is full: otherwise the client should book)
+    public WaitlistPosition join(Long flightId, WaitlistRequest request) {
+        BookService.validateSeatType(request.getTypeOfSeat());
+        Flight flight = flightRepository.findById(flightId)
+                .orElseThrow(() -> new NoSuchElementException("Flight with ID " + flightId + " not found"));
+        Long clientId = request.getClientId();
+        if (!clientRepository.existsById(clientId)) {
+            throw new NoSuchElementException("Client with ID " + clientId + " not found");
+        }
+        if (bookRepository.existsByFlight_FlightIdAndDepartureDateAndClient_UserId(flightId, flight.getDepartureDate(), clientId)) {
+            throw new IllegalStateException("Client already has a reservation on this flight");
+        }
+        if (waitlistRepository.existsByFlightIdAndClientId(flightId, clientId)) {
+            throw new IllegalStateException("Client is already on the waitlist of this flight");
+        }
+        if (freeSeats(flight) > 0) {
+            throw new IllegalStateException("Seats are available on this flight, book one instead");
+        }
+
+        // uk_waitlist_flight_client catches a concurrent duplicate (-> 400)
+        WaitlistEntry entry = waitlistRepository.saveAndFlush(new WaitlistEntry(null, flightId, clientId,
+                request.getTypeOfSeat().toUpperCase(Locale.ROOT), Instant.now()));
+        // A seat may have been freed between the check and the insert
+        requestPromotion(flightId);
+        return toPosition(entry, waitlistRepository.countByFlightIdAndEntryIdLessThan(flightId, entry.getEntryId()) + 1);
+    }
+
+    // LEAVE
+    public void leave(Long flightId, Long entryId) {
+        waitlistRepository.delete(findEntry(flightId, entryId));
+    }
+
+    // PROMOTE NOW (e.g. after changing seat counts by hand); asynchronous like the automatic runs
+    public void requestPromotion(Long flightId) {
+        if (pending.add(flightId)) {
+            workers.execute(() -> {
+                // Removed before running: seats freed while this run is in progress queue another one
+                pending.remove(flightId);
+                promote(flightId);
+            });
+        }
+    }
+
+    // Seats freed by a cancellation or by a booking moved to another flight
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingEvent(BookingEvent event) {
+        switch (event.type()) {
+            case CANCELLED -> requestPromotion(event.flightId());
+            case CHANGED -> {
+                if (event.previousFlightId() != event.flightId()) {
+                    requestPromotion(event.previousFlightId());
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatsReleased(SeatsReleasedEvent event) {
+        requestPromotion(event.flightId());
+    }
+
+    private void promote(long flightId) {
+        // Writes bookings: use the booking connection pool, not the admin pool background threads default to
+        WorkloadContext.set(EndpointGroup.BOOKING);
+        try {
+            Integer promoted = transactionTemplate.execute(status -> promoteInTransaction(flightId));
+            if (promoted != null && promoted > 0) {
+                log.info("Promoted {} waitlisted client(s) on flight {}", promoted, flightId);
+            }
+        } catch (RuntimeException ex) {
+            // Left on the waitlist; the next freed seat (or POST .../waitlist/promote) retries
+            log.error("Waitlist promotion failed for flight {}", flightId, ex);
+        } finally {
+            WorkloadContext.clear();
+        }
+    }
+
+    private int promoteInTransaction(long flightId) {
+        if (!waitlistRepository.existsByFlightId(flightId)) {
+            return 0;
+        }
+        // The flight row lock every seat-taking path takes first (BookService.lockFlight,
+        // SeatHoldService.createHold): promotions of this flight (other workers, other instances), bookings and
+        // holds wait for this transaction, so the seats counted below cannot be taken before the inserts commit
+        Flight flight = flightRepository.findByIdForUpdate(flightId).orElse(null);
+        if (flight == null) {
+            return 0; // deleted or archived; its entries were removed with it
+        }
+        long free = freeSeats(flight);
+        int promoted = 0;
+        Map<String, Integer> perCabin = new HashMap<>();
+        while (free > 0) {
+            List<Promotion> batch = promoteBatch(flight, (int) Math.min(free, batchSize));
+            if (batch.isEmpty() && !waitlistRepository.existsByFlightId(flightId)) {
+                break;
+            }
+            for (Promotion promotion : batch) {
+                perCabin.merge(promotion.typeOfSeat(), 1, Integer::sum);
+                eventPublisher.publishEvent(new BookingEvent(BookingEvent.Type.CREATED, System.currentTimeMillis(),
+                        promotion.reservationId(), flightId, flight.getDepartureDate(), promotion.clientId(),
+                        promotion.typeOfSeat(), 0, null));
+            }
+            promoted += batch.size();
+            free -= batch.size();
+        }
+        perCabin.forEach((cabin, count) -> reportService.recordBookings(flight, cabin, count, BookService.fareFor(flight, cabin)));
+        return promoted;
+    }
+
+    // Takes up to `limit` waiters off the head of the queue and books them in one statement. Waiters who booked
+    // the flight directly in the meantime are dropped from the queue without a second booking.
+    private List<Promotion> promoteBatch(Flight flight, int limit) {
+        return jdbcTemplate.query("""
+                WITH head AS (
+                    DELETE FROM waitlist_entries
+                    WHERE entry_id IN (SELECT entry_id FROM waitlist_entries
+                                       WHERE flight_id = ? ORDER BY entry_id LIMIT ?)
+                    RETURNING entry_id, client_id, type_of_seat
+                )
+                INSERT INTO books (flight_id, departure_date, client_id, type_of_seat, price_paid)
+                SELECT ?, ?, h.client_id, h.type_of_seat,
+                       CASE WHEN UPPER(h.type_of_seat) = 'BUSINESS' THEN ?::numeric ELSE ?::numeric END
+                FROM head h
+                WHERE NOT EXISTS (SELECT 1 FROM books b
+                                  WHERE b.flight_id = ? AND b.departure_date = ? AND b.client_id = h.client_id)
+                ORDER BY h.entry_id
+                RETURNING reservation_id, client_id, type_of_seat
+                """, (rs, rowNum) -> new Promotion(rs.getLong("reservation_id"), rs.getLong("client_id"),
+                        rs.getString("type_of_seat")),
+                flight.getFlightId(), limit, flight.getFlightId(), flight.getDepartureDate(),
+                BookService.fareFor(flight, "BUSINESS"), BookService.fareFor(flight, "ECONOMY"),
+                flight.getFlightId(), flight.getDepartureDate());
+    }
+
+    // Same rule as BookService.validateSeatAvailability: capacity minus bookings minus active holds
+    private long freeSeats(Flight flight) {
+        int capacity = flight.getNumberOfSeats() != null ? flight.getNumberOfSeats() : 0;
+        long booked = bookRepository.countByFlight_FlightIdAndDepartureDate(flight.getFlightId(), flight.getDepartureDate());
+        return capacity - booked - seatHoldService.getHeldSeats(flight.getFlightId());
+    }
+
+    private WaitlistEntry findEntry(Long flightId, Long entryId) {
+        return waitlistRepository.findById(entryId)
+                .filter(entry -> entry.getFlightId().equals(flightId))
+                .orElseThrow(() -> new NoSuchElementException("Waitlist entry " + entryId + " not found on flight " + flightId));
+    }
+
+    private WaitlistPosition toPosition(WaitlistEntry entry, long position) {
+        return new WaitlistPosition(entry.getEntryId(), entry.getFlightId(), entry.getClientId(),
+                entry.getTypeOfSeat(), entry.getCreatedAt(), position);
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
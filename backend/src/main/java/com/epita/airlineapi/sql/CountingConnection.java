@@ -0,0 +1,105 @@
+package com.epita.airlineapi.sql;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Set;
+
+// JDBC proxies feeding SqlStats: one statement per execute* call (a JDBC batch counts once, as one round trip),
+// rows = result set rows read + update counts. Everything else, unwrap() included, goes to the pooled objects.
+final class CountingConnection {
+
+    private static final Set<String> EXECUTE = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private CountingConnection() {
+    }
+
+    static Connection wrap(Connection connection, SqlStats stats) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof CallableStatement statement) {
+                return wrapStatement(CallableStatement.class, statement, stats);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return wrapStatement(PreparedStatement.class, statement, stats);
+            }
+            if (result instanceof Statement statement) {
+                return wrapStatement(Statement.class, statement, stats);
+            }
+            return result;
+        });
+    }
+
+    private static <S extends Statement> S wrapStatement(Class<S> type, S statement, SqlStats stats) {
+        return proxy(type, statement, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (EXECUTE.contains(method.getName())) {
+                stats.statementExecuted();
+                countUpdates(result, stats);
+            }
+            if (result instanceof ResultSet resultSet) {
+                return wrapResultSet(resultSet, stats);
+            }
+            return result;
+        });
+    }
+
+    private static ResultSet wrapResultSet(ResultSet resultSet, SqlStats stats) {
+        return proxy(ResultSet.class, resultSet, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                stats.rows(1);
+            }
+            return result;
+        });
+    }
+
+    private static void countUpdates(Object result, SqlStats stats) {
+        switch (result) {
+            case Integer count when count > 0 -> stats.rows(count);
+            case Long count when count > 0 -> stats.rows(count);
+            case int[] counts -> {
+                for (int count : counts) {
+                    stats.rows(Math.max(count, 0));
+                }
+            }
+            case long[] counts -> {
+                for (long count : counts) {
+                    stats.rows(Math.max(count, 0));
+                }
+            }
+            case null, default -> {
+            }
+        }
+    }
+
+    private interface Handler {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    private static <T> T proxy(Class<T> type, T target, Handler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> switch (method.getName()) {
+            // Identity of the proxy itself, as callers compare the connection they were handed out
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> handler.handle(target, method, args);
+        };
+        return type.cast(Proxy.newProxyInstance(CountingConnection.class.getClassLoader(), new Class<?>[]{type},
+                invocationHandler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.epita.airlineapi.sql;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Maximum SQL work of one call to an endpoint (controller method, or every method of a controller class).
+// Exceeding it is logged by SqlBudgetFilter and fails SqlBudgetTests. Endpoints without it get
+// airline.sql-budget.default-statements / default-rows.
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+
+    int statements();
+
+    long rows() default Long.MAX_VALUE;
+}
@@ -0,0 +1,17 @@
+package com.epita.airlineapi.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Registered through hibernate.session_factory.statement_inspector: sees every SQL string Hibernate prepares.
+// Only records it for the current request (SqlStats); the statement is returned unchanged.
+public class SqlStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStats stats = SqlStats.current();
+        if (stats != null) {
+            stats.hibernateStatement(sql);
+        }
+        return sql;
+    }
+}
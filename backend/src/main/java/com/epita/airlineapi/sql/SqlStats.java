@@ -0,0 +1,78 @@
+package com.epita.airlineapi.sql;
+
+import java.sql.Connection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// SQL executed by the current request thread, collected by SqlBudgetFilter:
+// - statements and rows come from the JDBC connection (CountingConnection), so JdbcTemplate work is included;
+// - the SQL text of Hibernate statements comes from SqlStatementInspector, to name the repeated statement
+//   behind an N+1 in the over-budget log.
+// Work handed to other threads (streamed exports, async promotions) is not attributed to the request, except
+// the pipelines of reactive handlers, which carry the request's stats along (SqlStatsPropagation); counters are
+// thread-safe for that reason.
+public final class SqlStats {
+
+    private static final ThreadLocal<SqlStats> CURRENT = new ThreadLocal<>();
+
+    private final AtomicInteger statements = new AtomicInteger();
+    private final AtomicLong rows = new AtomicLong();
+    private final Map<String, Integer> hibernateStatements = new ConcurrentHashMap<>();
+
+    private SqlStats() {
+    }
+
+    public static SqlStats start() {
+        SqlStats stats = new SqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static SqlStats current() {
+        return CURRENT.get();
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    // Makes stats started on another thread current on this one (SqlStatsPropagation)
+    static void attach(SqlStats stats) {
+        CURRENT.set(stats);
+    }
+
+    // Connections handed out while a request is tracked report to its stats; others are returned as is
+    public static Connection track(Connection connection) {
+        SqlStats stats = CURRENT.get();
+        return stats != null ? CountingConnection.wrap(connection, stats) : connection;
+    }
+
+    void statementExecuted() {
+        statements.incrementAndGet();
+    }
+
+    void rows(long count) {
+        rows.addAndGet(count);
+    }
+
+    void hibernateStatement(String sql) {
+        hibernateStatements.merge(sql, 1, Integer::sum);
+    }
+
+    public int getStatements() {
+        return statements.get();
+    }
+
+    public long getRows() {
+        return rows.get();
+    }
+
+    // Most frequent Hibernate statement and its count, e.g. the per-row select of an N+1; null if none
+    public Map.Entry<String, Integer> getMostRepeated() {
+        return hibernateStatements.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElse(null);
+    }
+}
@@ -0,0 +1,21 @@
+package com.epita.airlineapi.sql;
+
+import io.micrometer.context.ContextRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Hooks;
+
+// Carries the request's SqlStats into the pipelines of reactive handlers (ReactiveReadController): the handler
+// captures it into the Reactor context (contextCapture() on the request thread), and automatic context propagation
+// makes it current again on whichever thread runs each operator (R2DBC callbacks, boundedElastic). A JDBC call
+// anywhere in the pipeline is then counted against the request, which SqlBudgetFilter records once the async
+// request completes.
+@Component
+public class SqlStatsPropagation {
+
+    static final String KEY = "airline.sql-stats";
+
+    public SqlStatsPropagation() {
+        ContextRegistry.getInstance().registerThreadLocalAccessor(KEY, SqlStats::current, SqlStats::attach, SqlStats::stop);
+        Hooks.enableAutomaticContextPropagation();
+    }
+}
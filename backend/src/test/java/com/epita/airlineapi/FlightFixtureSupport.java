@@ -0,0 +1,128 @@
+package com.epita.airlineapi;
+
+import com.epita.airlineapi.model.Airport;
+import com.epita.airlineapi.model.Book;
+import com.epita.airlineapi.model.Client;
+import com.epita.airlineapi.model.Flight;
+import com.epita.airlineapi.model.Plane;
+import com.epita.airlineapi.repository.BookRepository;
+import com.epita.airlineapi.service.AirportService;
+import com.epita.airlineapi.service.ClientService;
+import com.epita.airlineapi.service.FlightService;
+import com.epita.airlineapi.service.PlaneService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Fixture shared by the suites that book seats: one route (two airports, "Origin<tag>" -> "Destination<tag>"),
+// one plane, and the flights and clients a suite creates through flight(...) and createClients(...).
+// Everything is named after a random tag, so suites can share the container's database, and removed after the
+// suite: flights first (set-based deletes take their bookings, rewards, waitlist entries and holds along),
+// then clients, plane and airports. Subclasses keep only their scenarios and their own @BeforeAll steps,
+// which run after createFixtures().
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+abstract class FlightFixtureSupport extends PostgresTestSupport {
+
+    @Autowired
+    protected AirportService airportService;
+    @Autowired
+    protected PlaneService planeService;
+    @Autowired
+    protected FlightService flightService;
+    @Autowired
+    protected ClientService clientService;
+    @Autowired
+    protected BookRepository bookRepository;
+
+    protected final String tag = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    protected final LocalDate departure = LocalDate.now().plusDays(30);
+    protected Airport origin;
+    protected Airport destination;
+    protected Plane plane;
+    protected final List<Flight> flights = new ArrayList<>();
+    protected final List<Client> clients = new ArrayList<>();
+
+    @BeforeAll
+    void createFixtures() {
+        origin = airportService.saveAirport(new Airport(null, "Fixture Origin " + tag, "France", "Origin" + tag, 48.85, 2.35));
+        destination = airportService.saveAirport(new Airport(null, "Fixture Destination " + tag, "Spain", "Destination" + tag, 40.41, -3.70));
+        plane = planeService.savePlane(new Plane(null, "Airbus", "A320", 2015));
+    }
+
+    @AfterAll
+    void removeFixtures() {
+        flights.forEach(flight -> flightService.deleteFlight(flight.getFlightId()));
+        clients.forEach(client -> clientService.deleteClient(client.getPassportNumber()));
+        planeService.deletePlane(plane.getPlaneId());
+        airportService.deleteAirport(origin.getAirportId());
+        airportService.deleteAirport(destination.getAirportId());
+    }
+
+    // Clients 0..count-1 of the suite, removed with the fixture
+    protected void createClients(int count) {
+        for (int i = clients.size(); i < count; i++) {
+            clients.add(client(i));
+        }
+    }
+
+    // A client the suite removes itself (e.g. to test client deletion); i must not clash with createClients
+    protected Client client(int i) {
+        return clientService.createClient(Client.builder()
+                .firstName("Fixture").lastName("Client " + i)
+                .email("fixture-" + tag.toLowerCase() + "-" + i + "@example.com")
+                .birthDate(LocalDate.of(1990, 1, 1 + i % 28))
+                .passportNumber("FX" + tag + i)
+                .build());
+    }
+
+    protected Flight flight(String number, int seats) {
+        return flight(number, seats, departure);
+    }
+
+    // Saved on the fixture's route, 300.00 business / 100.00 economy; removed with the fixture
+    protected Flight flight(String number, int seats, LocalDate departureDate) {
+        Flight flight = new Flight();
+        flight.setFlightNumber(number);
+        flight.setDepartureCity(origin.getAirportCity());
+        flight.setArrivalCity(destination.getAirportCity());
+        flight.setDepartureDate(departureDate);
+        flight.setArrivalDate(departureDate);
+        flight.setDepartureAirport(origin);
+        flight.setArrivalAirport(destination);
+        flight.setPlane(plane);
+        flight.setNumberOfSeats(seats);
+        flight.setBusinessPrice(new BigDecimal("300.00"));
+        flight.setEconomyPrice(new BigDecimal("100.00"));
+        Flight saved = flightService.saveFlight(flight);
+        flights.add(saved);
+        return saved;
+    }
+
+    protected long countBookings(Flight flight) {
+        return bookRepository.countByFlight_FlightIdAndDepartureDate(flight.getFlightId(), flight.getDepartureDate());
+    }
+
+    protected static Book booking(Client client, Flight flight) {
+        return booking(client, flight, "ECONOMY");
+    }
+
+    // Booking payload as the API receives it: client and flight by id only
+    protected static Book booking(Client client, Flight flight, String seatType) {
+        Book book = new Book();
+        book.setTypeOfSeat(seatType);
+        Client clientRef = new Client();
+        clientRef.setUserId(client.getUserId());
+        book.setClient(clientRef);
+        Flight flightRef = new Flight();
+        flightRef.setFlightId(flight.getFlightId());
+        book.setFlight(flightRef);
+        return book;
+    }
+}
@@ -0,0 +1,33 @@
+package com.epita.airlineapi;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+// Base of the suites that need PostgreSQL: they run against a throwaway container, never the database of
+// application.properties. One container per test JVM, started on first use and shared by every suite (and the
+// Spring contexts cached between them); removed by Testcontainers when the JVM exits.
+// Skipped, not failed, where Docker is not available.
+@Testcontainers(disabledWithoutDocker = true)
+abstract class PostgresTestSupport {
+
+    private static PostgreSQLContainer postgres;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres().getJdbcUrl());
+        registry.add("spring.datasource.username", () -> postgres().getUsername());
+        registry.add("spring.datasource.password", () -> postgres().getPassword());
+    }
+
+    private static synchronized PostgreSQLContainer postgres() {
+        if (postgres == null) {
+            // Same image as docker-compose.yml; every cached context has its own sub-pools
+            postgres = new PostgreSQLContainer("postgres:16-alpine")
+                    .withCommand("postgres", "-c", "max_connections=300");
+            postgres.start();
+        }
+        return postgres;
+    }
+}
@@ -0,0 +1,157 @@
+package com.epita.airlineapi;
+
+import com.epita.airlineapi.model.Book;
+import com.epita.airlineapi.model.Client;
+import com.epita.airlineapi.model.Flight;
+import com.epita.airlineapi.model.FlightCabinStats;
+import com.epita.airlineapi.model.RouteDailyStats;
+import com.epita.airlineapi.service.BookService;
+import com.epita.airlineapi.service.ReportService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Reporting aggregates kept up to date by the write paths: revenue moves by the price stored on each booking,
+// so fare changes between a booking and its cancellation, cabin change or client deletion leave nothing behind,
+// and a full rebuild gives the same figures as the incremental updates.
+// Runs on a PostgreSQL container (fixture of FlightFixtureSupport); each test uses its own flight and departure day.
+@SpringBootTest(properties = {
+        "airline.partitions.maintenance-cron=-",
+        "airline.journal.directory=target/test-journal",
+        "spring.jpa.show-sql=false"
+})
+class ReportAggregateTests extends FlightFixtureSupport {
+
+    @Autowired
+    private BookService bookService;
+    @Autowired
+    private ReportService reportService;
+
+    @BeforeAll
+    void createSuiteClients() {
+        createClients(3);
+    }
+
+    @Test
+    void cancellationAfterAFareChangeTakesBackThePricePaid() {
+        Flight flight = flightOnDay("RA" + tag, 0);
+        Book book = bookService.createBook(booking(clients.get(0), flight, "ECONOMY"));
+        assertAmount("100.00", book.getPricePaid());
+
+        flightService.updateFlight(flight.getFlightId(), fares("450.00", "175.00"));
+        Book later = bookService.createBook(booking(clients.get(1), flight, "ECONOMY"));
+        assertAmount("175.00", later.getPricePaid());
+        assertCabin(flight, "ECONOMY", 2, "275.00");
+
+        bookService.deleteBook(book.getReservationId());
+        assertCabin(flight, "ECONOMY", 1, "175.00");
+        assertRoute(flight, 1, "175.00");
+
+        bookService.deleteBook(later.getReservationId());
+        assertCabin(flight, "ECONOMY", 0, "0.00");
+        assertRoute(flight, 0, "0.00");
+    }
+
+    @Test
+    void cabinChangeMovesTheBookingAtTheCurrentFare() {
+        Flight flight = flightOnDay("RB" + tag, 1);
+        Book book = bookService.createBook(booking(clients.get(0), flight, "ECONOMY"));
+        flightService.updateFlight(flight.getFlightId(), fares("320.00", "120.00"));
+
+        Book change = new Book();
+        change.setTypeOfSeat("BUSINESS");
+        Book changed = bookService.updateBook(book.getReservationId(), change);
+
+        assertAmount("320.00", changed.getPricePaid());
+        assertCabin(flight, "ECONOMY", 0, "0.00");
+        assertCabin(flight, "BUSINESS", 1, "320.00");
+        assertRoute(flight, 1, "320.00");
+    }
+
+    @Test
+    void clientDeletionSubtractsWhatTheClientPaid() {
+        Flight flight = flightOnDay("RC" + tag, 2);
+        Client leaving = client(99);
+        bookService.createBook(booking(leaving, flight, "BUSINESS"));
+        bookService.createBook(booking(clients.get(0), flight, "BUSINESS"));
+        flightService.updateFlight(flight.getFlightId(), fares("999.00", "100.00"));
+
+        clientService.deleteClient(leaving.getPassportNumber());
+
+        assertCabin(flight, "BUSINESS", 1, "300.00");
+        assertRoute(flight, 1, "300.00");
+    }
+
+    @Test
+    void rebuildGivesTheIncrementalFigures() {
+        Flight flight = flightOnDay("RD" + tag, 3);
+        bookService.createBook(booking(clients.get(0), flight, "ECONOMY"));
+        flightService.updateFlight(flight.getFlightId(), fares("310.00", "90.00"));
+        bookService.createBook(booking(clients.get(1), flight, "ECONOMY"));
+        bookService.createBook(booking(clients.get(2), flight, "BUSINESS"));
+        Map<String, String> incremental = cabins(flight);
+        RouteDailyStats incrementalRoute = route(flight);
+
+        reportService.rebuild();
+
+        assertEquals(incremental, cabins(flight));
+        RouteDailyStats rebuiltRoute = route(flight);
+        assertEquals(incrementalRoute.getBookings(), rebuiltRoute.getBookings());
+        assertAmount(incrementalRoute.getRevenue().toPlainString(), rebuiltRoute.getRevenue());
+        assertCabin(flight, "ECONOMY", 2, "190.00");
+        assertCabin(flight, "BUSINESS", 1, "310.00");
+    }
+
+    private void assertCabin(Flight flight, String cabin, long bookings, String revenue) {
+        FlightCabinStats stats = reportService.getFlightStats(flight.getFlightId()).stream()
+                .filter(row -> row.getCabin().equals(cabin))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No " + cabin + " stats for flight " + flight.getFlightNumber()));
+        assertEquals(bookings, stats.getBookings(), cabin + " bookings");
+        assertAmount(revenue, stats.getRevenue());
+    }
+
+    private void assertRoute(Flight flight, long bookings, String revenue) {
+        RouteDailyStats stats = route(flight);
+        assertEquals(bookings, stats.getBookings(), "route bookings");
+        assertAmount(revenue, stats.getRevenue());
+    }
+
+    private RouteDailyStats route(Flight flight) {
+        List<RouteDailyStats> days = reportService.getRouteDailyStats(flight.getDepartureCity(), flight.getArrivalCity(),
+                flight.getDepartureDate(), flight.getDepartureDate());
+        assertEquals(1, days.size());
+        return days.get(0);
+    }
+
+    // Cabin -> "bookings/revenue", revenue without trailing zeros so scales compare equal
+    private Map<String, String> cabins(Flight flight) {
+        return reportService.getFlightStats(flight.getFlightId()).stream()
+                .collect(Collectors.toMap(FlightCabinStats::getCabin,
+                        row -> row.getBookings() + "/" + row.getRevenue().stripTrailingZeros().toPlainString()));
+    }
+
+    private static void assertAmount(String expected, BigDecimal actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), "expected " + expected + " but was " + actual);
+    }
+
+    // One departure day per test: route_daily_stats buckets by route and day
+    private Flight flightOnDay(String number, int dayOffset) {
+        return flight(number, 10, departure.plusDays(dayOffset));
+    }
+
+    private static Flight fares(String business, String economy) {
+        Flight update = new Flight();
+        update.setBusinessPrice(new BigDecimal(business));
+        update.setEconomyPrice(new BigDecimal(economy));
+        return update;
+    }
+}
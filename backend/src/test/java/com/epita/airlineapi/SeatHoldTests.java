@@ -0,0 +1,116 @@
+package com.epita.airlineapi;
+
+import com.epita.airlineapi.dto.SeatHold;
+import com.epita.airlineapi.dto.SeatHoldRequest;
+import com.epita.airlineapi.model.Book;
+import com.epita.airlineapi.model.Client;
+import com.epita.airlineapi.model.Flight;
+import com.epita.airlineapi.service.BookService;
+import com.epita.airlineapi.service.SeatHoldService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Seat holds against bookings: a hold takes a seat until it expires (on the timing wheel, 10 ms ticks here) or
+// is confirmed, and holds and bookings racing for the last seats of a flight never exceed its capacity.
+// Runs on a PostgreSQL container with the shared route and clients of FlightFixtureSupport; each test uses its own flight.
+@SpringBootTest(properties = {
+        "airline.partitions.maintenance-cron=-",
+        "airline.journal.directory=target/test-journal",
+        "airline.holds.tick=10ms",
+        "spring.jpa.show-sql=false"
+})
+class SeatHoldTests extends FlightFixtureSupport {
+
+    private static final long EXPIRY_TIMEOUT_MS = 5_000;
+
+    @Autowired
+    private BookService bookService;
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @BeforeAll
+    void createSuiteClients() {
+        createClients(20);
+    }
+
+    @Test
+    void expiredHoldFreesItsSeat() throws InterruptedException {
+        Flight flight = flight("HA" + tag, 1);
+        SeatHold hold = seatHoldService.createHold(flight.getFlightId(), holdRequest(clients.get(0), 1));
+        assertEquals(1, seatHoldService.getHeldSeats(flight.getFlightId()));
+        assertThrows(IllegalStateException.class, () -> bookService.createBook(booking(clients.get(1), flight)));
+
+        long deadline = System.currentTimeMillis() + EXPIRY_TIMEOUT_MS;
+        while (seatHoldService.getHeldSeats(flight.getFlightId()) > 0) {
+            assertTrue(System.currentTimeMillis() < deadline, "Hold did not expire within " + EXPIRY_TIMEOUT_MS + " ms");
+            Thread.sleep(20);
+        }
+
+        assertThrows(NoSuchElementException.class, () -> seatHoldService.getHold(flight.getFlightId(), hold.getHoldId()));
+        bookService.createBook(booking(clients.get(1), flight));
+        assertEquals(1, countBookings(flight));
+    }
+
+    @Test
+    void confirmedHoldBecomesABooking() {
+        Flight flight = flight("HB" + tag, 1);
+        SeatHold hold = seatHoldService.createHold(flight.getFlightId(), holdRequest(clients.get(0), 60));
+
+        Book book = bookService.confirmHold(flight.getFlightId(), hold.getHoldId());
+
+        assertEquals(clients.get(0).getUserId(), book.getClient().getUserId());
+        assertEquals(0, seatHoldService.getHeldSeats(flight.getFlightId()));
+        assertEquals(1, countBookings(flight));
+        assertThrows(NoSuchElementException.class, () -> seatHoldService.getHold(flight.getFlightId(), hold.getHoldId()));
+    }
+
+    @Test
+    void racingHoldsAndBookingsNeverExceedCapacity() throws InterruptedException {
+        int seats = 5;
+        Flight flight = flight("HC" + tag, seats);
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients.size(); i++) {
+                Client client = clients.get(i);
+                boolean hold = i % 2 == 0;
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                        if (hold) {
+                            seatHoldService.createHold(flight.getFlightId(), holdRequest(client, 60));
+                        } else {
+                            bookService.createBook(booking(client, flight));
+                        }
+                    } catch (IllegalStateException ex) {
+                        // flight full: expected for most of them
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            start.countDown();
+        }
+
+        long taken = countBookings(flight) + seatHoldService.getHeldSeats(flight.getFlightId());
+        assertEquals(seats, taken);
+    }
+
+    private static SeatHoldRequest holdRequest(Client client, int ttlSeconds) {
+        SeatHoldRequest request = new SeatHoldRequest();
+        request.setClientId(client.getUserId());
+        request.setTypeOfSeat("ECONOMY");
+        request.setTtlSeconds(ttlSeconds);
+        return request;
+    }
+}
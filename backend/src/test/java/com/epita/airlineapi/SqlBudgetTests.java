@@ -0,0 +1,334 @@
+package com.epita.airlineapi;
+
+import com.epita.airlineapi.admin.AdminKeyInterceptor;
+import com.epita.airlineapi.dto.EndpointSqlStats;
+import com.epita.airlineapi.filter.SqlBudgetFilter;
+import com.epita.airlineapi.model.Flight;
+import com.epita.airlineapi.service.SqlStatsService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// SQL statement budget regression suite: calls at least one endpoint of every controller against a small fixture
+// (2 airports, 1 plane, 2 flights, 4 clients) and fails when an endpoint ran more statements or read more rows
+// than its @SqlBudget (or airline.sql-budget.default-*), e.g. after an eager association or a per-row pre-check
+// turned a 2-query endpoint into an N+1.
+// Calls every endpoint (checked by everyEndpointIsExercised) and writes the measured maxima next to the budgets to
+// target/sql-budget-report.txt. Runs on a PostgreSQL container with the shared route, flights and clients of
+// FlightFixtureSupport.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "airline.rate-limit.enabled=false",
+        "airline.admin.api-key=" + SqlBudgetTests.ADMIN_KEY,
+        "airline.partitions.maintenance-cron=-",
+        "airline.journal.directory=target/test-journal",
+        "spring.jpa.show-sql=false"
+})
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class SqlBudgetTests extends FlightFixtureSupport {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlBudgetTests.class);
+    private static final String CONTROLLER_PACKAGE = "com.epita.airlineapi.controller";
+    static final String ADMIN_KEY = "sql-budget-tests";
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Autowired
+    private SqlStatsService sqlStatsService;
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    private RestClient http;
+    private Flight flight;      // plenty of seats
+    private Flight fullFlight;  // one seat, taken: waitlist
+
+    @BeforeAll
+    void createSuiteFixtures() {
+        // Sent on every call: @AdminOnly endpoints are measured too
+        http = RestClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .defaultHeader(AdminKeyInterceptor.ADMIN_KEY_HEADER, ADMIN_KEY)
+                .build();
+
+        flight = flight("SB" + tag, 100);
+        fullFlight = flight("SF" + tag, 1);
+        createClients(4);
+        // Resets the statistics (and is itself the first endpoint recorded)
+        delete("/api/v1/sql-stats");
+    }
+
+    @Test
+    @Order(1)
+    void everyEndpointStaysWithinItsBudget() throws IOException {
+        long flightId = flight.getFlightId();
+        long fullFlightId = fullFlight.getFlightId();
+        long clientId = clients.get(0).getUserId();
+        LocalDate scheduleDay = departure.plusDays(1);
+
+        // Flights
+        get("/api/v1/flights");
+        get("/api/v1/flights/" + flightId);
+        get("/api/v1/flights/search?from=Origin" + tag + "&to=Destination" + tag + "&date=" + departure);
+        long createdFlightId = id(post("/api/v1/flights", Map.ofEntries(
+                Map.entry("flightNumber", "SX" + tag),
+                Map.entry("departureAirport", Map.of("airportId", origin.getAirportId())),
+                Map.entry("arrivalAirport", Map.of("airportId", destination.getAirportId())),
+                Map.entry("plane", Map.of("planeId", plane.getPlaneId())),
+                Map.entry("departureCity", "Origin" + tag),
+                Map.entry("arrivalCity", "Destination" + tag),
+                Map.entry("departureDate", departure.toString()),
+                Map.entry("arrivalDate", departure.toString()),
+                Map.entry("numberOfSeats", 10),
+                Map.entry("businessPrice", 300),
+                Map.entry("economyPrice", 100))), "flightId");
+        put("/api/v1/flights/" + createdFlightId, Map.of("numberOfSeats", 20));
+        delete("/api/v1/flights/" + createdFlightId);
+
+        // Reactive read path: R2DBC only, nothing through JDBC
+        get("/api/v1/reactive/flights/" + flightId);
+        get("/api/v1/reactive/flights/search?from=Origin" + tag + "&to=Destination" + tag + "&date=" + scheduleDay);
+        get("/api/v1/reactive/airports");
+
+        // Airports, planes
+        get("/api/v1/airports");
+        get("/api/v1/airports/" + origin.getAirportId());
+        get("/api/v1/airports/suggest?prefix=Origin" + tag);
+        get("/api/v1/airports/distance?from=" + origin.getAirportId() + "&to=" + destination.getAirportId());
+        long airportId = id(post("/api/v1/airports", Map.of("airportName", "Budget Extra " + tag,
+                "airportCountry", "Italy", "airportCity", "Extra" + tag)), "airportId");
+        put("/api/v1/airports/" + airportId, Map.of("airportName", "Budget Extra Renamed " + tag));
+        delete("/api/v1/airports/" + airportId);
+        get("/api/v1/planes");
+        get("/api/v1/planes/" + plane.getPlaneId());
+        long planeId = id(post("/api/v1/planes", Map.of("planeBrand", "Boeing", "planeModel", "737",
+                "manufacturingYear", 2018)), "planeId");
+        put("/api/v1/planes/" + planeId, Map.of("manufacturingYear", 2019));
+        delete("/api/v1/planes/" + planeId);
+
+        // Schedules: one instance materialized, kept as a plain flight once the schedule is gone
+        long scheduleId = id(post("/api/v1/schedules", Map.of(
+                "flightNumber", "SS" + tag,
+                "departureAirport", Map.of("airportId", origin.getAirportId()),
+                "arrivalAirport", Map.of("airportId", destination.getAirportId()),
+                "plane", Map.of("planeId", plane.getPlaneId()),
+                "daysOfWeek", List.of(scheduleDay.getDayOfWeek().toString()),
+                "validFrom", scheduleDay.toString(), "validTo", scheduleDay.plusDays(6).toString(),
+                "numberOfSeats", 100, "businessPrice", 300, "economyPrice", 100)), "scheduleId");
+        get("/api/v1/schedules");
+        get("/api/v1/schedules/" + scheduleId);
+        put("/api/v1/schedules/" + scheduleId, Map.of("numberOfSeats", 120));
+        long instanceId = id(post("/api/v1/schedules/" + scheduleId + "/instances/" + scheduleDay, null), "flightId");
+        delete("/api/v1/schedules/" + scheduleId);
+        delete("/api/v1/flights/" + instanceId);
+
+        // Users, clients, employees
+        get("/api/v1/users?type=client");
+        get("/api/v1/users/" + clientId);
+        get("/api/v1/users/counts");
+        get("/api/v1/users/email-exists?email=" + clients.get(0).getEmail());
+        long userId = id(post("/api/v1/users", Map.of("firstName", "Budget", "lastName", "Admin",
+                "email", "sql-budget-admin-" + tag.toLowerCase() + "@example.com")), "userId");
+        put("/api/v1/users/" + userId, Map.of("phoneNumber", "0102030405"));
+        delete("/api/v1/users/" + userId);
+        get("/api/v1/clients");
+        get("/api/v1/clients/" + clients.get(0).getPassportNumber());
+        get("/api/v1/clients/search?q=FX" + tag);
+        post("/api/v1/clients", Map.of("firstName", "Budget", "lastName", "Extra",
+                "email", "sql-budget-extra-" + tag.toLowerCase() + "@example.com",
+                "birthDate", "1990-01-01", "passportNumber", "SE" + tag));
+        put("/api/v1/clients/SE" + tag, Map.of("address", "1 rue de Paris"));
+        delete("/api/v1/clients/SE" + tag);
+        long employeeNumber = Math.abs(tag.hashCode()) + 1L;
+        post("/api/v1/employees", Map.of("firstName", "Budget", "lastName", "Employee",
+                "email", "sql-budget-employee-" + tag.toLowerCase() + "@example.com",
+                "employeeNumber", employeeNumber, "profession", "Pilot", "title", "Captain"));
+        get("/api/v1/employees");
+        get("/api/v1/employees/" + employeeNumber);
+        get("/api/v1/employees/search?q=sql-budget-employee-" + tag.toLowerCase());
+        put("/api/v1/employees/" + employeeNumber, Map.of("title", "First Officer"));
+        delete("/api/v1/employees/" + employeeNumber);
+
+        // Bookings: client 0 books both flights (the only seat of fullFlight), clients 1-3 book flight
+        long bookingId = id(post("/api/v1/books", booking(clientId, flightId)), "reservationId");
+        post("/api/v1/books", booking(clientId, fullFlightId));
+        long lastBookingId = bookingId;
+        for (int i = 1; i < clients.size(); i++) {
+            lastBookingId = id(post("/api/v1/books", booking(clients.get(i).getUserId(), flightId)), "reservationId");
+        }
+        get("/api/v1/books");
+        get("/api/v1/books/" + bookingId);
+        get("/api/v1/books?clientId=" + clientId);
+        put("/api/v1/books/" + bookingId, Map.of("typeOfSeat", "BUSINESS"));
+        delete("/api/v1/books/" + lastBookingId);
+
+        // Seat holds (client 3 has no booking left on the flight): one released, one confirmed
+        get("/api/v1/flights/" + flightId + "/availability");
+        Map<String, Object> holdRequest = Map.of("clientId", clients.get(3).getUserId(), "typeOfSeat", "ECONOMY");
+        String holdId = (String) post("/api/v1/flights/" + flightId + "/holds", holdRequest).get("holdId");
+        get("/api/v1/flights/" + flightId + "/holds/" + holdId);
+        delete("/api/v1/flights/" + flightId + "/holds/" + holdId);
+        String confirmedHoldId = (String) post("/api/v1/flights/" + flightId + "/holds", holdRequest).get("holdId");
+        post("/api/v1/flights/" + flightId + "/holds/" + confirmedHoldId + "/confirm", null);
+
+        // Waitlist of the full flight
+        long entryId = id(post("/api/v1/flights/" + fullFlightId + "/waitlist",
+                Map.of("clientId", clients.get(1).getUserId(), "typeOfSeat", "ECONOMY")), "entryId");
+        get("/api/v1/flights/" + fullFlightId + "/waitlist");
+        get("/api/v1/flights/" + fullFlightId + "/waitlist/" + entryId);
+        send(HttpMethod.POST, "/api/v1/flights/" + fullFlightId + "/waitlist/promote");
+        delete("/api/v1/flights/" + fullFlightId + "/waitlist/" + entryId);
+
+        // Miles rewards
+        long rewardId = id(post("/api/miles-rewards", Map.of("clientId", clientId, "flightId", flightId,
+                "date", departure.toString())), "idReward");
+        get("/api/miles-rewards");
+        get("/api/miles-rewards/" + rewardId);
+        put("/api/miles-rewards/" + rewardId, Map.of("clientId", clientId, "flightId", flightId,
+                "date", departure.plusDays(1).toString()));
+        delete("/api/miles-rewards/" + rewardId);
+
+        // Reports and exports
+        get("/api/v1/reports/flights/" + flightId);
+        get("/api/v1/reports/routes/daily?from=Origin" + tag + "&to=Destination" + tag
+                + "&start=" + departure + "&end=" + departure);
+        get("/api/v1/reports/routes?start=" + departure + "&end=" + departure);
+        get("/api/v1/reports/revenue/plane-models?start=" + departure + "&end=" + departure);
+        send(HttpMethod.POST, "/api/v1/reports/rebuild");
+        get("/api/v1/exports/bookings?start=" + departure + "&end=" + departure);
+        get("/api/v1/exports/flights/" + flightId + "/manifest");
+
+        // Operations
+        get("/api/v1/rate-limits");
+        put("/api/v1/rate-limits/search", Map.of("requestsPerSecond", 50, "burst", 100));
+        send(HttpMethod.PUT, "/api/v1/rate-limits/enabled?value=false");
+        get("/api/v1/bulkheads");
+        get("/api/v1/partitions");
+        send(HttpMethod.POST, "/api/v1/partitions/maintenance");
+        get("/api/v1/journal");
+        get("/api/v1/cache/stats");
+        delete("/api/v1/cache/stats");
+        delete("/api/v1/cache");
+        get("/api/v1/sql-stats");
+
+        List<EndpointSqlStats> stats = sqlStatsService.getStats();
+        report(stats);
+        List<String> violations = stats.stream()
+                .filter(endpoint -> endpoint.getMaxStatements() > endpoint.getStatementBudget()
+                        || endpoint.getMaxRows() > endpoint.getRowBudget())
+                .map(endpoint -> String.format("%s: %d statements / %d rows, budget %d / %d", endpoint.getEndpoint(),
+                        endpoint.getMaxStatements(), endpoint.getMaxRows(), endpoint.getStatementBudget(),
+                        endpoint.getRowBudget()))
+                .toList();
+        assertTrue(violations.isEmpty(), "SQL budget exceeded (see the SqlBudgetFilter warning for the repeated "
+                + "statement):\n" + String.join("\n", violations));
+    }
+
+    // A new endpoint has to be added to the suite above
+    @Test
+    @Order(2)
+    void everyEndpointIsExercised() {
+        Set<String> exercised = sqlStatsService.getStats().stream()
+                .map(EndpointSqlStats::getEndpoint)
+                .collect(Collectors.toSet());
+        Set<String> missing = new TreeSet<>();
+        for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : handlerMapping.getHandlerMethods().entrySet()) {
+            Class<?> controller = entry.getValue().getBeanType();
+            if (!controller.getPackageName().equals(CONTROLLER_PACKAGE) || !controller.isAnnotationPresent(RestController.class)) {
+                continue;
+            }
+            RequestMappingInfo info = entry.getKey();
+            boolean called = info.getPatternValues().stream().anyMatch(pattern ->
+                    info.getMethodsCondition().getMethods().stream()
+                            .anyMatch(method -> exercised.contains(method.name() + " " + pattern)));
+            if (!called) {
+                missing.add(controller.getSimpleName() + "." + entry.getValue().getMethod().getName() + " " + info);
+            }
+        }
+        assertTrue(missing.isEmpty(), "Endpoints without a SQL budget check:\n" + String.join("\n", missing));
+    }
+
+    // Measured maxima next to the budgets, to set or tighten @SqlBudget values from a real run
+    private void report(List<EndpointSqlStats> stats) throws IOException {
+        StringBuilder report = new StringBuilder(String.format("%-75s %10s %10s %10s %10s%n",
+                "endpoint", "statements", "budget", "rows", "budget"));
+        stats.stream()
+                .sorted(Comparator.comparing(EndpointSqlStats::getEndpoint))
+                .forEach(endpoint -> report.append(String.format("%-75s %10d %10d %10d %10s%n", endpoint.getEndpoint(),
+                        endpoint.getMaxStatements(), endpoint.getStatementBudget(), endpoint.getMaxRows(),
+                        endpoint.getRowBudget() == Long.MAX_VALUE ? "-" : String.valueOf(endpoint.getRowBudget()))));
+        Path file = Path.of("target", "sql-budget-report.txt");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, report);
+        log.info("SQL statements and rows per endpoint (also in {}):\n{}", file, report);
+    }
+
+    private static Map<String, Object> booking(long clientId, long flightId) {
+        return Map.of("typeOfSeat", "ECONOMY", "client", Map.of("userId", clientId), "flight", Map.of("flightId", flightId));
+    }
+
+    private static long id(Map<?, ?> body, String field) {
+        assertNotNull(body.get(field), field + " missing from response");
+        return ((Number) body.get(field)).longValue();
+    }
+
+    // Every /api response carries the counts of the request
+    private static <T> ResponseEntity<T> checked(ResponseEntity<T> response) {
+        assertNotNull(response.getHeaders().getFirst(SqlBudgetFilter.STATEMENTS_HEADER), "no SQL statement header");
+        return response;
+    }
+
+    private void get(String uri) {
+        checked(http.get().uri(uri).retrieve().toEntity(String.class));
+    }
+
+    private Map<?, ?> post(String uri, Object body) {
+        RestClient.RequestBodySpec request = http.post().uri(uri);
+        if (body != null) {
+            request.body(body);
+        }
+        return checked(request.retrieve().toEntity(Map.class)).getBody();
+    }
+
+    private void put(String uri, Object body) {
+        checked(http.put().uri(uri).body(body).retrieve().toEntity(String.class));
+    }
+
+    private void delete(String uri) {
+        checked(http.delete().uri(uri).retrieve().toBodilessEntity());
+    }
+
+    // Endpoints without a request body whose response is not needed
+    private void send(HttpMethod method, String uri) {
+        checked(http.method(method).uri(uri).retrieve().toEntity(String.class));
+    }
+}
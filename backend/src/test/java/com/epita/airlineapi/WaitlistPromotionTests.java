@@ -0,0 +1,115 @@
+package com.epita.airlineapi;
+
+import com.epita.airlineapi.dto.WaitlistPosition;
+import com.epita.airlineapi.dto.WaitlistRequest;
+import com.epita.airlineapi.model.Book;
+import com.epita.airlineapi.model.Client;
+import com.epita.airlineapi.model.Flight;
+import com.epita.airlineapi.service.BookService;
+import com.epita.airlineapi.service.WaitlistService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Waitlist promotion: freed seats go to the head of the queue, in order, and never beyond the flight's capacity.
+// Promotions run asynchronously after the cancelling transaction commits, so the checks poll for their outcome.
+// Runs on a PostgreSQL container with the shared route and clients of FlightFixtureSupport; each test uses its own flight.
+@SpringBootTest(properties = {
+        "airline.partitions.maintenance-cron=-",
+        "airline.journal.directory=target/test-journal",
+        "spring.jpa.show-sql=false"
+})
+class WaitlistPromotionTests extends FlightFixtureSupport {
+
+    private static final long PROMOTION_TIMEOUT_MS = 10_000;
+
+    @Autowired
+    private BookService bookService;
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @BeforeAll
+    void createSuiteClients() {
+        createClients(5);
+    }
+
+    @Test
+    void cancellationPromotesTheHeadOfTheQueue() {
+        Flight flight = flight("WA" + tag, 1);
+        Book taken = bookService.createBook(booking(clients.get(0), flight));
+        waitlistService.join(flight.getFlightId(), waiter(clients.get(1)));
+        WaitlistPosition second = waitlistService.join(flight.getFlightId(), waiter(clients.get(2)));
+        assertEquals(2, second.getPosition());
+
+        bookService.deleteBook(taken.getReservationId());
+
+        awaitPromotion(() -> isBooked(flight, clients.get(1)));
+        assertFalse(isBooked(flight, clients.get(2)));
+        List<WaitlistPosition> waitlist = waitlistService.getWaitlist(flight.getFlightId());
+        assertEquals(1, waitlist.size());
+        assertEquals(clients.get(2).getUserId(), waitlist.get(0).getClientId());
+        assertEquals(1, waitlist.get(0).getPosition());
+        assertEquals(1, countBookings(flight));
+    }
+
+    @Test
+    void concurrentCancellationsPromoteAtMostTheFreedSeats() {
+        Flight flight = flight("WB" + tag, 2);
+        Book first = bookService.createBook(booking(clients.get(0), flight));
+        Book second = bookService.createBook(booking(clients.get(1), flight));
+        for (int i = 2; i < 5; i++) {
+            waitlistService.join(flight.getFlightId(), waiter(clients.get(i)));
+        }
+
+        CompletableFuture.allOf(
+                CompletableFuture.runAsync(() -> bookService.deleteBook(first.getReservationId())),
+                CompletableFuture.runAsync(() -> bookService.deleteBook(second.getReservationId()))
+        ).join();
+
+        awaitPromotion(() -> isBooked(flight, clients.get(2)) && isBooked(flight, clients.get(3)));
+        assertEquals(2, countBookings(flight));
+        assertFalse(isBooked(flight, clients.get(4)));
+        assertEquals(1, waitlistService.getWaitlist(flight.getFlightId()).size());
+    }
+
+    @Test
+    void joiningIsRejectedWhileSeatsAreFree() {
+        Flight flight = flight("WC" + tag, 1);
+        assertThrows(IllegalStateException.class, () -> waitlistService.join(flight.getFlightId(), waiter(clients.get(0))));
+    }
+
+    private boolean isBooked(Flight flight, Client client) {
+        return bookRepository.existsByFlight_FlightIdAndDepartureDateAndClient_UserId(
+                flight.getFlightId(), flight.getDepartureDate(), client.getUserId());
+    }
+
+    private static void awaitPromotion(BooleanSupplier done) {
+        long deadline = System.currentTimeMillis() + PROMOTION_TIMEOUT_MS;
+        while (!done.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "No promotion within " + PROMOTION_TIMEOUT_MS + " ms");
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+
+    private static WaitlistRequest waiter(Client client) {
+        WaitlistRequest request = new WaitlistRequest();
+        request.setClientId(client.getUserId());
+        request.setTypeOfSeat("ECONOMY");
+        return request;
+    }
+}
@@ -0,0 +1,132 @@
+package com.epita.airlineapi.archive;
+
+import com.epita.airlineapi.archive.ColumnarFile.Column;
+import com.epita.airlineapi.archive.ColumnarFile.Reader;
+import com.epita.airlineapi.archive.ColumnarFile.Table;
+import com.epita.airlineapi.archive.ColumnarFile.Type;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Round trips through the archive file format: what ArchiveService writes must read back value for value,
+// nulls, negative deltas, repeated and unicode strings and decimal scales included.
+class ColumnarFileTests {
+
+    private static final String[] COLUMNS = {"id", "name", "day", "price", "parent"};
+    private static final Type[] TYPES = {Type.LONG, Type.STRING, Type.DATE, Type.DECIMAL, Type.LONG};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void everyValueReadsBackAsWritten() throws IOException {
+        Table table = new Table("flights", COLUMNS, TYPES);
+        Object[][] rows = {
+                {1L, "Paris", LocalDate.of(2024, 1, 31), new BigDecimal("120.50"), null},
+                {2L, "Zürich", LocalDate.of(2023, 12, 1), new BigDecimal("0.00"), 7L},
+                {5L, null, null, null, -3L},
+                {1_000_000_000_000L, "Paris", LocalDate.of(2024, 2, 29), new BigDecimal("99999999.99"), Long.MIN_VALUE},
+        };
+        for (Object[] row : rows) {
+            table.addRow(row);
+        }
+        Path file = directory.resolve("archive-2024-01.alc");
+        ColumnarFile.write(file, List.of(table));
+
+        Reader reader = ColumnarFile.open(file);
+        assertTrue(reader.hasTable("flights"));
+        assertEquals(rows.length, reader.rows("flights"));
+        for (int c = 0; c < COLUMNS.length; c++) {
+            Column column = reader.column("flights", COLUMNS[c]);
+            assertEquals(TYPES[c], column.type());
+            assertEquals(rows.length, column.size());
+            for (int row = 0; row < rows.length; row++) {
+                assertEquals(rows[row][c], column.get(row), COLUMNS[c] + " of row " + row);
+            }
+        }
+        // Decimals keep their scale (120.50 is not read back as 120.5)
+        assertEquals("120.50", reader.column("flights", "price").getDecimal(0).toPlainString());
+    }
+
+    @Test
+    void headerHoldsIdRangesAndLookupsUseSortedIds() throws IOException {
+        Table table = new Table("books", new String[]{"reservation_id"}, new Type[]{Type.LONG});
+        for (long id = 100; id < 10_100; id += 3) {
+            table.addRow(id);
+        }
+        Path file = directory.resolve("archive-2024-02.alc");
+        ColumnarFile.write(file, List.of(table));
+
+        Reader reader = ColumnarFile.open(file);
+        assertEquals(100, reader.min("books", "reservation_id"));
+        assertEquals(10_099, reader.max("books", "reservation_id"));
+        Column ids = reader.column("books", "reservation_id");
+        assertEquals(0, ids.indexOf(100));
+        assertEquals(3333, ids.indexOf(10_099));
+        assertEquals(-1, ids.indexOf(101));
+    }
+
+    @Test
+    void severalTablesIncludingAnEmptyOne() throws IOException {
+        Table flights = new Table("flights", COLUMNS, TYPES);
+        flights.addRow(1L, "Lyon", LocalDate.of(2024, 3, 1), new BigDecimal("10.00"), null);
+        Table rewards = new Table("miles_reward", new String[]{"id_reward", "miles"}, new Type[]{Type.LONG, Type.LONG});
+        Path file = directory.resolve("archive-2024-03.alc");
+        ColumnarFile.write(file, List.of(flights, rewards));
+
+        Reader reader = ColumnarFile.open(file);
+        assertEquals(1, reader.rows("flights"));
+        assertEquals(0, reader.rows("miles_reward"));
+        assertEquals(0, reader.column("miles_reward", "miles").size());
+        assertFalse(reader.hasTable("books"));
+        assertEquals(0, reader.rows("books"));
+        assertArrayEquals(new Object[]{1L, "Lyon", LocalDate.of(2024, 3, 1), new BigDecimal("10.00"), null}, flights.row(0));
+    }
+
+    @Test
+    void largeRepetitiveColumnsRoundTrip() throws IOException {
+        Table table = new Table("flights", COLUMNS, TYPES);
+        int rows = 50_000;
+        for (int i = 0; i < rows; i++) {
+            table.addRow((long) i, i % 2 == 0 ? "Paris" : "London", LocalDate.of(2024, 1, 1 + i % 31),
+                    new BigDecimal(i % 7 + ".99"), i % 10 == 0 ? null : (long) -i);
+        }
+        Path file = directory.resolve("archive-2024-04.alc");
+        ColumnarFile.write(file, List.of(table));
+
+        Reader reader = ColumnarFile.open(file);
+        Column names = reader.column("flights", "name");
+        Column parents = reader.column("flights", "parent");
+        Column prices = reader.column("flights", "price");
+        for (int i = 0; i < rows; i++) {
+            assertEquals(i % 2 == 0 ? "Paris" : "London", names.getString(i));
+            assertEquals(i % 10 == 0 ? null : (long) -i, parents.getLongOrNull(i));
+            assertEquals(new BigDecimal(i % 7 + ".99"), prices.getDecimal(i));
+        }
+    }
+
+    @Test
+    void unknownColumnsAndForeignFilesAreRejected() throws IOException {
+        Table table = new Table("flights", COLUMNS, TYPES);
+        table.addRow(1L, "Paris", LocalDate.of(2024, 1, 1), BigDecimal.ONE, null);
+        Path file = directory.resolve("archive-2024-05.alc");
+        ColumnarFile.write(file, List.of(table));
+        Reader reader = ColumnarFile.open(file);
+        assertThrows(IllegalArgumentException.class, () -> reader.column("flights", "missing"));
+
+        Path foreign = Files.writeString(directory.resolve("not-an-archive.alc"), "hello, this is not an archive");
+        assertThrows(IOException.class, () -> ColumnarFile.open(foreign));
+    }
+}
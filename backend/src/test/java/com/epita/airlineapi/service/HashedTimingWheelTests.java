@@ -0,0 +1,114 @@
+package com.epita.airlineapi.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Plain unit tests of the wheel behind seat hold expiry: 10 ms ticks, real time.
+// Lower bounds are exact (a timeout never fires early); upper bounds are loose to stay stable on a loaded machine.
+class HashedTimingWheelTests {
+
+    private static final Duration TICK = Duration.ofMillis(10);
+
+    private final BlockingQueue<String> fired = new LinkedBlockingQueue<>();
+    private HashedTimingWheel<String> wheel;
+
+    @AfterEach
+    void close() {
+        if (wheel != null) {
+            wheel.close();
+        }
+    }
+
+    @Test
+    void firesAfterItsDelayAndNotBefore() throws InterruptedException {
+        wheel = new HashedTimingWheel<>(TICK, 8, "wheel-test", fired::add);
+        long start = System.nanoTime();
+        wheel.schedule("a", Duration.ofMillis(50));
+
+        assertEquals("a", fired.poll(2, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void timeoutsMoreThanOneRevolutionAwayWaitForTheirTurn() throws InterruptedException {
+        // 4 buckets of 10 ms: a revolution is 40 ms, the deadline five revolutions away
+        wheel = new HashedTimingWheel<>(TICK, 4, "wheel-test", fired::add);
+        long start = System.nanoTime();
+        wheel.schedule("far", Duration.ofMillis(200));
+        wheel.schedule("near", Duration.ofMillis(20));
+
+        assertEquals("near", fired.poll(2, TimeUnit.SECONDS));
+        assertEquals("far", fired.poll(2, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(200));
+    }
+
+    @Test
+    void cancelledTimeoutsNeverFire() throws InterruptedException {
+        wheel = new HashedTimingWheel<>(TICK, 8, "wheel-test", fired::add);
+        HashedTimingWheel<String>.Timeout cancelled = wheel.schedule("cancelled", Duration.ofMillis(30));
+        wheel.schedule("kept", Duration.ofMillis(60));
+
+        assertTrue(wheel.cancel(cancelled));
+        assertFalse(wheel.cancel(cancelled));
+        assertEquals(1, wheel.size());
+        assertEquals("kept", fired.poll(2, TimeUnit.SECONDS));
+        assertNull(fired.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void cancelFailsOnceTheTimeoutFired() throws InterruptedException {
+        wheel = new HashedTimingWheel<>(TICK, 8, "wheel-test", fired::add);
+        HashedTimingWheel<String>.Timeout timeout = wheel.schedule("a", Duration.ofMillis(20));
+
+        assertNotNull(fired.poll(2, TimeUnit.SECONDS));
+        assertFalse(wheel.cancel(timeout));
+    }
+
+    @Test
+    void manyTimeoutsInOneBucketAllFire() throws InterruptedException {
+        wheel = new HashedTimingWheel<>(TICK, 8, "wheel-test", fired::add);
+        for (int i = 0; i < 1000; i++) {
+            wheel.schedule("t" + i, Duration.ofMillis(30));
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertNotNull(fired.poll(2, TimeUnit.SECONDS), "only " + i + " of 1000 fired");
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void aFailingCallbackDoesNotStopTheWheel() throws InterruptedException {
+        wheel = new HashedTimingWheel<>(TICK, 8, "wheel-test", value -> {
+            if (value.equals("bad")) {
+                throw new IllegalStateException("callback failure");
+            }
+            fired.add(value);
+        });
+        wheel.schedule("bad", Duration.ofMillis(20));
+        wheel.schedule("good", Duration.ofMillis(60));
+
+        assertEquals("good", fired.poll(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void sizeMustBeAPowerOfTwo() {
+        for (int size : List.of(0, 3, 1000)) {
+            assertThrows(IllegalArgumentException.class, () -> new HashedTimingWheel<String>(TICK, size, "wheel-test", fired::add));
+        }
+    }
+}
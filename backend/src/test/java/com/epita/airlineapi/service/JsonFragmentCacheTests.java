@@ -0,0 +1,115 @@
+package com.epita.airlineapi.service;
+
+import com.epita.airlineapi.model.Airport;
+import com.epita.airlineapi.model.Flight;
+import com.epita.airlineapi.model.Plane;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Plain unit tests of the spliced responses: the same document as plain Jackson with the same mapper
+// (compared as trees, since the associations are moved first), cached or not.
+class JsonFragmentCacheTests {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final JsonFragmentCache cache = new JsonFragmentCache(jsonMapper, true, 1000);
+
+    private final Airport paris = new Airport(1L, "Charles de Gaulle", "France", "Paris", 49.0097, 2.5479);
+    // Quotes, backslash and non-ASCII characters must survive the splice unchanged
+    private final Airport saoPaulo = new Airport(2L, "Guarulhos \"GRU\" \\ São Paulo", "Brasil", "São Paulo", null, null);
+    private final Plane plane = new Plane(1L, "Airbus", "A320", 2015);
+
+    @Test
+    void flightIsTheDocumentJacksonWrites() {
+        Flight flight = flight(10L, paris, saoPaulo, plane);
+
+        byte[] spliced = cache.flight(() -> flight);
+
+        assertSameDocument(flight, spliced);
+        assertTrue(new String(spliced, StandardCharsets.UTF_8).startsWith("{\"departureAirport\":"));
+    }
+
+    @Test
+    void searchPageIsTheDocumentJacksonWrites() {
+        // Shared airports, a flight without plane and a schedule instance that is not materialized yet
+        Flight virtual = flight(null, saoPaulo, paris, plane);
+        virtual.setScheduleId(7L);
+        List<Flight> page = List.of(flight(20L, paris, saoPaulo, plane), flight(21L, paris, saoPaulo, null), virtual);
+
+        assertSameDocument(page, cache.flights(() -> page));
+        assertSameDocument(List.of(), cache.flights(List::of));
+    }
+
+    @Test
+    void cachedFragmentsGiveTheSameBytes() {
+        List<Flight> page = List.of(flight(30L, paris, saoPaulo, plane), flight(31L, saoPaulo, paris, plane));
+
+        byte[] first = cache.flights(() -> page);
+        byte[] second = cache.flights(() -> page);
+
+        assertArrayEquals(first, second);
+        assertEquals(2, cache.stats().hitCount());
+    }
+
+    @Test
+    void changedFlightIsEncodedAgain() {
+        Flight flight = flight(40L, paris, saoPaulo, plane);
+        cache.flight(() -> flight);
+
+        flight.setEconomyPrice(new BigDecimal("80.00"));
+        cache.onFlightChanged(new FlightChangedEvent(40L));
+
+        assertSameDocument(flight, cache.flight(() -> flight));
+    }
+
+    @Test
+    void changedAirportIsEncodedAgainAfterAFullInvalidation() {
+        Airport renamed = new Airport(3L, "Orly", "France", "Paris", null, null);
+        Flight flight = flight(50L, renamed, saoPaulo, plane);
+        cache.flight(() -> flight);
+
+        renamed.setAirportName("Paris-Orly");
+        cache.onInvalidation(FlightSearchInvalidationEvent.everything());
+
+        assertSameDocument(flight, cache.flight(() -> flight));
+    }
+
+    @Test
+    void disabledCacheWritesJacksonBytes() {
+        JsonFragmentCache disabled = new JsonFragmentCache(jsonMapper, false, 1000);
+        Flight flight = flight(60L, paris, saoPaulo, plane);
+
+        assertArrayEquals(jsonMapper.writeValueAsBytes(flight), disabled.flight(() -> flight));
+        assertArrayEquals(jsonMapper.writeValueAsBytes(List.of(flight)), disabled.flights(() -> List.of(flight)));
+    }
+
+    private void assertSameDocument(Object value, byte[] spliced) {
+        assertEquals(jsonMapper.readTree(jsonMapper.writeValueAsBytes(value)), jsonMapper.readTree(spliced),
+                () -> "Spliced JSON differs from Jackson's: " + new String(spliced, StandardCharsets.UTF_8));
+    }
+
+    private static Flight flight(Long id, Airport from, Airport to, Plane plane) {
+        Flight flight = new Flight();
+        flight.setFlightId(id);
+        flight.setFlightNumber("AF" + id);
+        flight.setDepartureCity(from.getAirportCity());
+        flight.setArrivalCity(to.getAirportCity());
+        flight.setDepartureDate(LocalDate.of(2025, 12, 25));
+        flight.setArrivalDate(LocalDate.of(2025, 12, 26));
+        flight.setDepartureAirport(from);
+        flight.setArrivalAirport(to);
+        flight.setPlane(plane);
+        flight.setNumberOfSeats(180);
+        flight.setBusinessPrice(new BigDecimal("450.00"));
+        flight.setEconomyPrice(new BigDecimal("120.50"));
+        return flight;
+    }
+}
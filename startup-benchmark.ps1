@@ -0,0 +1,111 @@
+param(
+    [int]$Port = 8080,
+    [int]$Runs = 5,
+    [int]$TimeoutSeconds = 120,
+    [switch]$SkipBuild = $false,
+    # GET paths of the training run; pick ones that exist in your database
+    [string]$TrainingPaths = "/api/v1/airports,/api/v1/flights/1,/api/v1/flights/search?from=Paris&to=London&date=2025-12-25"
+)
+
+# Measures time-to-first-successful-request of the standard jar against the
+# startup-optimized packaging (Spring AOT + JDK AOT cache produced by a training run).
+# Requires JDK 25+ and a running database (docker compose up -d in backend/).
+
+$ErrorActionPreference = "Stop"
+$repoRoot = $PSScriptRoot
+$backendDir = Join-Path $repoRoot "backend"
+$targetDir = Join-Path $backendDir "target"
+$jarName = "airline-api-0.0.1-SNAPSHOT.jar"
+# Outside target/ so the second "clean package" does not wipe the first layout (build/ is git-ignored)
+$standardDir = Join-Path $backendDir "build/startup/standard"
+$optimizedDir = Join-Path $backendDir "build/startup/optimized"
+$aotCache = Join-Path $optimizedDir "app.aot"
+$probeUrl = "http://localhost:$Port/api/v1/airports"
+
+function Invoke-Checked {
+    param([string]$Command, [string[]]$Arguments, [string]$WorkingDirectory)
+    $process = Start-Process -FilePath $Command -ArgumentList $Arguments -WorkingDirectory $WorkingDirectory -NoNewWindow -Wait -PassThru
+    if ($process.ExitCode -ne 0) {
+        throw "$Command $($Arguments -join ' ') failed with exit code $($process.ExitCode)"
+    }
+}
+
+function Build-Jar {
+    param([string]$Profile, [string]$Destination)
+    $mvnArgs = @("-B", "-q", "-DskipTests", "clean", "package")
+    if ($Profile) { $mvnArgs = @("-P$Profile") + $mvnArgs }
+    $mvnw = if ($IsWindows -or $env:OS -eq "Windows_NT") { Join-Path $backendDir "mvnw.cmd" } else { Join-Path $backendDir "mvnw" }
+    Invoke-Checked -Command $mvnw -Arguments $mvnArgs -WorkingDirectory $backendDir
+
+    # Extracted layout (thin jar + lib/) is required for class data sharing to apply
+    $jar = Join-Path $targetDir $jarName
+    Remove-Item -Recurse -Force $Destination -ErrorAction SilentlyContinue
+    Invoke-Checked -Command "java" -Arguments @("-Djarmode=tools", "-jar", $jar, "extract", "--destination", $Destination) -WorkingDirectory $backendDir
+}
+
+function Measure-FirstRequest {
+    param([string[]]$JvmArguments, [string]$WorkingDirectory)
+    $stopwatch = [System.Diagnostics.Stopwatch]::StartNew()
+    $arguments = $JvmArguments + @("-Dserver.port=$Port", "-jar", $jarName)
+    $process = Start-Process -FilePath "java" -ArgumentList $arguments -WorkingDirectory $WorkingDirectory `
+        -RedirectStandardOutput (Join-Path $WorkingDirectory "benchmark.log") `
+        -RedirectStandardError (Join-Path $WorkingDirectory "benchmark.err.log") -PassThru
+    try {
+        while ($stopwatch.Elapsed.TotalSeconds -lt $TimeoutSeconds) {
+            try {
+                $response = Invoke-WebRequest -Uri $probeUrl -UseBasicParsing -TimeoutSec 2
+                if ($response.StatusCode -eq 200 -or $response.StatusCode -eq 204) {
+                    return $stopwatch.ElapsedMilliseconds
+                }
+            }
+            catch {
+                Start-Sleep -Milliseconds 50
+            }
+        }
+        throw "No successful response from $probeUrl within $TimeoutSeconds seconds"
+    }
+    finally {
+        Stop-Process -Id $process.Id -Force -ErrorAction SilentlyContinue
+        $process.WaitForExit()
+    }
+}
+
+if (-not $SkipBuild) {
+    Write-Host "Building standard jar..." -ForegroundColor Cyan
+    Build-Jar -Profile "" -Destination $standardDir
+
+    Write-Host "Building startup-optimized jar (Spring AOT)..." -ForegroundColor Cyan
+    Build-Jar -Profile "startup" -Destination $optimizedDir
+
+    # Training run: starts the API, sends one GET to each training path (AotTrainingRun) then exits normally,
+    # the JVM writes the classes loaded by startup and request handling, and their profiles, into the AOT cache.
+    # Spring AOT froze the profile choice at build time: the run uses the default (web) profile only.
+    Write-Host "Training run to produce the AOT cache..." -ForegroundColor Cyan
+    Invoke-Checked -Command "java" -Arguments @("-XX:AOTCacheOutput=app.aot", "-Dspring.aot.enabled=true",
+        "-Dserver.port=$Port", "-Dairline.aot-training.paths=$TrainingPaths", "-jar", $jarName) -WorkingDirectory $optimizedDir
+}
+
+if (-not (Test-Path $aotCache)) {
+    throw "AOT cache $aotCache not found. Run without -SkipBuild first."
+}
+
+$modes = [ordered]@{
+    "standard"  = @{ Dir = $standardDir; Args = @() }
+    "optimized" = @{ Dir = $optimizedDir; Args = @("-XX:AOTCache=app.aot", "-Dspring.aot.enabled=true") }
+}
+
+$results = @()
+foreach ($mode in $modes.Keys) {
+    for ($run = 1; $run -le $Runs; $run++) {
+        $ms = Measure-FirstRequest -JvmArguments $modes[$mode].Args -WorkingDirectory $modes[$mode].Dir
+        Write-Host ("{0,-10} run {1}: {2} ms" -f $mode, $run, $ms)
+        $results += [pscustomobject]@{ Mode = $mode; Milliseconds = $ms }
+    }
+}
+
+Write-Host ""
+Write-Host "Time to first successful request ($Runs runs each):" -ForegroundColor Green
+$results | Group-Object Mode | ForEach-Object {
+    $stats = $_.Group | Measure-Object -Property Milliseconds -Average -Minimum -Maximum
+    Write-Host ("  {0,-10} avg {1,7:N0} ms   min {2,7:N0} ms   max {3,7:N0} ms" -f $_.Name, $stats.Average, $stats.Minimum, $stats.Maximum)
+}